@@ -1,27 +1,45 @@
 package de.syscall;
 
 import de.syscall.api.EconomyAPI;
+import de.syscall.command.BaltopCommand;
 import de.syscall.command.BankCommand;
 import de.syscall.command.CoinsCommand;
+import de.syscall.command.EcoCommand;
 import de.syscall.command.TransferCommand;
 import de.syscall.database.DatabaseManager;
+import de.syscall.database.TransactionLedger;
 import de.syscall.listener.GUIUpdateListener;
 import de.syscall.listener.InventoryCloseListener;
 import de.syscall.listener.PlayerJoinListener;
 import de.syscall.manager.CacheManager;
 import de.syscall.manager.EconomyManager;
 import de.syscall.manager.GUIManager;
+import de.syscall.manager.LeaderboardManager;
+import de.syscall.sync.InvalidationBus;
+import de.syscall.util.EconomySettings;
 import de.syscall.util.EconomyValidator;
+import de.syscall.util.Money;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+
 public class SlownEconomy extends JavaPlugin {
 
     private static SlownEconomy instance;
     private static EconomyAPI api;
 
     private DatabaseManager databaseManager;
+    private TransactionLedger transactionLedger;
+    private InvalidationBus invalidationBus;
     private CacheManager cacheManager;
     private EconomyManager economyManager;
+    private LeaderboardManager leaderboardManager;
     private EconomyValidator economyValidator;
     private GUIManager guiManager;
 
@@ -31,16 +49,26 @@ public class SlownEconomy extends JavaPlugin {
 
         try {
             saveDefaultConfig();
-            validateConfig();
+            validateConfig(getConfig());
+
+            Money.setFixedPoint(getConfig().getBoolean("economy.fixed-point", false));
 
             this.databaseManager = new DatabaseManager(this);
+            this.leaderboardManager = new LeaderboardManager(this);
             this.cacheManager = new CacheManager(this);
             this.economyManager = new EconomyManager(this);
             this.economyValidator = new EconomyValidator(this);
+            this.invalidationBus = new InvalidationBus(this);
             this.guiManager = new GUIManager();
 
             databaseManager.initialize();
 
+            this.transactionLedger = new TransactionLedger(this);
+            cacheManager.loadNameIndex();
+            cacheManager.warmUp();
+            leaderboardManager.load();
+            invalidationBus.start();
+
             api = new EconomyAPI(this);
 
             registerCommands();
@@ -63,10 +91,22 @@ public class SlownEconomy extends JavaPlugin {
                 economyManager.shutdown();
             }
 
+            if (leaderboardManager != null) {
+                leaderboardManager.shutdown();
+            }
+
             if (cacheManager != null) {
                 cacheManager.saveAll();
             }
 
+            if (invalidationBus != null) {
+                invalidationBus.close();
+            }
+
+            if (transactionLedger != null) {
+                transactionLedger.shutdown();
+            }
+
             if (databaseManager != null) {
                 databaseManager.close();
             }
@@ -79,11 +119,37 @@ public class SlownEconomy extends JavaPlugin {
         }
     }
 
-    private void validateConfig() {
-        double maxCoins = getConfig().getDouble("economy.max-coins", 999999999.0);
-        double maxBank = getConfig().getDouble("economy.max-bank-balance", 999999999.0);
-        double startingCoins = getConfig().getDouble("economy.starting-coins", 100.0);
-        double startingBank = getConfig().getDouble("economy.starting-bank-balance", 0.0);
+    public void reloadEconomyConfig() {
+        FileConfiguration current = getConfig();
+        YamlConfiguration candidate = new YamlConfiguration();
+        try {
+            candidate.load(new File(getDataFolder(), "config.yml"));
+        } catch (IOException | InvalidConfigurationException e) {
+            throw new IllegalArgumentException("Could not read config.yml: " + e.getMessage(), e);
+        }
+        candidate.setDefaults(current.getDefaults());
+
+        validateConfig(candidate);
+        EconomySettings settings = EconomySettings.load(candidate);
+
+        for (String key : current.getKeys(false)) {
+            current.set(key, null);
+        }
+        for (Map.Entry<String, Object> entry : candidate.getValues(true).entrySet()) {
+            if (!(entry.getValue() instanceof ConfigurationSection)) {
+                current.set(entry.getKey(), entry.getValue());
+            }
+        }
+
+        economyValidator.apply(settings);
+        getLogger().info("Configuration reloaded");
+    }
+
+    private void validateConfig(FileConfiguration config) {
+        double maxCoins = config.getDouble("economy.max-coins", 999999999.0);
+        double maxBank = config.getDouble("economy.max-bank-balance", 999999999.0);
+        double startingCoins = config.getDouble("economy.starting-coins", 100.0);
+        double startingBank = config.getDouble("economy.starting-bank-balance", 0.0);
 
         if (maxCoins <= 0 || maxBank <= 0) {
             throw new IllegalArgumentException("Max coins and bank balance must be positive");
@@ -95,21 +161,21 @@ public class SlownEconomy extends JavaPlugin {
 
         if (startingCoins > maxCoins) {
             getLogger().warning("Starting coins exceed max coins limit, adjusting...");
-            getConfig().set("economy.starting-coins", maxCoins);
+            config.set("economy.starting-coins", maxCoins);
         }
 
         if (startingBank > maxBank) {
             getLogger().warning("Starting bank balance exceeds max bank limit, adjusting...");
-            getConfig().set("economy.starting-bank-balance", maxBank);
+            config.set("economy.starting-bank-balance", maxBank);
         }
-
-        saveConfig();
     }
 
     private void registerCommands() {
         CoinsCommand coinsCommand = new CoinsCommand(this);
         BankCommand bankCommand = new BankCommand(this);
         TransferCommand transferCommand = new TransferCommand(this);
+        EcoCommand ecoCommand = new EcoCommand(this);
+        BaltopCommand baltopCommand = new BaltopCommand(this);
 
         getCommand("coins").setExecutor(coinsCommand);
         getCommand("coins").setTabCompleter(coinsCommand);
@@ -119,6 +185,12 @@ public class SlownEconomy extends JavaPlugin {
 
         getCommand("transfer").setExecutor(transferCommand);
         getCommand("transfer").setTabCompleter(transferCommand);
+
+        getCommand("eco").setExecutor(ecoCommand);
+        getCommand("eco").setTabCompleter(ecoCommand);
+
+        getCommand("baltop").setExecutor(baltopCommand);
+        getCommand("baltop").setTabCompleter(baltopCommand);
     }
 
     private void registerListeners() {
@@ -139,6 +211,14 @@ public class SlownEconomy extends JavaPlugin {
         return databaseManager;
     }
 
+    public TransactionLedger getTransactionLedger() {
+        return transactionLedger;
+    }
+
+    public InvalidationBus getInvalidationBus() {
+        return invalidationBus;
+    }
+
     public CacheManager getCacheManager() {
         return cacheManager;
     }
@@ -147,6 +227,10 @@ public class SlownEconomy extends JavaPlugin {
         return economyManager;
     }
 
+    public LeaderboardManager getLeaderboardManager() {
+        return leaderboardManager;
+    }
+
     public EconomyValidator getEconomyValidator() {
         return economyValidator;
     }
@@ -2,9 +2,12 @@ package de.syscall.api;
 
 import de.syscall.SlownEconomy;
 import de.syscall.data.EconomyPlayer;
+import de.syscall.manager.Leaderboard;
+import de.syscall.manager.LeaderboardManager;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -139,4 +142,20 @@ public class EconomyAPI {
     public EconomyPlayer getCachedPlayer(Player player) {
         return plugin.getCacheManager().getPlayer(player.getUniqueId());
     }
+
+    public List<Leaderboard.Entry> getTopPlayers(LeaderboardManager.Type type, int limit) {
+        return getLeaderboardPage(type, 0, limit);
+    }
+
+    public List<Leaderboard.Entry> getLeaderboardPage(LeaderboardManager.Type type, int offset, int limit) {
+        return plugin.getLeaderboardManager().getPage(type, offset, limit);
+    }
+
+    public int getRank(UUID playerUuid, LeaderboardManager.Type type) {
+        return plugin.getLeaderboardManager().getRank(type, playerUuid);
+    }
+
+    public int getRank(OfflinePlayer player, LeaderboardManager.Type type) {
+        return getRank(player.getUniqueId(), type);
+    }
 }
\ No newline at end of file
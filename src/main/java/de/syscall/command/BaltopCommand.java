@@ -0,0 +1,201 @@
+package de.syscall.command;
+
+import de.syscall.SlownEconomy;
+import de.syscall.manager.Leaderboard;
+import de.syscall.manager.LeaderboardManager;
+import de.syscall.util.ColorUtil;
+import de.syscall.util.Money;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+public class BaltopCommand implements CommandExecutor, TabCompleter {
+
+    private static final int PAGE_SIZE = 10;
+
+    private final SlownEconomy plugin;
+    private final List<String> types = Arrays.asList("coins", "bank", "total");
+
+    public BaltopCommand(SlownEconomy plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, String @NotNull [] args) {
+        if (args.length > 0 && args[0].equalsIgnoreCase("rank")) {
+            if (!plugin.getLeaderboardManager().isEnabled()) {
+                sender.sendMessage(ColorUtil.component("§cDie Rangliste ist deaktiviert."));
+                return true;
+            }
+
+            if (!plugin.getLeaderboardManager().isLoaded()) {
+                sender.sendMessage(ColorUtil.component("§cDie Rangliste wird noch geladen, bitte warte einen Moment."));
+                return true;
+            }
+
+            handleRank(sender, args);
+            return true;
+        }
+
+        LeaderboardManager.Type type = LeaderboardManager.Type.COINS;
+        int page = 1;
+
+        for (String arg : args) {
+            LeaderboardManager.Type parsed = parseType(arg);
+            if (parsed != null) {
+                type = parsed;
+                continue;
+            }
+
+            try {
+                page = Integer.parseInt(arg);
+            } catch (NumberFormatException e) {
+                sender.sendMessage(ColorUtil.component("§cVerwendung: /baltop [coins|bank|total] [seite]"));
+                return true;
+            }
+        }
+
+        showPage(sender, type, page);
+        return true;
+    }
+
+    private void showPage(CommandSender sender, LeaderboardManager.Type type, int page) {
+        LeaderboardManager leaderboards = plugin.getLeaderboardManager();
+        if (page < 1) {
+            sender.sendMessage(ColorUtil.component("§cUngültige Seite!"));
+            return;
+        }
+
+        int offset = (page - 1) * PAGE_SIZE;
+        if (leaderboards.isLoaded() && leaderboards.getMaxSize() == 0) {
+            int size = leaderboards.getSize(type);
+            int pages = Math.max(1, (size + PAGE_SIZE - 1) / PAGE_SIZE);
+
+            if (page > pages) {
+                sender.sendMessage(ColorUtil.component("§cUngültige Seite! Verfügbar: 1-" + pages));
+                return;
+            }
+
+            sendPage(sender, type, page + "/" + pages, leaderboards.getPage(type, offset, PAGE_SIZE));
+            return;
+        }
+
+        if (leaderboards.hasPage(type, offset, PAGE_SIZE)) {
+            sendPage(sender, type, String.valueOf(page), leaderboards.getPage(type, offset, PAGE_SIZE));
+            return;
+        }
+
+        leaderboards.queryPage(type, offset, PAGE_SIZE).whenComplete((entries, error) ->
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    if (error != null) {
+                        sender.sendMessage(ColorUtil.component("§cDie Rangliste konnte nicht geladen werden."));
+                        return;
+                    }
+
+                    if (entries.isEmpty()) {
+                        sender.sendMessage(ColorUtil.component("§cKeine Einträge auf Seite " + page + "."));
+                        return;
+                    }
+
+                    sendPage(sender, type, String.valueOf(page), entries);
+                }));
+    }
+
+    private void sendPage(CommandSender sender, LeaderboardManager.Type type, String page, List<Leaderboard.Entry> entries) {
+        sender.sendMessage(ColorUtil.component("§7--- §6Top " + getDisplayName(type) + " §7(Seite " + page + ") ---"));
+        for (Leaderboard.Entry entry : entries) {
+            sender.sendMessage(ColorUtil.component("§6#" + entry.rank() + " §7" + entry.name() +
+                    " §8- §6" + Money.format(entry.score()) + " Coins"));
+        }
+    }
+
+    private void handleRank(CommandSender sender, String[] args) {
+        if (args.length < 2) {
+            if (!(sender instanceof Player player)) {
+                sender.sendMessage(ColorUtil.component("§cVerwendung: /baltop rank <spieler>"));
+                return;
+            }
+
+            showRank(sender, player.getUniqueId(), player.getName());
+            return;
+        }
+
+        plugin.getCacheManager().getPlayerByName(args[1]).thenAccept(target -> {
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                if (target == null) {
+                    sender.sendMessage(ColorUtil.component("§cSpieler nicht gefunden!"));
+                    return;
+                }
+
+                showRank(sender, target.getUuid(), target.getName());
+            });
+        });
+    }
+
+    private void showRank(CommandSender sender, UUID uuid, String name) {
+        sender.sendMessage(ColorUtil.component("§7--- §6Platzierung von " + name + " §7---"));
+
+        LeaderboardManager leaderboards = plugin.getLeaderboardManager();
+        for (LeaderboardManager.Type type : LeaderboardManager.Type.values()) {
+            Leaderboard.Entry entry = leaderboards.getEntry(type, uuid);
+            if (entry == null) {
+                sender.sendMessage(ColorUtil.component("§7" + getDisplayName(type) + ": " + (leaderboards.getMaxSize() == 0
+                        ? "§cNicht platziert" : "§7außerhalb der Top §6" + leaderboards.getSize(type))));
+                continue;
+            }
+
+            String total = leaderboards.getMaxSize() == 0 ? " §7von §6" + leaderboards.getSize(type) : "";
+            sender.sendMessage(ColorUtil.component("§7" + getDisplayName(type) + ": §6#" + entry.rank() +
+                    total + " §8- §6" + Money.format(entry.score()) + " Coins"));
+        }
+    }
+
+    private LeaderboardManager.Type parseType(String input) {
+        return switch (input.toLowerCase()) {
+            case "coins" -> LeaderboardManager.Type.COINS;
+            case "bank" -> LeaderboardManager.Type.BANK;
+            case "total", "gesamt" -> LeaderboardManager.Type.TOTAL;
+            default -> null;
+        };
+    }
+
+    private String getDisplayName(LeaderboardManager.Type type) {
+        return switch (type) {
+            case COINS -> "Coins";
+            case BANK -> "Bank";
+            case TOTAL -> "Gesamtvermögen";
+        };
+    }
+
+    @Override
+    public @Nullable List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, String[] args) {
+        List<String> completions = new ArrayList<>();
+
+        if (args.length == 1) {
+            String input = args[0].toLowerCase();
+            for (String type : types) {
+                if (type.startsWith(input)) {
+                    completions.add(type);
+                }
+            }
+            if ("rank".startsWith(input)) {
+                completions.add("rank");
+            }
+
+        } else if (args.length == 2 && args[0].equalsIgnoreCase("rank")) {
+            String input = args[1].toLowerCase();
+            completions.addAll(plugin.getCacheManager().completeNames(input));
+        }
+
+        return completions;
+    }
+}
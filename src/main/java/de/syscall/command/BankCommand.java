@@ -3,6 +3,7 @@ package de.syscall.command;
 import de.syscall.SlownEconomy;
 import de.syscall.gui.BankGUI;
 import de.syscall.util.ColorUtil;
+import de.syscall.util.Money;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -98,7 +99,7 @@ public class BankCommand implements CommandExecutor, TabCompleter {
         plugin.getEconomyManager().getBankBalance(player.getUniqueId()).thenAccept(balance -> {
             plugin.getServer().getScheduler().runTask(plugin, () -> {
                 player.sendMessage(ColorUtil.component("§7Dein Bankguthaben: §6" +
-                        String.format("%.2f", balance) + " Coins"));
+                        Money.format(balance) + " Coins"));
             });
         });
     }
@@ -107,7 +108,7 @@ public class BankCommand implements CommandExecutor, TabCompleter {
         try {
             double amount = parseAmount(amountStr, player);
 
-            if (amount <= 0) {
+            if (!Money.isPositive(amount)) {
                 player.sendMessage(ColorUtil.component("§cBetrag muss positiv sein!"));
                 return;
             }
@@ -115,7 +116,7 @@ public class BankCommand implements CommandExecutor, TabCompleter {
             plugin.getEconomyManager().depositToBank(player.getUniqueId(), amount).thenAccept(success -> {
                 plugin.getServer().getScheduler().runTask(plugin, () -> {
                     if (success) {
-                        player.sendMessage(ColorUtil.component("§6" + String.format("%.2f", amount) +
+                        player.sendMessage(ColorUtil.component("§6" + Money.format(amount) +
                                 " Coins §7wurden auf dein Bankkonto eingezahlt."));
                     } else {
                         player.sendMessage(ColorUtil.component("§cNicht genug Coins, ungültige Menge oder Banklimit erreicht!"));
@@ -135,7 +136,7 @@ public class BankCommand implements CommandExecutor, TabCompleter {
             plugin.getEconomyManager().withdrawFromBank(player.getUniqueId(), amount).thenAccept(success -> {
                 plugin.getServer().getScheduler().runTask(plugin, () -> {
                     if (success) {
-                        player.sendMessage(ColorUtil.component("§6" + String.format("%.2f", amount) +
+                        player.sendMessage(ColorUtil.component("§6" + Money.format(amount) +
                                 " Coins §7wurden von deinem Bankkonto abgehoben."));
                     } else {
                         player.sendMessage(ColorUtil.component("§cNicht genug Bankguthaben oder ungültige Menge!"));
@@ -154,7 +155,7 @@ public class BankCommand implements CommandExecutor, TabCompleter {
 
             if (plugin.getEconomyValidator().isBankAmountTooHigh(amount)) {
                 admin.sendMessage(ColorUtil.component("§cUngültiger Betrag! Maximum: " +
-                        String.format("%.2f", plugin.getEconomyValidator().getMaxBankBalance())));
+                        Money.format(plugin.getEconomyValidator().getMaxBankBalance())));
                 return;
             }
 
@@ -168,7 +169,7 @@ public class BankCommand implements CommandExecutor, TabCompleter {
                     plugin.getServer().getScheduler().runTask(plugin, () -> {
                         if (success) {
                             admin.sendMessage(ColorUtil.component("§7Bankguthaben von §6" + target.getName() +
-                                    " §7auf §6" + String.format("%.2f", amount) + " §7gesetzt."));
+                                    " §7auf §6" + Money.format(amount) + " §7gesetzt."));
                         } else {
                             admin.sendMessage(ColorUtil.component("§cFehler beim Setzen des Bankguthabens!"));
                         }
@@ -185,7 +186,7 @@ public class BankCommand implements CommandExecutor, TabCompleter {
         try {
             double amount = Double.parseDouble(amountStr);
 
-            if (amount <= 0) {
+            if (!Money.isPositive(amount)) {
                 admin.sendMessage(ColorUtil.component("§cBetrag muss positiv sein!"));
                 return;
             }
@@ -199,7 +200,7 @@ public class BankCommand implements CommandExecutor, TabCompleter {
                 plugin.getEconomyManager().addBankBalance(target.getUuid(), amount).thenAccept(success -> {
                     plugin.getServer().getScheduler().runTask(plugin, () -> {
                         if (success) {
-                            admin.sendMessage(ColorUtil.component("§6" + String.format("%.2f", amount) +
+                            admin.sendMessage(ColorUtil.component("§6" + Money.format(amount) +
                                     " Coins §7wurden dem Bankkonto von §6" + target.getName() + " §7hinzugefügt."));
                         } else {
                             admin.sendMessage(ColorUtil.component("§cFehler beim Hinzufügen zum Bankguthaben! Möglicherweise Maximum erreicht."));
@@ -226,7 +227,7 @@ public class BankCommand implements CommandExecutor, TabCompleter {
                 plugin.getEconomyManager().removeBankBalance(target.getUuid(), amount).thenAccept(success -> {
                     plugin.getServer().getScheduler().runTask(plugin, () -> {
                         if (success) {
-                            admin.sendMessage(ColorUtil.component("§6" + String.format("%.2f", amount) +
+                            admin.sendMessage(ColorUtil.component("§6" + Money.format(amount) +
                                     " Coins §7wurden vom Bankkonto von §6" + target.getName() + " §7entfernt."));
                         } else {
                             admin.sendMessage(ColorUtil.component("§cNicht genug Bankguthaben oder Fehler!"));
@@ -246,7 +247,7 @@ public class BankCommand implements CommandExecutor, TabCompleter {
         }
 
         double amount = Double.parseDouble(amountStr);
-        if (amount <= 0) {
+        if (!Money.isPositive(amount)) {
             throw new NumberFormatException("Amount must be positive");
         }
 
@@ -282,11 +283,7 @@ public class BankCommand implements CommandExecutor, TabCompleter {
 
             } else if (adminSubcommands.contains(subCommand) && sender.hasPermission("slowneconomy.admin")) {
                 String input = args[1].toLowerCase();
-                for (Player player : plugin.getServer().getOnlinePlayers()) {
-                    if (player.getName().toLowerCase().startsWith(input)) {
-                        completions.add(player.getName());
-                    }
-                }
+                completions.addAll(plugin.getCacheManager().completeNames(input));
             }
 
         } else if (args.length == 3 && adminSubcommands.contains(args[0].toLowerCase()) && sender.hasPermission("slowneconomy.admin")) {
@@ -3,6 +3,7 @@ package de.syscall.command;
 import de.syscall.SlownEconomy;
 import de.syscall.gui.CoinsGUI;
 import de.syscall.util.ColorUtil;
+import de.syscall.util.Money;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -61,7 +62,7 @@ public class CoinsCommand implements CommandExecutor, TabCompleter {
 
             plugin.getServer().getScheduler().runTask(plugin, () -> {
                 player.sendMessage(ColorUtil.component("§6" + target.getName() + " §7hat §6" +
-                        String.format("%.2f", target.getCoins()) + " Coins§7."));
+                        Money.format(target.getCoins()) + " Coins§7."));
             });
         });
     }
@@ -125,7 +126,7 @@ public class CoinsCommand implements CommandExecutor, TabCompleter {
     private void handleSetCoins(Player admin, String targetName, double amount) {
         if (plugin.getEconomyValidator().isCoinsAmountTooHigh(amount)) {
             admin.sendMessage(ColorUtil.component("§cUngültiger Betrag! Maximum: " +
-                    String.format("%.2f", plugin.getEconomyValidator().getMaxCoins())));
+                    Money.format(plugin.getEconomyValidator().getMaxCoins())));
             return;
         }
 
@@ -139,7 +140,7 @@ public class CoinsCommand implements CommandExecutor, TabCompleter {
                 plugin.getServer().getScheduler().runTask(plugin, () -> {
                     if (success) {
                         admin.sendMessage(ColorUtil.component("§7Coins von §6" + target.getName() +
-                                " §7auf §6" + String.format("%.2f", amount) + " §7gesetzt."));
+                                " §7auf §6" + Money.format(amount) + " §7gesetzt."));
                     } else {
                         admin.sendMessage(ColorUtil.component("§cFehler beim Setzen der Coins!"));
                     }
@@ -151,7 +152,7 @@ public class CoinsCommand implements CommandExecutor, TabCompleter {
     private void handleAddCoins(Player admin, String targetName, double amount) {
         if (plugin.getEconomyValidator().isCoinsAmountTooHigh(amount)) {
             admin.sendMessage(ColorUtil.component("§cUngültiger Betrag! Maximum: " +
-                    String.format("%.2f", plugin.getEconomyValidator().getMaxCoins())));
+                    Money.format(plugin.getEconomyValidator().getMaxCoins())));
             return;
         }
 
@@ -164,7 +165,7 @@ public class CoinsCommand implements CommandExecutor, TabCompleter {
             plugin.getEconomyManager().addCoins(target.getUuid(), amount).thenAccept(success -> {
                 plugin.getServer().getScheduler().runTask(plugin, () -> {
                     if (success) {
-                        admin.sendMessage(ColorUtil.component("§6" + String.format("%.2f", amount) +
+                        admin.sendMessage(ColorUtil.component("§6" + Money.format(amount) +
                                 " Coins §7wurden §6" + target.getName() + " §7hinzugefügt."));
                     } else {
                         admin.sendMessage(ColorUtil.component("§cFehler beim Hinzufügen der Coins! Möglicherweise Maximum erreicht."));
@@ -184,7 +185,7 @@ public class CoinsCommand implements CommandExecutor, TabCompleter {
             plugin.getEconomyManager().removeCoins(target.getUuid(), amount).thenAccept(success -> {
                 plugin.getServer().getScheduler().runTask(plugin, () -> {
                     if (success) {
-                        admin.sendMessage(ColorUtil.component("§6" + String.format("%.2f", amount) +
+                        admin.sendMessage(ColorUtil.component("§6" + Money.format(amount) +
                                 " Coins §7wurden von §6" + target.getName() + " §7entfernt."));
                     } else {
                         admin.sendMessage(ColorUtil.component("§cNicht genug Coins oder Fehler!"));
@@ -209,19 +210,11 @@ public class CoinsCommand implements CommandExecutor, TabCompleter {
                 }
             }
 
-            for (Player player : plugin.getServer().getOnlinePlayers()) {
-                if (player.getName().toLowerCase().startsWith(input)) {
-                    completions.add(player.getName());
-                }
-            }
+            completions.addAll(plugin.getCacheManager().completeNames(input));
 
         } else if (args.length == 2 && adminSubcommands.contains(args[0].toLowerCase()) && sender.hasPermission("slowneconomy.admin")) {
             String input = args[1].toLowerCase();
-            for (Player player : plugin.getServer().getOnlinePlayers()) {
-                if (player.getName().toLowerCase().startsWith(input)) {
-                    completions.add(player.getName());
-                }
-            }
+            completions.addAll(plugin.getCacheManager().completeNames(input));
 
         } else if (args.length == 3 && adminSubcommands.contains(args[0].toLowerCase()) && sender.hasPermission("slowneconomy.admin")) {
             completions.addAll(Arrays.asList("10", "50", "100", "500", "1000"));
@@ -0,0 +1,105 @@
+package de.syscall.command;
+
+import de.syscall.SlownEconomy;
+import de.syscall.util.ColorUtil;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class EcoCommand implements CommandExecutor, TabCompleter {
+
+    private final SlownEconomy plugin;
+    private final List<String> subCommands = Arrays.asList("reload", "stats", "storage");
+
+    public EcoCommand(SlownEconomy plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, String @NotNull [] args) {
+        if (!sender.hasPermission("slowneconomy.admin")) {
+            sender.sendMessage(ColorUtil.component("§cDu hast keine Berechtigung für diesen Command!"));
+            return true;
+        }
+
+        if (args.length == 0) {
+            sender.sendMessage(ColorUtil.component("§cVerwendung: /eco <reload|stats|storage>"));
+            return true;
+        }
+
+        switch (args[0].toLowerCase()) {
+            case "reload" -> handleReload(sender);
+            case "stats" -> handleStats(sender);
+            case "storage" -> handleStorage(sender);
+            default -> sender.sendMessage(ColorUtil.component("§cUnbekannter Subcommand!"));
+        }
+
+        return true;
+    }
+
+    private void handleReload(CommandSender sender) {
+        try {
+            plugin.reloadEconomyConfig();
+            sender.sendMessage(ColorUtil.component("§7Konfiguration wurde §6neu geladen§7."));
+        } catch (IllegalArgumentException e) {
+            sender.sendMessage(ColorUtil.component("§cUngültige Konfiguration: " + e.getMessage()));
+        }
+    }
+
+    private void handleStats(CommandSender sender) {
+        sender.sendMessage(ColorUtil.component("§6═══ Economy Statistiken ═══"));
+        sender.sendMessage(ColorUtil.component("§7Cache: §6" + plugin.getCacheManager().getCacheSize() +
+                " §7Spieler, §6" + plugin.getCacheManager().getDirtyCount() + " §7ungespeichert"));
+        sender.sendMessage(ColorUtil.component("§7Eviction: §6" + plugin.getCacheManager().getCacheStatistics()));
+        sender.sendMessage(ColorUtil.component("§7Loads: §6" + plugin.getCacheManager().getLoadStatistics()));
+        sender.sendMessage(ColorUtil.component("§7Preload: §6" + plugin.getCacheManager().getPreloadStatistics()));
+        sender.sendMessage(ColorUtil.component("§7Warm-up: §6" + plugin.getCacheManager().getWarmUpStatistics()));
+        sender.sendMessage(ColorUtil.component("§7Expiry: §6" + plugin.getCacheManager().getExpiryStatistics()));
+        sender.sendMessage(ColorUtil.component("§7Offline-Tier: §6" + plugin.getCacheManager().getOfflineTierStatistics()));
+        sender.sendMessage(ColorUtil.component("§7Namen: §6" + plugin.getCacheManager().getNameIndex().getStatistics()));
+        sender.sendMessage(ColorUtil.component("§7Unbekannt: §6" + plugin.getCacheManager().getNegativeLookupStatistics()));
+        sender.sendMessage(ColorUtil.component("§7Datenbank: §6" + plugin.getDatabaseManager().getExecutor().getStatistics()));
+        sender.sendMessage(ColorUtil.component("§7Konflikte: §6" + plugin.getDatabaseManager().getConflictStatistics()));
+        sender.sendMessage(ColorUtil.component("§7Sync: §6" + plugin.getInvalidationBus().getStatistics()));
+        sender.sendMessage(ColorUtil.component("§7Ledger: §6" + plugin.getTransactionLedger().getStatistics()));
+        sender.sendMessage(ColorUtil.component("§7Journal: §6" + plugin.getDatabaseManager().getJournal().getStatistics()));
+        sender.sendMessage(ColorUtil.component("§7Flush: §6" + plugin.getCacheManager().getFlusher().getStatistics()));
+        sender.sendMessage(ColorUtil.component("§7Ausführung: §6" +
+                (plugin.getEconomyManager().isVirtualThreadMode() ? "virtual-threads" : "futures")));
+        sender.sendMessage(ColorUtil.component("§7Offline: §6" + plugin.getEconomyManager().getOfflineDeltaStatistics()));
+        sender.sendMessage(ColorUtil.component("§7Rangliste: §6" + plugin.getLeaderboardManager().getStatistics()));
+        sender.sendMessage(ColorUtil.component("§7Transfers: §6" + plugin.getEconomyManager().getTransferEngine().getStatistics()));
+    }
+
+    private void handleStorage(CommandSender sender) {
+        plugin.getDatabaseManager().getStorageStatistics().thenAccept(storage ->
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    sender.sendMessage(ColorUtil.component("§6═══ Datenbank Speicher ═══"));
+                    sender.sendMessage(ColorUtil.component("§7Tabelle: §6" + storage));
+                    sender.sendMessage(ColorUtil.component("§7Abfragen: §6" + plugin.getDatabaseManager().getQueryStatistics()));
+                }));
+    }
+
+    @Override
+    public @Nullable List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, String[] args) {
+        List<String> completions = new ArrayList<>();
+
+        if (args.length == 1 && sender.hasPermission("slowneconomy.admin")) {
+            String input = args[0].toLowerCase();
+            for (String subCommand : subCommands) {
+                if (subCommand.startsWith(input)) {
+                    completions.add(subCommand);
+                }
+            }
+        }
+
+        return completions;
+    }
+}
@@ -2,6 +2,7 @@ package de.syscall.command;
 
 import de.syscall.SlownEconomy;
 import de.syscall.util.ColorUtil;
+import de.syscall.util.Money;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -37,9 +38,9 @@ public class TransferCommand implements CommandExecutor, TabCompleter {
         if (args.length < 2) {
             player.sendMessage(ColorUtil.component("§cVerwendung: /transfer <spieler> <amount>"));
             player.sendMessage(ColorUtil.component("§7Minimum: §6" +
-                    String.format("%.2f", plugin.getEconomyValidator().getMinTransferAmount())));
+                    Money.format(plugin.getEconomyValidator().getMinTransferAmount())));
             player.sendMessage(ColorUtil.component("§7Maximum: §6" +
-                    String.format("%.2f", plugin.getEconomyValidator().getMaxTransferAmount())));
+                    Money.format(plugin.getEconomyValidator().getMaxTransferAmount())));
 
             double feePercentage = plugin.getEconomyValidator().getTransferFeePercentage();
             if (feePercentage > 0) {
@@ -65,9 +66,9 @@ public class TransferCommand implements CommandExecutor, TabCompleter {
         if (plugin.getEconomyValidator().isTransferAmountInvalid(amount)) {
             sender.sendMessage(ColorUtil.component("§cUngültiger Transfer-Betrag!"));
             sender.sendMessage(ColorUtil.component("§7Minimum: §6" +
-                    String.format("%.2f", plugin.getEconomyValidator().getMinTransferAmount())));
+                    Money.format(plugin.getEconomyValidator().getMinTransferAmount())));
             sender.sendMessage(ColorUtil.component("§7Maximum: §6" +
-                    String.format("%.2f", plugin.getEconomyValidator().getMaxTransferAmount())));
+                    Money.format(plugin.getEconomyValidator().getMaxTransferAmount())));
             return;
         }
 
@@ -82,11 +83,11 @@ public class TransferCommand implements CommandExecutor, TabCompleter {
         double senderBankBalance = SlownEconomy.getAPI().getBankBalance(sender);
         if (senderBankBalance < totalCost) {
             sender.sendMessage(ColorUtil.component("§cNicht genug Bankguthaben!"));
-            sender.sendMessage(ColorUtil.component("§7Benötigt: §6" + String.format("%.2f", totalCost) + " Coins"));
-            sender.sendMessage(ColorUtil.component("§7Verfügbar: §6" + String.format("%.2f", senderBankBalance) + " Coins"));
+            sender.sendMessage(ColorUtil.component("§7Benötigt: §6" + Money.format(totalCost) + " Coins"));
+            sender.sendMessage(ColorUtil.component("§7Verfügbar: §6" + Money.format(senderBankBalance) + " Coins"));
             if (fee > 0) {
-                sender.sendMessage(ColorUtil.component("§7(§6" + String.format("%.2f", amount) + " §7+ §6" +
-                        String.format("%.2f", fee) + " §7Gebühr)"));
+                sender.sendMessage(ColorUtil.component("§7(§6" + Money.format(amount) + " §7+ §6" +
+                        Money.format(fee) + " §7Gebühr)"));
             }
             return;
         }
@@ -100,16 +101,16 @@ public class TransferCommand implements CommandExecutor, TabCompleter {
             plugin.getEconomyManager().transferBankBalance(sender.getUniqueId(), target.getUuid(), amount).thenAccept(success -> {
                 plugin.getServer().getScheduler().runTask(plugin, () -> {
                     if (success) {
-                        sender.sendMessage(ColorUtil.component("§6" + String.format("%.2f", amount) +
+                        sender.sendMessage(ColorUtil.component("§6" + Money.format(amount) +
                                 " Coins §7wurden aus deinem Bankguthaben an §6" + target.getName() + " §7übertragen!"));
 
                         if (fee > 0) {
-                            sender.sendMessage(ColorUtil.component("§7Gebühr: §6" + String.format("%.2f", fee) + " Coins"));
+                            sender.sendMessage(ColorUtil.component("§7Gebühr: §6" + Money.format(fee) + " Coins"));
                         }
 
                         Player targetPlayer = plugin.getServer().getPlayer(target.getUuid());
                         if (targetPlayer != null) {
-                            targetPlayer.sendMessage(ColorUtil.component("§7Du hast §6" + String.format("%.2f", amount) +
+                            targetPlayer.sendMessage(ColorUtil.component("§7Du hast §6" + Money.format(amount) +
                                     " Coins §7von §6" + sender.getName() + " §7auf dein Bankkonto erhalten!"));
                         }
                     } else {
@@ -126,9 +127,9 @@ public class TransferCommand implements CommandExecutor, TabCompleter {
 
         if (args.length == 1) {
             String input = args[0].toLowerCase();
-            for (Player player : plugin.getServer().getOnlinePlayers()) {
-                if (!player.equals(sender) && player.getName().toLowerCase().startsWith(input)) {
-                    completions.add(player.getName());
+            for (String name : plugin.getCacheManager().completeNames(input)) {
+                if (!name.equalsIgnoreCase(sender.getName())) {
+                    completions.add(name);
                 }
             }
         } else if (args.length == 2) {
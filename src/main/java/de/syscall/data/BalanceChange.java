@@ -0,0 +1,20 @@
+package de.syscall.data;
+
+public record BalanceChange(BalanceState before, BalanceState after) {
+
+    public double oldCoins() {
+        return before.coinsAmount();
+    }
+
+    public double newCoins() {
+        return after.coinsAmount();
+    }
+
+    public double oldBankBalance() {
+        return before.bankAmount();
+    }
+
+    public double newBankBalance() {
+        return after.bankAmount();
+    }
+}
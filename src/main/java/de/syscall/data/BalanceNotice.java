@@ -0,0 +1,26 @@
+package de.syscall.data;
+
+import java.util.UUID;
+
+public record BalanceNotice(UUID uuid, String name, long version, long coins, long bankBalance) {
+
+    public static BalanceNotice of(EconomyPlayer player) {
+        BalanceState persisted = player.getPersisted();
+        return new BalanceNotice(player.getUuid(), player.getName(), player.getRowVersion(),
+                persisted.coins(), persisted.bankBalance());
+    }
+
+    public BalanceState balance() {
+        return new BalanceState(coins, bankBalance);
+    }
+
+    public boolean isNewerThan(BalanceNotice other) {
+        return other == null || version > other.version;
+    }
+
+    public EconomyPlayer toPlayer() {
+        EconomyPlayer player = new EconomyPlayer(uuid, name, balance(), 0L);
+        player.markPersisted(version, player.getBalance());
+        return player;
+    }
+}
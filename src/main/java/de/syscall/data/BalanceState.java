@@ -0,0 +1,30 @@
+package de.syscall.data;
+
+import de.syscall.util.Money;
+
+public record BalanceState(long coins, long bankBalance) {
+
+    public static BalanceState of(double coins, double bankBalance) {
+        return new BalanceState(Money.toMinor(coins), Money.toMinor(bankBalance));
+    }
+
+    public BalanceState withCoins(long coins) {
+        return new BalanceState(coins, bankBalance);
+    }
+
+    public BalanceState withBankBalance(long bankBalance) {
+        return new BalanceState(coins, bankBalance);
+    }
+
+    public long totalWealth() {
+        return coins + bankBalance;
+    }
+
+    public double coinsAmount() {
+        return Money.toMajor(coins);
+    }
+
+    public double bankAmount() {
+        return Money.toMajor(bankBalance);
+    }
+}
@@ -1,25 +1,44 @@
 package de.syscall.data;
 
 import de.syscall.SlownEconomy;
+import de.syscall.util.EconomySettings;
+import de.syscall.util.Money;
 
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 public class EconomyPlayer {
 
     private final UUID uuid;
     private final String name;
-    private double coins;
-    private double bankBalance;
-    private long lastSeen;
-    private boolean modified;
+    private final AtomicReference<BalanceState> balance;
+    private volatile long lastSeen;
+    private final AtomicLong version;
+    private volatile long savedVersion;
+    private volatile long rowVersion;
+    private volatile BalanceState persisted;
+    private final AtomicBoolean dirtyQueued;
+    private volatile Consumer<EconomyPlayer> dirtyListener;
+    private volatile Consumer<EconomyPlayer> changeListener;
 
     public EconomyPlayer(UUID uuid, String name, double coins, double bankBalance, long lastSeen) {
+        this(uuid, name, BalanceState.of(coins, bankBalance), lastSeen);
+    }
+
+    public EconomyPlayer(UUID uuid, String name, BalanceState balance, long lastSeen) {
         this.uuid = uuid;
         this.name = name;
-        this.coins = coins;
-        this.bankBalance = bankBalance;
+        this.balance = new AtomicReference<>(balance);
         this.lastSeen = lastSeen;
-        this.modified = false;
+        this.version = new AtomicLong();
+        this.savedVersion = 0L;
+        this.rowVersion = -1L;
+        this.persisted = balance;
+        this.dirtyQueued = new AtomicBoolean(false);
     }
 
     public UUID getUuid() {
@@ -30,84 +49,178 @@ public class EconomyPlayer {
         return name;
     }
 
+    public BalanceState getBalance() {
+        return balance.get();
+    }
+
     public double getCoins() {
-        return coins;
+        return balance.get().coinsAmount();
     }
 
     public void setCoins(double coins) {
-        double maxCoins = getMaxCoins();
-        this.coins = Math.max(0, Math.min(coins, maxCoins));
-        this.modified = true;
+        exchangeCoins(coins);
     }
 
     public void addCoins(double amount) {
-        setCoins(this.coins + amount);
+        addCoinsMinor(Money.toMinor(amount));
+    }
+
+    public BalanceChange addCoinsMinor(long amount) {
+        long maxCoins = getMaxCoins();
+        return update(state -> state.withCoins(clamp(state.coins(), amount, maxCoins)));
     }
 
     public boolean removeCoins(double amount) {
-        if (this.coins >= amount) {
-            setCoins(this.coins - amount);
-            return true;
-        }
-        return false;
+        return tryRemoveCoins(amount) != null;
     }
 
     public double getBankBalance() {
-        return bankBalance;
+        return balance.get().bankAmount();
     }
 
     public void setBankBalance(double bankBalance) {
-        double maxBankBalance = getMaxBankBalance();
-        this.bankBalance = Math.max(0, Math.min(bankBalance, maxBankBalance));
-        this.modified = true;
+        exchangeBankBalance(bankBalance);
     }
 
     public void addBankBalance(double amount) {
-        setBankBalance(this.bankBalance + amount);
+        addBankBalanceMinor(Money.toMinor(amount));
+    }
+
+    public BalanceChange addBankBalanceMinor(long amount) {
+        long maxBankBalance = getMaxBankBalance();
+        return update(state -> state.withBankBalance(clamp(state.bankBalance(), amount, maxBankBalance)));
     }
 
     public boolean removeBankBalance(double amount) {
-        if (this.bankBalance >= amount) {
-            setBankBalance(this.bankBalance - amount);
-            return true;
-        }
-        return false;
+        return tryRemoveBankBalance(amount) != null;
     }
 
     public boolean depositToBank(double amount) {
-        if (removeCoins(amount)) {
-            double newBankBalance = this.bankBalance + amount;
-            if (newBankBalance <= getMaxBankBalance()) {
-                addBankBalance(amount);
-                return true;
-            } else {
-                addCoins(amount);
-                return false;
+        return tryDepositToBank(amount) != null;
+    }
+
+    public boolean withdrawFromBank(double amount) {
+        return tryWithdrawFromBank(amount) != null;
+    }
+
+    public BalanceChange exchangeCoins(double coins) {
+        long clamped = Math.max(0, Math.min(Money.toMinor(coins), getMaxCoins()));
+        return update(state -> state.withCoins(clamped));
+    }
+
+    public BalanceChange tryAddCoins(double amount) {
+        return tryAddCoinsMinor(Money.toMinor(amount));
+    }
+
+    public BalanceChange tryAddCoinsMinor(long amount) {
+        long maxCoins = getMaxCoins();
+        return update(state -> amount > maxCoins - state.coins() ? null : state.withCoins(state.coins() + amount));
+    }
+
+    public BalanceChange tryRemoveCoins(double amount) {
+        return tryRemoveCoinsMinor(Money.toMinor(amount));
+    }
+
+    public BalanceChange tryRemoveCoinsMinor(long amount) {
+        return update(state -> amount > state.coins() ? null : state.withCoins(state.coins() - amount));
+    }
+
+    public BalanceChange exchangeBankBalance(double bankBalance) {
+        long clamped = Math.max(0, Math.min(Money.toMinor(bankBalance), getMaxBankBalance()));
+        return update(state -> state.withBankBalance(clamped));
+    }
+
+    public BalanceChange tryAddBankBalance(double amount) {
+        return tryAddBankBalanceMinor(Money.toMinor(amount));
+    }
+
+    public BalanceChange tryAddBankBalanceMinor(long amount) {
+        long maxBankBalance = getMaxBankBalance();
+        return update(state -> amount > maxBankBalance - state.bankBalance() ? null
+                : state.withBankBalance(state.bankBalance() + amount));
+    }
+
+    public BalanceChange tryRemoveBankBalance(double amount) {
+        return tryRemoveBankBalanceMinor(Money.toMinor(amount));
+    }
+
+    public BalanceChange tryRemoveBankBalanceMinor(long amount) {
+        return update(state -> amount > state.bankBalance() ? null : state.withBankBalance(state.bankBalance() - amount));
+    }
+
+    public BalanceChange tryDepositToBank(double amount) {
+        long minor = Money.toMinor(amount);
+        long maxBankBalance = getMaxBankBalance();
+        return update(state -> {
+            if (minor > state.coins() || minor > maxBankBalance - state.bankBalance()) {
+                return null;
+            }
+            return new BalanceState(state.coins() - minor, state.bankBalance() + minor);
+        });
+    }
+
+    public BalanceChange tryWithdrawFromBank(double amount) {
+        long minor = Money.toMinor(amount);
+        long maxCoins = getMaxCoins();
+        return update(state -> {
+            if (minor > state.bankBalance() || minor > maxCoins - state.coins()) {
+                return null;
+            }
+            return new BalanceState(state.coins() + minor, state.bankBalance() - minor);
+        });
+    }
+
+    public BalanceChange update(UnaryOperator<BalanceState> operation) {
+        while (true) {
+            BalanceState current = balance.get();
+            BalanceState next = operation.apply(current);
+
+            if (next == null) {
+                return null;
+            }
+
+            if (balance.compareAndSet(current, next)) {
+                markModified();
+                notifyChanged();
+                return new BalanceChange(current, next);
             }
         }
-        return false;
     }
 
-    public boolean withdrawFromBank(double amount) {
-        if (removeBankBalance(amount)) {
-            double newCoins = this.coins + amount;
-            if (newCoins <= getMaxCoins()) {
-                addCoins(amount);
-                return true;
-            } else {
-                addBankBalance(amount);
-                return false;
+    public BalanceChange applyRemote(BalanceState before, BalanceState after) {
+        long coins = after.coins() - before.coins();
+        long bankBalance = after.bankBalance() - before.bankBalance();
+        if (coins == 0 && bankBalance == 0) {
+            return null;
+        }
+
+        while (true) {
+            BalanceState current = balance.get();
+            BalanceState next = new BalanceState(current.coins() + coins, current.bankBalance() + bankBalance);
+
+            if (balance.compareAndSet(current, next)) {
+                notifyChanged();
+                return new BalanceChange(current, next);
             }
         }
-        return false;
+    }
+
+    public synchronized BalanceChange refresh(BalanceState remote, long remoteVersion) {
+        if (remoteVersion <= rowVersion) {
+            return null;
+        }
+
+        BalanceChange change = applyRemote(persisted, remote);
+        markPersisted(remoteVersion, remote);
+        return change;
     }
 
     public boolean wouldExceedCoinsLimit(double additionalAmount) {
-        return (this.coins + additionalAmount) > getMaxCoins();
+        return Money.toMinor(additionalAmount) > getMaxCoins() - balance.get().coins();
     }
 
     public boolean wouldExceedBankLimit(double additionalAmount) {
-        return (this.bankBalance + additionalAmount) > getMaxBankBalance();
+        return Money.toMinor(additionalAmount) > getMaxBankBalance() - balance.get().bankBalance();
     }
 
     public long getLastSeen() {
@@ -116,15 +229,88 @@ public class EconomyPlayer {
 
     public void setLastSeen(long lastSeen) {
         this.lastSeen = lastSeen;
-        this.modified = true;
+        markModified();
     }
 
     public boolean isModified() {
-        return modified;
+        return version.get() != savedVersion;
     }
 
     public void setModified(boolean modified) {
-        this.modified = modified;
+        if (modified) {
+            markModified();
+        } else {
+            markSaved(version.get());
+        }
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public synchronized void markSaved(long savedVersion) {
+        if (savedVersion > this.savedVersion) {
+            this.savedVersion = savedVersion;
+        }
+    }
+
+    public long getRowVersion() {
+        return rowVersion;
+    }
+
+    public boolean isStored() {
+        return rowVersion >= 0;
+    }
+
+    public BalanceState getPersisted() {
+        return persisted;
+    }
+
+    public synchronized void markPersisted(long rowVersion, BalanceState persisted) {
+        if (rowVersion >= this.rowVersion) {
+            this.rowVersion = rowVersion;
+            this.persisted = persisted;
+        }
+    }
+
+    public void setDirtyListener(Consumer<EconomyPlayer> dirtyListener) {
+        this.dirtyListener = dirtyListener;
+        if (dirtyListener != null && isModified() && dirtyQueued.compareAndSet(false, true)) {
+            dirtyListener.accept(this);
+        }
+    }
+
+    public void setChangeListener(Consumer<EconomyPlayer> changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    public void clearDirtyQueued() {
+        dirtyQueued.set(false);
+    }
+
+    public void requeueDirty() {
+        dirtyQueued.set(false);
+
+        Consumer<EconomyPlayer> listener = dirtyListener;
+        if (listener != null && isModified() && dirtyQueued.compareAndSet(false, true)) {
+            listener.accept(this);
+        }
+    }
+
+    private void markModified() {
+        version.incrementAndGet();
+
+        Consumer<EconomyPlayer> listener = dirtyListener;
+        if (listener != null && dirtyQueued.compareAndSet(false, true)) {
+            listener.accept(this);
+        }
+    }
+
+    private void notifyChanged() {
+        Consumer<EconomyPlayer> listener = changeListener;
+        if (listener != null) {
+            listener.accept(this);
+        }
     }
 
     public void updateLastSeen() {
@@ -132,28 +318,43 @@ public class EconomyPlayer {
     }
 
     public double getTotalWealth() {
-        return coins + bankBalance;
+        return Money.toMajor(balance.get().totalWealth());
     }
 
     public EconomyPlayer copy() {
-        return new EconomyPlayer(uuid, name, coins, bankBalance, lastSeen);
+        return new EconomyPlayer(uuid, name, balance.get(), lastSeen);
+    }
+
+    private static long clamp(long current, long amount, long max) {
+        if (amount > max - current) {
+            return Math.max(current, max);
+        }
+        return Math.max(0, current + amount);
+    }
+
+    private long getMaxCoins() {
+        EconomySettings settings = getSettings();
+        return settings != null ? settings.maxCoinsMinor() : Long.MAX_VALUE;
     }
 
-    private double getMaxCoins() {
-        return SlownEconomy.getInstance().getEconomyValidator().getMaxCoins();
+    private long getMaxBankBalance() {
+        EconomySettings settings = getSettings();
+        return settings != null ? settings.maxBankBalanceMinor() : Long.MAX_VALUE;
     }
 
-    private double getMaxBankBalance() {
-        return SlownEconomy.getInstance().getEconomyValidator().getMaxBankBalance();
+    private static EconomySettings getSettings() {
+        SlownEconomy plugin = SlownEconomy.getInstance();
+        return plugin != null ? plugin.getEconomyValidator().getSettings() : null;
     }
 
     @Override
     public String toString() {
+        BalanceState state = balance.get();
         return "EconomyPlayer{" +
                 "uuid=" + uuid +
                 ", name='" + name + '\'' +
-                ", coins=" + coins +
-                ", bankBalance=" + bankBalance +
+                ", coins=" + Money.format(state.coins()) +
+                ", bankBalance=" + Money.format(state.bankBalance()) +
                 ", lastSeen=" + lastSeen +
                 '}';
     }
@@ -0,0 +1,42 @@
+package de.syscall.data;
+
+import de.syscall.util.Money;
+
+import java.util.UUID;
+
+public record LedgerEntry(Type type, UUID from, UUID to, double amount, double fee, double balanceAfter,
+                          String cause, long timestamp) {
+
+    public static LedgerEntry coins(UUID uuid, BalanceChange change, String cause) {
+        return new LedgerEntry(Type.COINS, null, uuid, Money.toMajor(change.after().coins() - change.before().coins()), 0.0,
+                change.newCoins(), cause, System.currentTimeMillis());
+    }
+
+    public static LedgerEntry bank(UUID uuid, BalanceChange change, String cause) {
+        return new LedgerEntry(Type.BANK, null, uuid, Money.toMajor(change.after().bankBalance() - change.before().bankBalance()), 0.0,
+                change.newBankBalance(), cause, System.currentTimeMillis());
+    }
+
+    public static LedgerEntry deposit(UUID uuid, BalanceChange change) {
+        return new LedgerEntry(Type.DEPOSIT, uuid, uuid, Money.toMajor(change.before().coins() - change.after().coins()), 0.0,
+                change.newBankBalance(), "DEPOSIT", System.currentTimeMillis());
+    }
+
+    public static LedgerEntry withdraw(UUID uuid, BalanceChange change) {
+        return new LedgerEntry(Type.WITHDRAW, uuid, uuid, Money.toMajor(change.after().coins() - change.before().coins()), 0.0,
+                change.newCoins(), "WITHDRAW", System.currentTimeMillis());
+    }
+
+    public static LedgerEntry transfer(Type type, UUID from, UUID to, double amount, double fee, double balanceAfter) {
+        return new LedgerEntry(type, from, to, amount, fee, balanceAfter, "TRANSFER", System.currentTimeMillis());
+    }
+
+    public enum Type {
+        COINS,
+        BANK,
+        DEPOSIT,
+        WITHDRAW,
+        TRANSFER_COINS,
+        TRANSFER_BANK
+    }
+}
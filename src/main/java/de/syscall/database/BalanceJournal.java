@@ -0,0 +1,348 @@
+package de.syscall.database;
+
+import de.syscall.SlownEconomy;
+import de.syscall.data.BalanceState;
+import de.syscall.data.EconomyPlayer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+public class BalanceJournal {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int RECORD_HEADER = 4;
+    private static final int RECORD_TRAILER = 4;
+    private static final int MAX_PAYLOAD = 1024;
+
+    private final SlownEconomy plugin;
+    private final boolean enabled;
+    private final long commitIntervalNanos;
+    private final File directory;
+
+    private final ReentrantLock appendLock;
+    private final ReentrantLock commitLock;
+    private ByteBuffer pending;
+    private ByteBuffer committing;
+    private FileChannel channel;
+    private long segmentId;
+    private volatile boolean running;
+    private Thread writer;
+
+    private final LongAdder appended;
+    private final LongAdder commits;
+    private final LongAdder commitFailures;
+    private final LongAdder totalCommitNanos;
+
+    public BalanceJournal(SlownEconomy plugin) {
+        this.plugin = plugin;
+        this.enabled = plugin.getConfig().getBoolean("journal.enabled", true);
+        this.commitIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, plugin.getConfig().getLong("journal.commit-interval", 5)));
+        this.directory = new File(plugin.getDataFolder(), "journal");
+        this.appendLock = new ReentrantLock();
+        this.commitLock = new ReentrantLock();
+        this.pending = ByteBuffer.allocate(64 * 1024);
+        this.committing = ByteBuffer.allocate(64 * 1024);
+        this.appended = new LongAdder();
+        this.commits = new LongAdder();
+        this.commitFailures = new LongAdder();
+        this.totalCommitNanos = new LongAdder();
+    }
+
+    public List<EconomyPlayer> replay() throws IOException {
+        Map<UUID, EconomyPlayer> latest = new HashMap<>();
+        if (!enabled) {
+            return new ArrayList<>();
+        }
+
+        long records = 0;
+        for (File segment : listSegments()) {
+            try (FileChannel input = FileChannel.open(segment.toPath(), StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(Integer.MAX_VALUE, input.size()));
+                while (buffer.hasRemaining()) {
+                    if (input.read(buffer) < 0) {
+                        break;
+                    }
+                }
+                buffer.flip();
+
+                while (buffer.remaining() >= RECORD_HEADER) {
+                    int length = buffer.getInt();
+                    if (length <= 0 || length > MAX_PAYLOAD || buffer.remaining() < length + RECORD_TRAILER) {
+                        plugin.getLogger().warning("Journal segment " + segment.getName() + " ends with a torn record, ignoring the tail");
+                        break;
+                    }
+
+                    byte[] payload = new byte[length];
+                    buffer.get(payload);
+                    int checksum = buffer.getInt();
+                    if (checksum != checksum(payload)) {
+                        plugin.getLogger().warning("Journal segment " + segment.getName() + " contains a corrupt record, ignoring the tail");
+                        break;
+                    }
+
+                    EconomyPlayer player = decode(ByteBuffer.wrap(payload));
+                    latest.put(player.getUuid(), player);
+                    records++;
+                }
+            }
+        }
+
+        if (records > 0) {
+            plugin.getLogger().info("Read " + records + " journal records for " + latest.size() + " players");
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Could not create journal directory " + directory);
+        }
+
+        long highest = 0;
+        for (File segment : listSegments()) {
+            highest = Math.max(highest, segmentId(segment));
+        }
+
+        segmentId = highest + 1;
+        channel = openSegment(segmentId);
+        running = true;
+
+        writer = new Thread(this::run, "SlownEconomy-Journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public void append(EconomyPlayer player) {
+        if (!running) {
+            return;
+        }
+
+        byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+        int length = 8 + 8 + 8 + 8 + 8 + 8 + 8 + 8 + 2 + name.length;
+
+        appendLock.lock();
+        try {
+            BalanceState balance = player.getBalance();
+            long rowVersion = player.getRowVersion();
+            BalanceState persisted = player.getPersisted();
+            ensureCapacity(RECORD_HEADER + length + RECORD_TRAILER);
+
+            pending.putInt(length);
+            int start = pending.position();
+            pending.putLong(player.getUuid().getMostSignificantBits());
+            pending.putLong(player.getUuid().getLeastSignificantBits());
+            pending.putLong(balance.coins());
+            pending.putLong(balance.bankBalance());
+            pending.putLong(rowVersion);
+            pending.putLong(persisted.coins());
+            pending.putLong(persisted.bankBalance());
+            pending.putLong(player.getLastSeen());
+            pending.putShort((short) name.length);
+            pending.put(name);
+
+            CRC32 crc = new CRC32();
+            crc.update(pending.array(), start, length);
+            pending.putInt((int) crc.getValue());
+        } finally {
+            appendLock.unlock();
+        }
+
+        appended.increment();
+    }
+
+    public long rotate() {
+        commitLock.lock();
+        try {
+            commit();
+            if (channel == null) {
+                return segmentId;
+            }
+
+            long sealed = segmentId;
+            try {
+                FileChannel next = openSegment(sealed + 1);
+                channel.close();
+                channel = next;
+                segmentId = sealed + 1;
+                return sealed;
+            } catch (IOException e) {
+                commitFailures.increment();
+                plugin.getLogger().severe("Failed to rotate balance journal: " + e.getMessage());
+                return -1L;
+            }
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    public void discardUpTo(long sealedSegment) {
+        for (File segment : listSegments()) {
+            if (segmentId(segment) <= sealedSegment && !segment.delete()) {
+                plugin.getLogger().warning("Could not delete journal segment " + segment.getName());
+            }
+        }
+    }
+
+    public void discardAll() {
+        discardUpTo(Long.MAX_VALUE);
+    }
+
+    public void close() {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        commitLock.lock();
+        try {
+            commit();
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Error closing balance journal: " + e.getMessage());
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            LockSupport.parkNanos(commitIntervalNanos);
+
+            commitLock.lock();
+            try {
+                commit();
+            } finally {
+                commitLock.unlock();
+            }
+        }
+    }
+
+    private void commit() {
+        appendLock.lock();
+        try {
+            if (pending.position() == 0) {
+                return;
+            }
+
+            ByteBuffer swap = committing;
+            committing = pending;
+            pending = swap;
+            pending.clear();
+        } finally {
+            appendLock.unlock();
+        }
+
+        long start = System.nanoTime();
+        committing.flip();
+        try {
+            while (committing.hasRemaining()) {
+                channel.write(committing);
+            }
+            channel.force(false);
+
+            commits.increment();
+            totalCommitNanos.add(System.nanoTime() - start);
+        } catch (IOException e) {
+            commitFailures.increment();
+            plugin.getLogger().severe("Failed to commit balance journal: " + e.getMessage());
+        } finally {
+            committing.clear();
+        }
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (pending.remaining() >= bytes) {
+            return;
+        }
+
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + bytes));
+        pending.flip();
+        grown.put(pending);
+        pending = grown;
+    }
+
+    private FileChannel openSegment(long id) throws IOException {
+        File file = new File(directory, SEGMENT_PREFIX + id + SEGMENT_SUFFIX);
+        return FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<File> listSegments() {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        if (files == null) {
+            return new ArrayList<>();
+        }
+
+        List<File> segments = new ArrayList<>(Arrays.asList(files));
+        segments.sort(Comparator.comparingLong(this::segmentId));
+        return segments;
+    }
+
+    private long segmentId(File segment) {
+        String name = segment.getName();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private EconomyPlayer decode(ByteBuffer payload) {
+        UUID uuid = new UUID(payload.getLong(), payload.getLong());
+        BalanceState balance = new BalanceState(payload.getLong(), payload.getLong());
+        long rowVersion = payload.getLong();
+        BalanceState persisted = new BalanceState(payload.getLong(), payload.getLong());
+        long lastSeen = payload.getLong();
+        byte[] name = new byte[payload.getShort()];
+        payload.get(name);
+
+        EconomyPlayer player = new EconomyPlayer(uuid, new String(name, StandardCharsets.UTF_8), balance, lastSeen);
+        player.markPersisted(rowVersion, persisted);
+        return player;
+    }
+
+    private int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        return (int) crc.getValue();
+    }
+
+    public String getStatistics() {
+        if (!enabled) {
+            return "disabled";
+        }
+
+        long count = commits.sum();
+        double average = count == 0 ? 0.0 : totalCommitNanos.sum() / (count * 1_000_000.0);
+        return String.format("segment=%d, appended=%d, commits=%d, failed=%d, avg-commit=%.2fms",
+                segmentId, appended.sum(), count, commitFailures.sum(), average);
+    }
+}
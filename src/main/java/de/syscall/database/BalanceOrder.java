@@ -0,0 +1,33 @@
+package de.syscall.database;
+
+import java.util.UUID;
+
+public enum BalanceOrder {
+    COINS("coins_minor", "idx_coins_minor"),
+    BANK("bank_balance_minor", "idx_bank_balance_minor"),
+    TOTAL("total_wealth_minor", "idx_total_wealth_minor");
+
+    private final String column;
+    private final String index;
+
+    BalanceOrder(String column, String index) {
+        this.column = column;
+        this.index = index;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public String getIndex() {
+        return index;
+    }
+
+    public record Cursor(long score, UUID uuid) {
+    }
+
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(UUID uuid, String name, long score, long version);
+    }
+}
@@ -0,0 +1,201 @@
+package de.syscall.database;
+
+import de.syscall.SlownEconomy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class DatabaseExecutor {
+
+    private static final int LATENCY_BUCKETS = 48;
+
+    private final SlownEconomy plugin;
+    private final ExecutorService executor;
+    private final Semaphore capacity;
+    private final Semaphore workers;
+    private final int parallelism;
+    private final int queueSize;
+    private final long submitTimeoutMillis;
+    private final boolean virtualThreads;
+
+    private final LongAdder submitted;
+    private final LongAdder completed;
+    private final LongAdder rejected;
+    private final LongAdder throttled;
+    private final LongAdder[] latencyBuckets;
+    private volatile long maxLatencyNanos;
+
+    public DatabaseExecutor(SlownEconomy plugin, int poolSize) {
+        this.plugin = plugin;
+
+        int configured = plugin.getConfig().getInt("database.executor.threads", 0);
+        this.parallelism = Math.max(1, configured > 0 ? configured : poolSize);
+        this.queueSize = Math.max(0, plugin.getConfig().getInt("database.executor.queue-size", 1024));
+        this.submitTimeoutMillis = Math.max(0L, plugin.getConfig().getLong("database.executor.submit-timeout", 5000));
+        this.virtualThreads = plugin.getConfig().getBoolean("database.executor.virtual-threads", false);
+        this.capacity = new Semaphore(parallelism + queueSize);
+        this.workers = virtualThreads ? new Semaphore(parallelism, true) : null;
+
+        if (virtualThreads) {
+            this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("SlownEconomy-DB-", 1).factory());
+        } else {
+            AtomicInteger threadId = new AtomicInteger(1);
+            this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "SlownEconomy-DB-" + threadId.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        this.submitted = new LongAdder();
+        this.completed = new LongAdder();
+        this.rejected = new LongAdder();
+        this.throttled = new LongAdder();
+        this.latencyBuckets = new LongAdder[LATENCY_BUCKETS];
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            latencyBuckets[i] = new LongAdder();
+        }
+
+        plugin.getLogger().info("Database executor started (" + parallelism + " workers, queue " + queueSize +
+                (virtualThreads ? ", virtual threads" : "") + ")");
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        if (!acquire()) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Database executor saturated"));
+        }
+
+        long start = System.nanoTime();
+        submitted.increment();
+
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return virtualThreads ? runLimited(task) : task.get();
+                } finally {
+                    capacity.release();
+                    record(System.nanoTime() - start);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            capacity.release();
+            rejected.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public <T> T call(Supplier<T> task) {
+        if (!acquire()) {
+            rejected.increment();
+            throw new RejectedExecutionException("Database executor saturated");
+        }
+
+        long start = System.nanoTime();
+        submitted.increment();
+
+        try {
+            return virtualThreads ? runLimited(task) : task.get();
+        } finally {
+            capacity.release();
+            record(System.nanoTime() - start);
+        }
+    }
+
+    private <T> T runLimited(Supplier<T> task) {
+        workers.acquireUninterruptibly();
+        try {
+            return task.get();
+        } finally {
+            workers.release();
+        }
+    }
+
+    private boolean acquire() {
+        if (capacity.tryAcquire()) {
+            return true;
+        }
+
+        if (plugin.getServer().isPrimaryThread() || submitTimeoutMillis == 0L) {
+            return false;
+        }
+
+        throttled.increment();
+        try {
+            return capacity.tryAcquire(submitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void record(long nanos) {
+        completed.increment();
+        latencyBuckets[Math.min(LATENCY_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(1L, nanos)))].increment();
+        if (nanos > maxLatencyNanos) {
+            maxLatencyNanos = nanos;
+        }
+    }
+
+    private double percentileMillis(double percentile) {
+        long total = 0L;
+        long[] counts = new long[LATENCY_BUCKETS];
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            counts[i] = latencyBuckets[i].sum();
+            total += counts[i];
+        }
+
+        if (total == 0L) {
+            return 0.0;
+        }
+
+        long threshold = (long) Math.ceil(total * percentile);
+        long seen = 0L;
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= threshold) {
+                return Math.min(1L << i, maxLatencyNanos) / 1_000_000.0;
+            }
+        }
+
+        return maxLatencyNanos / 1_000_000.0;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Database executor did not terminate in time, " +
+                        executor.shutdownNow().size() + " tasks dropped");
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getPendingCount() {
+        return parallelism + queueSize - capacity.availablePermits();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public String getStatistics() {
+        return String.format("workers=%d%s, pending=%d/%d, submitted=%d, completed=%d, throttled=%d, rejected=%d, p50=%.2fms, p99=%.2fms, max=%.2fms",
+                parallelism, virtualThreads ? " (virtual)" : "", getPendingCount(), parallelism + queueSize,
+                submitted.sum(), completed.sum(), throttled.sum(), getRejectedCount(),
+                percentileMillis(0.50), percentileMillis(0.99), maxLatencyNanos / 1_000_000.0);
+    }
+}
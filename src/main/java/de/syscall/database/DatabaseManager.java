@@ -3,28 +3,78 @@ package de.syscall.database;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import de.syscall.SlownEconomy;
+import de.syscall.data.BalanceChange;
+import de.syscall.data.BalanceState;
 import de.syscall.data.EconomyPlayer;
+import de.syscall.data.LedgerEntry;
+import de.syscall.util.EconomySettings;
+import de.syscall.util.Money;
+import de.syscall.util.UuidBytes;
 
 import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class DatabaseManager {
 
+    private static final String PLAYER_COLUMNS = "uuid, name, coins, bank_balance, coins_minor, bank_balance_minor, last_seen";
+    private static final String PLAYER_SELECT_COLUMNS = PLAYER_COLUMNS + ", version";
+    private static final String TRANSACTION_COLUMNS = "type, from_uuid, to_uuid, amount, fee, balance_after, cause, created_at";
+    private static final int TRANSACTION_ROWS_PER_STATEMENT = 100;
+    private static final String BINARY_TABLE = "economy_players_binary";
+    private static final String LEGACY_TABLE = "economy_players_legacy";
+    private static final int UUID_MIGRATION_CHUNK = 1000;
+    private static final String[] LEGACY_BALANCE_INDEXES = {"idx_coins", "idx_bank_balance", "idx_total_wealth"};
+
     private final SlownEconomy plugin;
     private HikariDataSource dataSource;
+    private DatabaseExecutor executor;
+    private final BalanceJournal journal;
     private final boolean useMySQL;
     private final String sqliteFile;
+    private final int conflictRetries;
+    private final boolean binaryUuidRequested;
+    private volatile boolean binaryUuid;
     private volatile boolean initialized = false;
 
+    private final LongAdder versionedWrites;
+    private final LongAdder versionConflicts;
+    private final LongAdder conflictAttempts;
+    private final LongAdder conflictRebases;
+    private final LongAdder conflictClamps;
+    private final LongAdder conflictDeferred;
+    private final LongAdder playerLoads;
+    private final LongAdder playerLoadNanos;
+    private final LongAdder topQueries;
+    private final LongAdder topAllocatedBytes;
+
     public DatabaseManager(SlownEconomy plugin) {
         this.plugin = plugin;
         this.useMySQL = plugin.getConfig().getBoolean("database.mysql.enabled", false);
         this.sqliteFile = plugin.getDataFolder() + File.separator + "economy.db";
+        this.conflictRetries = Math.max(1, plugin.getConfig().getInt("database.conflict-retries", 3));
+        this.binaryUuidRequested = plugin.getConfig().getBoolean("database.binary-uuid", false);
+        this.journal = new BalanceJournal(plugin);
+        this.versionedWrites = new LongAdder();
+        this.versionConflicts = new LongAdder();
+        this.conflictAttempts = new LongAdder();
+        this.conflictRebases = new LongAdder();
+        this.conflictClamps = new LongAdder();
+        this.conflictDeferred = new LongAdder();
+        this.playerLoads = new LongAdder();
+        this.playerLoadNanos = new LongAdder();
+        this.topQueries = new LongAdder();
+        this.topAllocatedBytes = new LongAdder();
     }
 
     public void initialize() {
@@ -35,12 +85,28 @@ public class DatabaseManager {
                 setupSQLite();
             }
 
+            executor = new DatabaseExecutor(plugin, dataSource.getMaximumPoolSize());
+
             createTables();
 
-            if (useMySQL && shouldMigrateSQLiteData()) {
-                migrateSQLiteToMySQL();
+            if (useMySQL) {
+                SqliteMigration migration = new SqliteMigration(plugin, this, sqliteFile, dataSource.getMaximumPoolSize());
+                if (migration.isPending()) {
+                    migration.run();
+                }
+            }
+
+            migrateFixedPointColumns();
+
+            if (binaryUuidRequested && !binaryUuid) {
+                migrateToBinaryUuid();
+            } else if (!binaryUuidRequested && binaryUuid) {
+                plugin.getLogger().warning("economy_players already stores binary uuids, keeping the binary layout");
             }
 
+            replayJournal();
+            journal.open();
+
             initialized = true;
             plugin.getLogger().info("Database initialized successfully");
 
@@ -81,7 +147,7 @@ public class DatabaseManager {
         config.setPassword(password);
         config.setDriverClassName("com.mysql.cj.jdbc.Driver");
 
-        config.setMaximumPoolSize(10);
+        config.setMaximumPoolSize(Math.max(1, plugin.getConfig().getInt("database.mysql.pool-size", 10)));
         config.setMinimumIdle(2);
         config.setMaxLifetime(1800000);
         config.setConnectionTimeout(30000);
@@ -122,34 +188,84 @@ public class DatabaseManager {
         plugin.getLogger().info("SQLite connection established");
     }
 
-    private void createTables() {
-        String createTableSQL = useMySQL ?
-                "CREATE TABLE IF NOT EXISTS economy_players (" +
-                        "uuid VARCHAR(36) PRIMARY KEY," +
+    private String getPlayerTableSQL(String table, boolean binary) {
+        return useMySQL ?
+                "CREATE TABLE IF NOT EXISTS " + table + " (" +
+                        "uuid " + (binary ? "BINARY(16)" : "VARCHAR(36)") + " PRIMARY KEY," +
                         "name VARCHAR(16) NOT NULL," +
                         "coins DOUBLE DEFAULT 0.0," +
                         "bank_balance DOUBLE DEFAULT 0.0," +
+                        "coins_minor BIGINT NULL," +
+                        "bank_balance_minor BIGINT NULL," +
                         "last_seen BIGINT DEFAULT 0," +
-                        "INDEX idx_name (name)," +
-                        "INDEX idx_last_seen (last_seen)" +
+                        "version BIGINT NOT NULL DEFAULT 0," +
+                        "total_wealth DOUBLE GENERATED ALWAYS AS (coins + bank_balance) STORED," +
+                        "total_wealth_minor BIGINT GENERATED ALWAYS AS (coins_minor + bank_balance_minor) STORED" +
                         ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;"
                 :
-                "CREATE TABLE IF NOT EXISTS economy_players (" +
-                        "uuid TEXT PRIMARY KEY," +
+                "CREATE TABLE IF NOT EXISTS " + table + " (" +
+                        "uuid " + (binary ? "BLOB" : "TEXT") + " PRIMARY KEY," +
                         "name TEXT NOT NULL," +
                         "coins REAL DEFAULT 0.0," +
                         "bank_balance REAL DEFAULT 0.0," +
-                        "last_seen INTEGER DEFAULT 0" +
-                        ");";
+                        "coins_minor INTEGER," +
+                        "bank_balance_minor INTEGER," +
+                        "last_seen INTEGER DEFAULT 0," +
+                        "version INTEGER NOT NULL DEFAULT 0," +
+                        "total_wealth REAL GENERATED ALWAYS AS (coins + bank_balance) VIRTUAL," +
+                        "total_wealth_minor INTEGER GENERATED ALWAYS AS (coins_minor + bank_balance_minor) VIRTUAL" +
+                        ")" + (binary ? " WITHOUT ROWID" : "") + ";";
+    }
 
+    private void createTables() {
         try (Connection connection = getConnection();
              Statement statement = connection.createStatement()) {
 
-            statement.execute(createTableSQL);
+            binaryUuid = hasColumn(connection, "uuid") ? isBinaryUuidColumn(connection) : binaryUuidRequested;
+            statement.execute(getPlayerTableSQL("economy_players", binaryUuid));
+
+            ensureColumn(connection, "coins_minor", useMySQL ? "BIGINT NULL" : "INTEGER");
+            ensureColumn(connection, "bank_balance_minor", useMySQL ? "BIGINT NULL" : "INTEGER");
+            ensureColumn(connection, "version", useMySQL ? "BIGINT NOT NULL DEFAULT 0" : "INTEGER NOT NULL DEFAULT 0");
+            ensureColumn(connection, "total_wealth", useMySQL
+                    ? "DOUBLE GENERATED ALWAYS AS (coins + bank_balance) STORED"
+                    : "REAL GENERATED ALWAYS AS (coins + bank_balance) VIRTUAL");
+            ensureColumn(connection, "total_wealth_minor", useMySQL
+                    ? "BIGINT GENERATED ALWAYS AS (coins_minor + bank_balance_minor) STORED"
+                    : "INTEGER GENERATED ALWAYS AS (coins_minor + bank_balance_minor) VIRTUAL");
+
+            createPlayerIndexes(connection);
+
+            statement.execute(useMySQL ?
+                    "CREATE TABLE IF NOT EXISTS economy_transactions (" +
+                            "id BIGINT AUTO_INCREMENT PRIMARY KEY," +
+                            "type VARCHAR(16) NOT NULL," +
+                            "from_uuid VARCHAR(36) NULL," +
+                            "to_uuid VARCHAR(36) NULL," +
+                            "amount DOUBLE NOT NULL," +
+                            "fee DOUBLE NOT NULL DEFAULT 0.0," +
+                            "balance_after DOUBLE NOT NULL," +
+                            "cause VARCHAR(16) NOT NULL," +
+                            "created_at BIGINT NOT NULL," +
+                            "INDEX idx_tx_from (from_uuid, created_at)," +
+                            "INDEX idx_tx_to (to_uuid, created_at)" +
+                            ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;"
+                    :
+                    "CREATE TABLE IF NOT EXISTS economy_transactions (" +
+                            "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                            "type TEXT NOT NULL," +
+                            "from_uuid TEXT," +
+                            "to_uuid TEXT," +
+                            "amount REAL NOT NULL," +
+                            "fee REAL NOT NULL DEFAULT 0.0," +
+                            "balance_after REAL NOT NULL," +
+                            "cause TEXT NOT NULL," +
+                            "created_at INTEGER NOT NULL" +
+                            ");");
 
             if (!useMySQL) {
-                statement.execute("CREATE INDEX IF NOT EXISTS idx_name ON economy_players(name);");
-                statement.execute("CREATE INDEX IF NOT EXISTS idx_last_seen ON economy_players(last_seen);");
+                statement.execute("CREATE INDEX IF NOT EXISTS idx_tx_from ON economy_transactions(from_uuid, created_at);");
+                statement.execute("CREATE INDEX IF NOT EXISTS idx_tx_to ON economy_transactions(to_uuid, created_at);");
                 statement.execute("PRAGMA journal_mode=WAL;");
                 statement.execute("PRAGMA synchronous=NORMAL;");
                 statement.execute("PRAGMA cache_size=10000;");
@@ -162,158 +278,412 @@ public class DatabaseManager {
         }
     }
 
-    private boolean shouldMigrateSQLiteData() {
-        File sqliteFile = new File(this.sqliteFile);
-        if (!sqliteFile.exists()) {
-            return false;
+    private void createPlayerIndexes(Connection connection) throws SQLException {
+        ensureIndex(connection, "idx_name", "name");
+        ensureIndex(connection, "idx_last_seen", "last_seen");
+        for (BalanceOrder order : BalanceOrder.values()) {
+            ensureIndex(connection, order.getIndex(), order.getColumn() + " DESC, uuid DESC");
+        }
+        for (String index : LEGACY_BALANCE_INDEXES) {
+            dropIndex(connection, index);
         }
+    }
 
-        try (Connection connection = getConnection();
-             PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM economy_players");
-             ResultSet resultSet = statement.executeQuery()) {
+    private void ensureColumn(Connection connection, String column, String definition) throws SQLException {
+        if (hasColumn(connection, column)) {
+            return;
+        }
 
-            resultSet.next();
-            int mysqlRecords = resultSet.getInt(1);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE economy_players ADD COLUMN " + column + " " + definition);
+            plugin.getLogger().info("Added column " + column + " to economy_players");
+        }
+    }
 
-            if (mysqlRecords > 0) {
-                plugin.getLogger().info("MySQL database already contains data, skipping migration");
-                return false;
+    private boolean hasColumn(Connection connection, String column) throws SQLException {
+        if (useMySQL) {
+            try (ResultSet columns = connection.getMetaData().getColumns(null, null, "economy_players", column)) {
+                return columns.next();
             }
+        }
 
-            try (Connection sqliteConn = DriverManager.getConnection("jdbc:sqlite:" + this.sqliteFile);
-                 PreparedStatement sqliteStmt = sqliteConn.prepareStatement("SELECT COUNT(*) FROM economy_players");
-                 ResultSet sqliteResult = sqliteStmt.executeQuery()) {
-
-                sqliteResult.next();
-                int sqliteRecords = sqliteResult.getInt(1);
-
-                if (sqliteRecords > 0) {
-                    plugin.getLogger().info("Found " + sqliteRecords + " records in SQLite, migration needed");
+        try (Statement statement = connection.createStatement();
+             ResultSet columns = statement.executeQuery("PRAGMA table_xinfo(economy_players)")) {
+            while (columns.next()) {
+                if (column.equalsIgnoreCase(columns.getString("name"))) {
                     return true;
                 }
             }
+        }
+        return false;
+    }
 
-        } catch (SQLException e) {
-            plugin.getLogger().warning("Could not check migration status: " + e.getMessage());
+    private boolean isBinaryUuidColumn(Connection connection) throws SQLException {
+        if (useMySQL) {
+            try (ResultSet columns = connection.getMetaData().getColumns(null, null, "economy_players", "uuid")) {
+                return columns.next() && columns.getString("TYPE_NAME").toUpperCase().contains("BINARY");
+            }
         }
 
+        try (Statement statement = connection.createStatement();
+             ResultSet columns = statement.executeQuery("PRAGMA table_info(economy_players)")) {
+            while (columns.next()) {
+                if ("uuid".equalsIgnoreCase(columns.getString("name"))) {
+                    return "BLOB".equalsIgnoreCase(columns.getString("type"));
+                }
+            }
+        }
         return false;
     }
 
-    private void migrateSQLiteToMySQL() {
-        plugin.getLogger().info("Starting SQLite to MySQL migration...");
+    private void ensureIndex(Connection connection, String index, String columns) throws SQLException {
+        if (!useMySQL) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE INDEX IF NOT EXISTS " + index + " ON economy_players(" + columns + ");");
+            }
+            return;
+        }
 
-        try {
-            HikariConfig sqliteConfig = new HikariConfig();
-            sqliteConfig.setJdbcUrl("jdbc:sqlite:" + sqliteFile);
-            sqliteConfig.setDriverClassName("org.sqlite.JDBC");
-            sqliteConfig.setMaximumPoolSize(1);
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT 1 FROM information_schema.statistics WHERE table_schema = DATABASE() " +
+                        "AND table_name = 'economy_players' AND index_name = ? LIMIT 1")) {
+            statement.setString(1, index);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    return;
+                }
+            }
+        }
 
-            try (HikariDataSource sqliteSource = new HikariDataSource(sqliteConfig);
-                 Connection sqliteConn = sqliteSource.getConnection();
-                 Connection mysqlConn = getConnection()) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX " + index + " ON economy_players (" + columns + ")");
+            plugin.getLogger().info("Created index " + index + " on economy_players");
+        }
+    }
 
-                mysqlConn.setAutoCommit(false);
+    private void dropIndex(Connection connection, String index) throws SQLException {
+        if (!useMySQL) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP INDEX IF EXISTS " + index + ";");
+            }
+            return;
+        }
 
-                String selectSQL = "SELECT uuid, name, coins, bank_balance, last_seen FROM economy_players";
-                String insertSQL = "INSERT INTO economy_players (uuid, name, coins, bank_balance, last_seen) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT 1 FROM information_schema.statistics WHERE table_schema = DATABASE() " +
+                        "AND table_name = 'economy_players' AND index_name = ? LIMIT 1")) {
+            statement.setString(1, index);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return;
+                }
+            }
+        }
 
-                try (PreparedStatement selectStmt = sqliteConn.prepareStatement(selectSQL);
-                     PreparedStatement insertStmt = mysqlConn.prepareStatement(insertSQL);
-                     ResultSet resultSet = selectStmt.executeQuery()) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP INDEX " + index + " ON economy_players");
+            plugin.getLogger().info("Dropped index " + index + " from economy_players");
+        }
+    }
 
-                    int migrated = 0;
-                    int batchSize = 1000;
+    private void migrateFixedPointColumns() {
+        String sql = "UPDATE economy_players SET " +
+                "coins_minor = ROUND(coins * " + Money.SCALE + "), " +
+                "bank_balance_minor = ROUND(bank_balance * " + Money.SCALE + ") " +
+                "WHERE coins_minor IS NULL OR bank_balance_minor IS NULL";
 
-                    while (resultSet.next()) {
-                        insertStmt.setString(1, resultSet.getString("uuid"));
-                        insertStmt.setString(2, resultSet.getString("name"));
-                        insertStmt.setDouble(3, resultSet.getDouble("coins"));
-                        insertStmt.setDouble(4, resultSet.getDouble("bank_balance"));
-                        insertStmt.setLong(5, resultSet.getLong("last_seen"));
-                        insertStmt.addBatch();
-
-                        migrated++;
-
-                        if (migrated % batchSize == 0) {
-                            insertStmt.executeBatch();
-                            mysqlConn.commit();
-                            plugin.getLogger().info("Migrated " + migrated + " players...");
+        try (Connection connection = getConnection();
+             Statement statement = connection.createStatement()) {
+
+            int migrated = statement.executeUpdate(sql);
+            if (migrated > 0) {
+                plugin.getLogger().info("Converted " + migrated + " players to fixed-point balances");
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to migrate fixed-point balances: " + e.getMessage(), e);
+        }
+    }
+
+    private void migrateToBinaryUuid() {
+        long start = System.nanoTime();
+
+        try (Connection connection = getConnection();
+             Statement statement = connection.createStatement()) {
+
+            plugin.getLogger().info("Converting economy_players to binary uuids, before: " + readStorageStatistics(connection));
+            statement.execute(getPlayerTableSQL(BINARY_TABLE, true));
+
+            int copied = 0;
+            String cursor = "";
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement select = connection.prepareStatement(
+                    "SELECT " + PLAYER_SELECT_COLUMNS + " FROM economy_players WHERE uuid > ? ORDER BY uuid LIMIT " + UUID_MIGRATION_CHUNK);
+                 PreparedStatement insert = connection.prepareStatement(getBinaryCopySQL())) {
+
+                int chunk;
+                do {
+                    select.setString(1, cursor);
+                    chunk = 0;
+
+                    try (ResultSet resultSet = select.executeQuery()) {
+                        while (resultSet.next()) {
+                            cursor = resultSet.getString("uuid");
+                            addBinaryCopy(insert, resultSet);
+                            chunk++;
                         }
                     }
 
-                    insertStmt.executeBatch();
-                    mysqlConn.commit();
+                    if (chunk > 0) {
+                        insert.executeBatch();
+                    }
+                    connection.commit();
 
-                    plugin.getLogger().info("Migration completed successfully! Migrated " + migrated + " players to MySQL");
+                    copied += chunk;
+                    if (chunk > 0 && copied % (UUID_MIGRATION_CHUNK * 50) == 0) {
+                        plugin.getLogger().info("Converted " + copied + " players to binary uuids...");
+                    }
+                } while (chunk == UUID_MIGRATION_CHUNK);
 
-                } catch (SQLException e) {
-                    mysqlConn.rollback();
-                    throw e;
+                if (useMySQL) {
+                    statement.execute("LOCK TABLES economy_players WRITE, " + BINARY_TABLE + " WRITE");
+                }
+
+                int caughtUp = 0;
+                try (PreparedStatement changed = connection.prepareStatement(getBinaryCatchUpSQL());
+                     ResultSet resultSet = changed.executeQuery()) {
+                    while (resultSet.next()) {
+                        addBinaryCopy(insert, resultSet);
+                        caughtUp++;
+                    }
+                }
+
+                if (caughtUp > 0) {
+                    insert.executeBatch();
+                }
+
+                if (useMySQL) {
+                    statement.execute("RENAME TABLE economy_players TO " + LEGACY_TABLE + ", " + BINARY_TABLE + " TO economy_players");
+                } else {
+                    statement.execute("DROP INDEX IF EXISTS idx_name");
+                    statement.execute("DROP INDEX IF EXISTS idx_last_seen");
+                    for (BalanceOrder order : BalanceOrder.values()) {
+                        statement.execute("DROP INDEX IF EXISTS " + order.getIndex());
+                    }
+                    statement.execute("ALTER TABLE economy_players RENAME TO " + LEGACY_TABLE);
+                    statement.execute("ALTER TABLE " + BINARY_TABLE + " RENAME TO economy_players");
+                    connection.commit();
                 }
 
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                if (useMySQL) {
+                    statement.execute("UNLOCK TABLES");
+                }
+                connection.setAutoCommit(autoCommit);
             }
 
-        } catch (Exception e) {
-            plugin.getLogger().severe("Migration failed: " + e.getMessage());
+            binaryUuid = true;
+            createPlayerIndexes(connection);
+
+            plugin.getLogger().info("Converted " + copied + " players to binary uuids in " +
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms, after: " + readStorageStatistics(connection) +
+                    ". The previous table is kept as " + LEGACY_TABLE);
+
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Failed to convert economy_players to binary uuids, keeping text uuids: " + e.getMessage());
             e.printStackTrace();
-            throw new RuntimeException("Migration failed", e);
         }
     }
 
-    public CompletableFuture<EconomyPlayer> loadPlayer(UUID uuid, String name) {
-        return CompletableFuture.supplyAsync(() -> {
-            try (Connection connection = getConnection();
-                 PreparedStatement statement = connection.prepareStatement(
-                         "SELECT uuid, name, coins, bank_balance, last_seen FROM economy_players WHERE uuid = ?")) {
+    private void addBinaryCopy(PreparedStatement insert, ResultSet resultSet) throws SQLException {
+        insert.setBytes(1, UuidBytes.toBytes(UUID.fromString(resultSet.getString("uuid"))));
+        insert.setString(2, resultSet.getString("name"));
+        insert.setDouble(3, resultSet.getDouble("coins"));
+        insert.setDouble(4, resultSet.getDouble("bank_balance"));
+        insert.setObject(5, resultSet.getObject("coins_minor"));
+        insert.setObject(6, resultSet.getObject("bank_balance_minor"));
+        insert.setLong(7, resultSet.getLong("last_seen"));
+        insert.setLong(8, resultSet.getLong("version"));
+        insert.addBatch();
+    }
 
-                statement.setString(1, uuid.toString());
+    private String getBinaryCopySQL() {
+        return (useMySQL ? "REPLACE INTO " : "INSERT OR REPLACE INTO ") + BINARY_TABLE +
+                " (" + PLAYER_SELECT_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    }
 
-                try (ResultSet resultSet = statement.executeQuery()) {
+    private String getBinaryCatchUpSQL() {
+        StringBuilder columns = new StringBuilder();
+        for (String column : PLAYER_SELECT_COLUMNS.split(", ")) {
+            columns.append(columns.length() == 0 ? "" : ", ").append("economy_players.").append(column);
+        }
+
+        return "SELECT " + columns + " FROM economy_players LEFT JOIN " + BINARY_TABLE +
+                " ON " + BINARY_TABLE + ".uuid = UNHEX(REPLACE(economy_players.uuid, '-', ''))" +
+                " WHERE " + BINARY_TABLE + ".uuid IS NULL OR " + BINARY_TABLE + ".version <> economy_players.version";
+    }
+
+    private String readStorageStatistics(Connection connection) throws SQLException {
+        long data = 0L;
+        long index = 0L;
+
+        try (Statement statement = connection.createStatement()) {
+            if (useMySQL) {
+                statement.execute("ANALYZE TABLE economy_players");
+                try (ResultSet resultSet = statement.executeQuery(
+                        "SELECT DATA_LENGTH, INDEX_LENGTH FROM information_schema.TABLES " +
+                                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'economy_players'")) {
                     if (resultSet.next()) {
-                        return new EconomyPlayer(
-                                uuid,
-                                resultSet.getString("name"),
-                                resultSet.getDouble("coins"),
-                                resultSet.getDouble("bank_balance"),
-                                resultSet.getLong("last_seen")
-                        );
+                        data = resultSet.getLong(1);
+                        index = resultSet.getLong(2);
+                    }
+                }
+            } else {
+                try (ResultSet resultSet = statement.executeQuery(
+                        "SELECT m.type, SUM(s.pgsize) FROM dbstat s JOIN sqlite_master m ON m.name = s.name " +
+                                "WHERE m.tbl_name = 'economy_players' GROUP BY m.type")) {
+                    while (resultSet.next()) {
+                        if ("index".equals(resultSet.getString(1))) {
+                            index = resultSet.getLong(2);
+                        } else {
+                            data = resultSet.getLong(2);
+                        }
                     }
+                } catch (SQLException e) {
+                    return "uuid=" + (binaryUuid ? "binary" : "text") + ", size unavailable (" + e.getMessage() + ")";
+                }
+            }
+        }
+
+        return String.format("uuid=%s, data=%dKB, index=%dKB", binaryUuid ? "binary" : "text", data / 1024, index / 1024);
+    }
+
+    private void replayJournal() throws IOException, SQLException {
+        long start = System.nanoTime();
+        List<EconomyPlayer> players = journal.replay();
+
+        if (!players.isEmpty()) {
+            int recovered = replayPlayers(players);
+            plugin.getLogger().info("Recovered " + recovered + " of " + players.size() + " balances from the journal in " +
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+        }
+
+        journal.discardAll();
+    }
+
+    public CompletableFuture<DeltaResult> applyBalanceDelta(UUID uuid, boolean bank, double delta, double max) {
+        String column = bank ? "bank_balance" : "coins";
+        String minorColumn = column + "_minor";
+        String minorValue = "COALESCE(" + minorColumn + ", ROUND(" + column + " * " + Money.SCALE + "))";
+        String current = Money.isFixedPoint() ? minorValue : column;
+
+        String sql = "UPDATE economy_players SET " +
+                minorColumn + " = " + minorValue + " + ?, " +
+                column + " = " + column + " + ?, " +
+                "version = version + 1 " +
+                "WHERE uuid = ? AND " + current + " + ? " + (delta > 0 ? "<= ?" : ">= 0");
+
+        return executor.supply(() -> {
+            try (Connection connection = getConnection()) {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+
+                try (PreparedStatement update = connection.prepareStatement(sql);
+                     PreparedStatement select = connection.prepareStatement(
+                             "SELECT " + PLAYER_SELECT_COLUMNS + " FROM economy_players WHERE uuid = ?")) {
+
+                    long minorDelta = Money.toMinor(delta);
+                    update.setLong(1, minorDelta);
+                    update.setDouble(2, delta);
+                    setUuid(update, 3, uuid);
+                    if (Money.isFixedPoint()) {
+                        update.setLong(4, minorDelta);
+                        if (delta > 0) {
+                            update.setLong(5, Money.toMinor(max));
+                        }
+                    } else {
+                        update.setDouble(4, delta);
+                        if (delta > 0) {
+                            update.setDouble(5, max);
+                        }
+                    }
+
+                    int updated = update.executeUpdate();
+
+                    setUuid(select, 1, uuid);
+                    EconomyPlayer snapshot = null;
+                    try (ResultSet resultSet = select.executeQuery()) {
+                        if (resultSet.next()) {
+                            snapshot = readPlayer(resultSet, uuid);
+                        }
+                    }
+
+                    connection.commit();
+
+                    if (snapshot == null) {
+                        return new DeltaResult(DeltaStatus.MISSING, null);
+                    }
+                    return new DeltaResult(updated > 0 ? DeltaStatus.APPLIED : DeltaStatus.REJECTED, snapshot);
+
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
                 }
 
             } catch (SQLException e) {
-                plugin.getLogger().severe("Failed to load player " + uuid + ": " + e.getMessage());
-                e.printStackTrace();
+                plugin.getLogger().severe("Failed to apply balance delta for " + uuid + ": " + e.getMessage());
                 throw new RuntimeException("Database error", e);
             }
-
-            double startingCoins = plugin.getConfig().getDouble("economy.starting-coins", 100.0);
-            double startingBank = plugin.getConfig().getDouble("economy.starting-bank-balance", 0.0);
-            return new EconomyPlayer(uuid, name, startingCoins, startingBank, System.currentTimeMillis());
         });
     }
 
-    public CompletableFuture<Boolean> savePlayer(EconomyPlayer player) {
-        return CompletableFuture.supplyAsync(() -> {
-            String sql = useMySQL ?
-                    "INSERT INTO economy_players (uuid, name, coins, bank_balance, last_seen) " +
-                            "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
-                            "name = VALUES(name), coins = VALUES(coins), bank_balance = VALUES(bank_balance), last_seen = VALUES(last_seen)"
-                    :
-                    "INSERT OR REPLACE INTO economy_players (uuid, name, coins, bank_balance, last_seen) VALUES (?, ?, ?, ?, ?)";
+    public CompletableFuture<EconomyPlayer> loadPlayer(UUID uuid, String name) {
+        return executor.supply(() -> selectPlayer(uuid, name));
+    }
 
-            try (Connection connection = getConnection();
-                 PreparedStatement statement = connection.prepareStatement(sql)) {
+    public EconomyPlayer loadPlayerBlocking(UUID uuid, String name) {
+        return executor.call(() -> selectPlayer(uuid, name));
+    }
 
-                statement.setString(1, player.getUuid().toString());
-                statement.setString(2, player.getName());
-                statement.setDouble(3, player.getCoins());
-                statement.setDouble(4, player.getBankBalance());
-                statement.setLong(5, player.getLastSeen());
+    private EconomyPlayer selectPlayer(UUID uuid, String name) {
+        long start = System.nanoTime();
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT " + PLAYER_SELECT_COLUMNS + " FROM economy_players WHERE uuid = ?")) {
 
-                int result = statement.executeUpdate();
-                return result > 0;
+            setUuid(statement, 1, uuid);
 
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    return readPlayer(resultSet, uuid);
+                }
+            }
+
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Failed to load player " + uuid + ": " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Database error", e);
+        } finally {
+            playerLoads.increment();
+            playerLoadNanos.add(System.nanoTime() - start);
+        }
+
+        double startingCoins = plugin.getEconomyValidator().getStartingCoins();
+        double startingBank = plugin.getEconomyValidator().getStartingBankBalance();
+        return new EconomyPlayer(uuid, name, startingCoins, startingBank, System.currentTimeMillis());
+    }
+
+    public CompletableFuture<Boolean> savePlayer(EconomyPlayer player) {
+        return executor.supply(() -> {
+            try {
+                return writePlayers(List.of(player)).isEmpty();
             } catch (SQLException e) {
                 plugin.getLogger().severe("Failed to save player " + player.getUuid() + ": " + e.getMessage());
                 e.printStackTrace();
@@ -322,26 +692,369 @@ public class DatabaseManager {
         });
     }
 
+    public CompletableFuture<List<EconomyPlayer>> savePlayers(List<EconomyPlayer> players) {
+        return executor.supply(() -> {
+            try {
+                return writePlayers(players);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    private List<EconomyPlayer> writePlayers(List<EconomyPlayer> players) throws SQLException {
+        if (players.isEmpty()) {
+            return List.of();
+        }
+
+        BalanceState[] states = new BalanceState[players.size()];
+        boolean[] conflicted = new boolean[players.size()];
+
+        try (Connection connection = getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement update = connection.prepareStatement(getVersionedUpdateSQL());
+                 PreparedStatement insert = connection.prepareStatement(getInsertIfAbsentSQL())) {
+
+                List<Integer> updated = new ArrayList<>(players.size());
+                for (int i = 0; i < players.size(); i++) {
+                    EconomyPlayer player = players.get(i);
+                    states[i] = player.getBalance();
+
+                    if (player.isStored()) {
+                        bindVersionedUpdate(update, player, states[i], player.getRowVersion());
+                        update.addBatch();
+                        updated.add(i);
+                    } else {
+                        bindPlayer(insert, player, states[i]);
+                        conflicted[i] = insert.executeUpdate() == 0;
+                    }
+                }
+
+                if (!updated.isEmpty()) {
+                    int[] counts = update.executeBatch();
+                    for (int i = 0; i < counts.length; i++) {
+                        conflicted[updated.get(i)] = counts[i] == 0;
+                    }
+                }
+
+                connection.commit();
+
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+
+            List<EconomyPlayer> deferred = new ArrayList<>();
+            for (int i = 0; i < players.size(); i++) {
+                EconomyPlayer player = players.get(i);
+                versionedWrites.increment();
+
+                if (!conflicted[i]) {
+                    player.markPersisted(player.isStored() ? player.getRowVersion() + 1 : 0L, states[i]);
+                    continue;
+                }
+
+                versionConflicts.increment();
+                if (!resolveConflict(connection, player, states[i])) {
+                    conflictDeferred.increment();
+                    deferred.add(player);
+                }
+            }
+            return deferred;
+        }
+    }
+
+    private boolean resolveConflict(Connection connection, EconomyPlayer player, BalanceState local) throws SQLException {
+        BalanceState base = player.getPersisted();
+        long coinsDelta = local.coins() - base.coins();
+        long bankDelta = local.bankBalance() - base.bankBalance();
+
+        for (int attempt = 0; attempt < conflictRetries; attempt++) {
+            conflictAttempts.increment();
+
+            EconomyPlayer remote = loadStored(connection, player.getUuid());
+            if (remote == null) {
+                try (PreparedStatement insert = connection.prepareStatement(getInsertIfAbsentSQL())) {
+                    bindPlayer(insert, player, local);
+                    if (insert.executeUpdate() > 0) {
+                        player.markPersisted(0L, local);
+                        return true;
+                    }
+                }
+                continue;
+            }
+
+            BalanceState remoteState = remote.getBalance();
+            BalanceState rebased = new BalanceState(remoteState.coins() + coinsDelta, remoteState.bankBalance() + bankDelta);
+
+            EconomySettings settings = plugin.getEconomyValidator().getSettings();
+            BalanceState stored = new BalanceState(
+                    Math.min(Math.max(0L, rebased.coins()), settings.maxCoinsMinor()),
+                    Math.min(Math.max(0L, rebased.bankBalance()), settings.maxBankBalanceMinor()));
+
+            try (PreparedStatement update = connection.prepareStatement(getVersionedUpdateSQL())) {
+                bindVersionedUpdate(update, player, stored, remote.getRowVersion());
+                if (update.executeUpdate() > 0) {
+                    player.applyRemote(local, stored);
+                    player.markPersisted(remote.getRowVersion() + 1, stored);
+                    conflictRebases.increment();
+                    if (!stored.equals(rebased)) {
+                        recordClamp(player, rebased, stored);
+                    }
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private void recordClamp(EconomyPlayer player, BalanceState rebased, BalanceState stored) {
+        conflictClamps.increment();
+        BalanceChange change = new BalanceChange(rebased, stored);
+        plugin.getLogger().warning("Balance of " + player.getName() + " was changed by another server and the rebased balance " +
+                "(coins " + Money.format(rebased.coins()) + ", bank " + Money.format(rebased.bankBalance()) + ") is out of range, " +
+                "clamped it by coins " + Money.format(stored.coins() - rebased.coins()) + ", bank " + Money.format(stored.bankBalance() - rebased.bankBalance()));
+
+        TransactionLedger ledger = plugin.getTransactionLedger();
+        if (ledger == null) {
+            return;
+        }
+        if (stored.coins() != rebased.coins()) {
+            ledger.record(LedgerEntry.coins(player.getUuid(), change, "CONFLICT"));
+        }
+        if (stored.bankBalance() != rebased.bankBalance()) {
+            ledger.record(LedgerEntry.bank(player.getUuid(), change, "CONFLICT"));
+        }
+    }
+
+    private EconomyPlayer loadStored(Connection connection, UUID uuid) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT " + PLAYER_SELECT_COLUMNS + " FROM economy_players WHERE uuid = ?")) {
+            setUuid(statement, 1, uuid);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? readPlayer(resultSet, uuid) : null;
+            }
+        }
+    }
+
+    private int replayPlayers(List<EconomyPlayer> players) throws SQLException {
+        int recovered = 0;
+
+        try (Connection connection = getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement update = connection.prepareStatement(getVersionedUpdateSQL());
+                 PreparedStatement insert = connection.prepareStatement(getInsertIfAbsentSQL())) {
+
+                for (EconomyPlayer player : players) {
+                    BalanceState journaled = player.getBalance();
+                    if (player.isStored()) {
+                        bindVersionedUpdate(update, player, journaled, player.getRowVersion());
+                        if (update.executeUpdate() > 0) {
+                            recovered++;
+                            continue;
+                        }
+                    } else {
+                        bindPlayer(insert, player, journaled);
+                        if (insert.executeUpdate() > 0) {
+                            recovered++;
+                            continue;
+                        }
+                    }
+
+                    EconomyPlayer stored = loadStored(connection, player.getUuid());
+                    if (stored != null && stored.getBalance().equals(journaled)) {
+                        continue;
+                    }
+
+                    BalanceState base = player.getPersisted();
+                    plugin.getLogger().warning("Journal record for " + player.getName() + " (" + player.getUuid() + ") was written against row version " +
+                            player.getRowVersion() + " but the row is now at " + (stored != null ? stored.getRowVersion() : "missing") +
+                            ", skipping it. Unsaved change: coins " + Money.format(journaled.coins() - base.coins()) +
+                            ", bank " + Money.format(journaled.bankBalance() - base.bankBalance()));
+                }
+
+                connection.commit();
+
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+
+        return recovered;
+    }
+
+    public CompletableFuture<Integer> insertTransactions(List<LedgerEntry> entries) {
+        return executor.supply(() -> {
+            try {
+                return writeTransactions(entries);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    private int writeTransactions(List<LedgerEntry> entries) throws SQLException {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        try (Connection connection = getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try {
+                int fullChunks = entries.size() / TRANSACTION_ROWS_PER_STATEMENT;
+                if (fullChunks > 0) {
+                    try (PreparedStatement statement = connection.prepareStatement(getTransactionInsertSQL(TRANSACTION_ROWS_PER_STATEMENT))) {
+                        for (int chunk = 0; chunk < fullChunks; chunk++) {
+                            int offset = chunk * TRANSACTION_ROWS_PER_STATEMENT;
+                            bindTransactions(statement, entries.subList(offset, offset + TRANSACTION_ROWS_PER_STATEMENT));
+                            statement.addBatch();
+                        }
+                        statement.executeBatch();
+                    }
+                }
+
+                int remainder = entries.size() % TRANSACTION_ROWS_PER_STATEMENT;
+                if (remainder > 0) {
+                    try (PreparedStatement statement = connection.prepareStatement(getTransactionInsertSQL(remainder))) {
+                        bindTransactions(statement, entries.subList(entries.size() - remainder, entries.size()));
+                        statement.executeUpdate();
+                    }
+                }
+
+                connection.commit();
+                return entries.size();
+
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private String getTransactionInsertSQL(int rows) {
+        StringBuilder sql = new StringBuilder("INSERT INTO economy_transactions (")
+                .append(TRANSACTION_COLUMNS).append(") VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?, ?, ?)");
+        }
+        return sql.toString();
+    }
+
+    private void bindTransactions(PreparedStatement statement, List<LedgerEntry> entries) throws SQLException {
+        int index = 1;
+        for (LedgerEntry entry : entries) {
+            statement.setString(index++, entry.type().name());
+            statement.setString(index++, entry.from() != null ? entry.from().toString() : null);
+            statement.setString(index++, entry.to() != null ? entry.to().toString() : null);
+            statement.setDouble(index++, entry.amount());
+            statement.setDouble(index++, entry.fee());
+            statement.setDouble(index++, entry.balanceAfter());
+            statement.setString(index++, entry.cause());
+            statement.setLong(index++, entry.timestamp());
+        }
+    }
+
+    private String getInsertIfAbsentSQL() {
+        return (useMySQL ? "INSERT IGNORE INTO" : "INSERT OR IGNORE INTO") +
+                " economy_players (" + PLAYER_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+    }
+
+    private String getVersionedUpdateSQL() {
+        return "UPDATE economy_players SET name = ?, coins = ?, bank_balance = ?, coins_minor = ?, bank_balance_minor = ?, " +
+                "last_seen = ?, version = version + 1 WHERE uuid = ? AND version = ?";
+    }
+
+    private void bindPlayer(PreparedStatement statement, EconomyPlayer player, BalanceState balance) throws SQLException {
+        setUuid(statement, 1, player.getUuid());
+        statement.setString(2, player.getName());
+        statement.setDouble(3, balance.coinsAmount());
+        statement.setDouble(4, balance.bankAmount());
+        statement.setLong(5, balance.coins());
+        statement.setLong(6, balance.bankBalance());
+        statement.setLong(7, player.getLastSeen());
+    }
+
+    private void bindVersionedUpdate(PreparedStatement statement, EconomyPlayer player, BalanceState balance, long expectedVersion) throws SQLException {
+        statement.setString(1, player.getName());
+        statement.setDouble(2, balance.coinsAmount());
+        statement.setDouble(3, balance.bankAmount());
+        statement.setLong(4, balance.coins());
+        statement.setLong(5, balance.bankBalance());
+        statement.setLong(6, player.getLastSeen());
+        setUuid(statement, 7, player.getUuid());
+        statement.setLong(8, expectedVersion);
+    }
+
+    void setUuid(PreparedStatement statement, int index, UUID uuid) throws SQLException {
+        if (binaryUuid) {
+            statement.setBytes(index, UuidBytes.toBytes(uuid));
+        } else {
+            statement.setString(index, uuid.toString());
+        }
+    }
+
+    private UUID getUuid(ResultSet resultSet, int index) throws SQLException {
+        return binaryUuid ? UuidBytes.fromBytes(resultSet.getBytes(index)) : UUID.fromString(resultSet.getString(index));
+    }
+
+    private UUID getUuid(ResultSet resultSet) throws SQLException {
+        return getUuid(resultSet, resultSet.findColumn("uuid"));
+    }
+
+    private EconomyPlayer readPlayer(ResultSet resultSet, UUID uuid) throws SQLException {
+        long coins = Money.toMinor(resultSet.getDouble("coins"));
+        long bankBalance = Money.toMinor(resultSet.getDouble("bank_balance"));
+
+        if (Money.isFixedPoint()) {
+            long coinsMinor = resultSet.getLong("coins_minor");
+            if (!resultSet.wasNull()) {
+                coins = coinsMinor;
+            }
+
+            long bankMinor = resultSet.getLong("bank_balance_minor");
+            if (!resultSet.wasNull()) {
+                bankBalance = bankMinor;
+            }
+        }
+
+        EconomyPlayer player = new EconomyPlayer(uuid, resultSet.getString("name"), new BalanceState(coins, bankBalance),
+                resultSet.getLong("last_seen"));
+        player.markPersisted(resultSet.getLong("version"), player.getBalance());
+        return player;
+    }
+
     public CompletableFuture<List<EconomyPlayer>> getTopPlayers(int limit, boolean byCoins) {
-        return CompletableFuture.supplyAsync(() -> {
+        BalanceOrder order = byCoins ? BalanceOrder.COINS : BalanceOrder.BANK;
+
+        return executor.supply(() -> {
+            long allocatedBefore = getAllocatedBytes();
             List<EconomyPlayer> topPlayers = new ArrayList<>();
-            String orderBy = byCoins ? "coins" : "bank_balance";
 
             try (Connection connection = getConnection();
                  PreparedStatement statement = connection.prepareStatement(
-                         "SELECT uuid, name, coins, bank_balance, last_seen FROM economy_players ORDER BY " + orderBy + " DESC LIMIT ?")) {
+                         "SELECT " + PLAYER_SELECT_COLUMNS + " FROM economy_players ORDER BY " +
+                                 order.getColumn() + " DESC, uuid DESC LIMIT ?")) {
 
                 statement.setInt(1, limit);
 
                 try (ResultSet resultSet = statement.executeQuery()) {
                     while (resultSet.next()) {
-                        topPlayers.add(new EconomyPlayer(
-                                UUID.fromString(resultSet.getString("uuid")),
-                                resultSet.getString("name"),
-                                resultSet.getDouble("coins"),
-                                resultSet.getDouble("bank_balance"),
-                                resultSet.getLong("last_seen")
-                        ));
+                        topPlayers.add(readPlayer(resultSet, getUuid(resultSet)));
                     }
                 }
 
@@ -350,27 +1063,149 @@ public class DatabaseManager {
                 e.printStackTrace();
             }
 
+            long allocatedAfter = getAllocatedBytes();
+            if (allocatedBefore >= 0 && allocatedAfter >= 0) {
+                topQueries.increment();
+                topAllocatedBytes.add(allocatedAfter - allocatedBefore);
+            }
+
             return topPlayers;
         });
     }
 
+    public CompletableFuture<BalanceOrder.Cursor> streamLeaderboard(BalanceOrder order, BalanceOrder.Cursor after, int limit,
+                                                                   BalanceOrder.RowConsumer consumer) {
+        String column = order.getColumn();
+        String sql = "SELECT uuid, name, " + column + ", version FROM economy_players" +
+                (after != null ? " WHERE " + column + " < ? OR (" + column + " = ? AND uuid < ?)" : "") +
+                " ORDER BY " + column + " DESC, uuid DESC LIMIT ?";
+
+        return executor.supply(() -> {
+            BalanceOrder.Cursor last = null;
+            int rows = 0;
+
+            try (Connection connection = getConnection();
+                 PreparedStatement statement = connection.prepareStatement(sql)) {
+
+                int index = 1;
+                if (after != null) {
+                    statement.setLong(index++, after.score());
+                    statement.setLong(index++, after.score());
+                    setUuid(statement, index++, after.uuid());
+                }
+                statement.setInt(index, limit);
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        UUID uuid = getUuid(resultSet, 1);
+                        long score = resultSet.getLong(3);
+                        consumer.accept(uuid, resultSet.getString(2), score, resultSet.getLong(4));
+                        last = new BalanceOrder.Cursor(score, uuid);
+                        rows++;
+                    }
+                }
+
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Failed to stream leaderboard " + order + ": " + e.getMessage());
+                throw new RuntimeException("Database error", e);
+            }
+
+            return rows < limit ? null : last;
+        });
+    }
+
+    public CompletableFuture<Integer> forEachPlayer(Consumer<EconomyPlayer> consumer) {
+        return executor.supply(() -> {
+            int count = 0;
+
+            try (Connection connection = getConnection();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "SELECT " + PLAYER_SELECT_COLUMNS + " FROM economy_players")) {
+
+                statement.setFetchSize(useMySQL ? Integer.MIN_VALUE : 1000);
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        consumer.accept(readPlayer(resultSet, getUuid(resultSet)));
+                        count++;
+                    }
+                }
+
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Failed to stream players: " + e.getMessage());
+                throw new RuntimeException("Database error", e);
+            }
+
+            return count;
+        });
+    }
+
+    public CompletableFuture<Integer> forEachRecentPlayer(int limit, Predicate<EconomyPlayer> consumer) {
+        return executor.supply(() -> {
+            int count = 0;
+
+            try (Connection connection = getConnection();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "SELECT " + PLAYER_SELECT_COLUMNS + " FROM economy_players ORDER BY last_seen DESC LIMIT ?")) {
+
+                statement.setInt(1, limit);
+                statement.setFetchSize(useMySQL ? Integer.MIN_VALUE : 1000);
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        count++;
+                        if (!consumer.test(readPlayer(resultSet, getUuid(resultSet)))) {
+                            break;
+                        }
+                    }
+                }
+
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Failed to stream recent players: " + e.getMessage());
+                throw new RuntimeException("Database error", e);
+            }
+
+            return count;
+        });
+    }
+
+    public CompletableFuture<Integer> forEachName(NameConsumer consumer) {
+        return executor.supply(() -> {
+            int count = 0;
+
+            try (Connection connection = getConnection();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "SELECT uuid, name, last_seen FROM economy_players")) {
+
+                statement.setFetchSize(useMySQL ? Integer.MIN_VALUE : 1000);
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        consumer.accept(getUuid(resultSet, 1), resultSet.getString(2), resultSet.getLong(3));
+                        count++;
+                    }
+                }
+
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Failed to stream player names: " + e.getMessage());
+                throw new RuntimeException("Database error", e);
+            }
+
+            return count;
+        });
+    }
+
     public CompletableFuture<EconomyPlayer> findPlayerByName(String name) {
-        return CompletableFuture.supplyAsync(() -> {
+        return executor.supply(() -> {
             try (Connection connection = getConnection();
                  PreparedStatement statement = connection.prepareStatement(
-                         "SELECT uuid, name, coins, bank_balance, last_seen FROM economy_players WHERE name = ? LIMIT 1")) {
+                         "SELECT " + PLAYER_SELECT_COLUMNS + " FROM economy_players WHERE name = ? LIMIT 1")) {
 
                 statement.setString(1, name);
 
                 try (ResultSet resultSet = statement.executeQuery()) {
                     if (resultSet.next()) {
-                        return new EconomyPlayer(
-                                UUID.fromString(resultSet.getString("uuid")),
-                                resultSet.getString("name"),
-                                resultSet.getDouble("coins"),
-                                resultSet.getDouble("bank_balance"),
-                                resultSet.getLong("last_seen")
-                        );
+                        return readPlayer(resultSet, getUuid(resultSet));
                     }
                 }
 
@@ -396,7 +1231,59 @@ public class DatabaseManager {
         return connection;
     }
 
+    public String getConflictStatistics() {
+        long writes = versionedWrites.sum();
+        long conflicts = versionConflicts.sum();
+        return String.format("writes=%d, conflicts=%d (%.2f%%), attempts=%d, rebased=%d, clamped=%d, deferred=%d",
+                writes, conflicts, writes == 0 ? 0.0 : conflicts * 100.0 / writes, conflictAttempts.sum(),
+                conflictRebases.sum(), conflictClamps.sum(), conflictDeferred.sum());
+    }
+
+    public CompletableFuture<String> getStorageStatistics() {
+        return executor.supply(() -> {
+            try (Connection connection = getConnection()) {
+                return readStorageStatistics(connection);
+            } catch (SQLException e) {
+                plugin.getLogger().warning("Failed to read storage statistics: " + e.getMessage());
+                return "unavailable";
+            }
+        });
+    }
+
+    public String getQueryStatistics() {
+        long loads = playerLoads.sum();
+        long queries = topQueries.sum();
+        return String.format("loads=%d, avg-load=%.3fms, top-queries=%d, avg-top-alloc=%s",
+                loads, loads == 0 ? 0.0 : playerLoadNanos.sum() / (loads * 1_000_000.0), queries,
+                queries == 0 ? "n/a" : (topAllocatedBytes.sum() / queries / 1024) + "KB");
+    }
+
+    private long getAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return -1L;
+    }
+
+    public boolean isBinaryUuid() {
+        return binaryUuid;
+    }
+
+    public BalanceJournal getJournal() {
+        return journal;
+    }
+
+    public DatabaseExecutor getExecutor() {
+        return executor;
+    }
+
     public void close() {
+        journal.close();
+
+        if (executor != null) {
+            executor.shutdown();
+        }
+
         if (dataSource != null && !dataSource.isClosed()) {
             try {
                 dataSource.close();
@@ -407,4 +1294,18 @@ public class DatabaseManager {
             }
         }
     }
+
+    @FunctionalInterface
+    public interface NameConsumer {
+        void accept(UUID uuid, String name, long lastSeen);
+    }
+
+    public enum DeltaStatus {
+        APPLIED,
+        REJECTED,
+        MISSING
+    }
+
+    public record DeltaResult(DeltaStatus status, EconomyPlayer snapshot) {
+    }
 }
\ No newline at end of file
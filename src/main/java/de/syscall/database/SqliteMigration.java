@@ -0,0 +1,475 @@
+package de.syscall.database;
+
+import de.syscall.SlownEconomy;
+import de.syscall.util.Money;
+import de.syscall.util.UuidBytes;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class SqliteMigration {
+
+    private static final String SOURCE = "sqlite:economy.db";
+    private static final long PROGRESS_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+    private static final Chunk END = new Chunk(-1L, List.of(), null);
+
+    private final SlownEconomy plugin;
+    private final DatabaseManager database;
+    private final String sqliteFile;
+    private final int writers;
+    private final int batchSize;
+    private final boolean verify;
+
+    private final AtomicReference<Throwable> failure;
+    private long committedSequence;
+    private long committedRows;
+    private final Set<Long> completedAhead;
+    private final List<Chunk> pendingCheckpoints;
+    private long startNanos;
+    private long lastProgressNanos;
+    private long totalRows;
+
+    public SqliteMigration(SlownEconomy plugin, DatabaseManager database, String sqliteFile, int poolSize) {
+        this.plugin = plugin;
+        this.database = database;
+        this.sqliteFile = sqliteFile;
+        this.writers = Math.max(1, Math.min(plugin.getConfig().getInt("database.migration.writers", 4), poolSize - 1));
+        this.batchSize = Math.max(1, plugin.getConfig().getInt("database.migration.batch-size", 1000));
+        this.verify = plugin.getConfig().getBoolean("database.migration.verify", true);
+        this.failure = new AtomicReference<>();
+        this.completedAhead = new HashSet<>();
+        this.pendingCheckpoints = new ArrayList<>();
+    }
+
+    public boolean isPending() {
+        if (!new File(sqliteFile).exists()) {
+            return false;
+        }
+
+        try (Connection connection = database.getConnection()) {
+            createCheckpointTable(connection);
+            Checkpoint checkpoint = readCheckpoint(connection);
+            if (checkpoint != null) {
+                if (checkpoint.completed()) {
+                    return false;
+                }
+
+                plugin.getLogger().info("Resuming SQLite to MySQL migration after " + checkpoint.migrated() + " rows");
+                return true;
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM economy_players");
+                 ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                if (resultSet.getLong(1) > 0) {
+                    plugin.getLogger().info("MySQL database already contains data, skipping migration");
+                    return false;
+                }
+            }
+
+            try (Connection sqlite = openSource();
+                 PreparedStatement statement = sqlite.prepareStatement("SELECT COUNT(*) FROM economy_players");
+                 ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                long records = resultSet.getLong(1);
+                if (records > 0) {
+                    plugin.getLogger().info("Found " + records + " records in SQLite, migration needed");
+                    return true;
+                }
+            }
+
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Could not check migration status: " + e.getMessage());
+        }
+
+        return false;
+    }
+
+    public void run() {
+        plugin.getLogger().info("Starting SQLite to MySQL migration with " + writers + " writers...");
+
+        AtomicInteger threadId = new AtomicInteger(1);
+        ExecutorService pool = Executors.newFixedThreadPool(writers, runnable -> {
+            Thread thread = new Thread(runnable, "SlownEconomy-Migration-" + threadId.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (Connection sqlite = openSource();
+             Connection checkpointConnection = database.getConnection()) {
+
+            Checkpoint checkpoint = readCheckpoint(checkpointConnection);
+            if (checkpoint == null) {
+                writeCheckpoint(checkpointConnection, null, 0L, false, true);
+            }
+
+            UUID after = checkpoint != null ? checkpoint.lastKey() : null;
+            committedRows = checkpoint != null ? checkpoint.migrated() : 0L;
+            totalRows = countSource(sqlite);
+            startNanos = System.nanoTime();
+            lastProgressNanos = startNanos;
+
+            BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(writers * 2);
+            List<CompletableFuture<Void>> stages = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                stages.add(CompletableFuture.runAsync(() -> writeLoop(queue, checkpointConnection), pool));
+            }
+
+            long resumedRows = committedRows;
+            CompletableFuture<Void> writing = CompletableFuture.allOf(stages.toArray(new CompletableFuture[0]));
+            read(sqlite, after, queue, writing);
+            for (int i = 0; i < writers; i++) {
+                enqueue(queue, END, writing);
+            }
+            writing.join();
+
+            if (failure.get() != null) {
+                throw new RuntimeException("Migration stopped at " + committedRows + " rows, it resumes on the next start", failure.get());
+            }
+
+            long elapsed = Math.max(1L, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            plugin.getLogger().info(String.format("Copied %d rows in %dms (%.0f rows/s)",
+                    committedRows - resumedRows, elapsed, (committedRows - resumedRows) * 1000.0 / elapsed));
+
+            if (verify) {
+                verifyChecksums(sqlite, checkpointConnection, pool);
+            }
+
+            synchronized (this) {
+                writeCheckpoint(checkpointConnection, null, committedRows, true, false);
+            }
+            plugin.getLogger().info("Migration completed successfully! Migrated " + committedRows + " players to MySQL");
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Migration interrupted", e);
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Migration failed: " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Migration failed", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void read(Connection sqlite, UUID after, BlockingQueue<Chunk> queue, CompletableFuture<Void> writing)
+            throws SQLException, InterruptedException {
+        boolean binarySource = isBinarySource(sqlite);
+        String minorColumns = hasColumn(sqlite, "coins_minor") ? "coins_minor, bank_balance_minor" : "NULL, NULL";
+        String select = "SELECT uuid, name, coins, bank_balance, " + minorColumns + ", last_seen FROM economy_players " +
+                "WHERE uuid > ? ORDER BY uuid LIMIT ?";
+        String first = "SELECT uuid, name, coins, bank_balance, " + minorColumns + ", last_seen FROM economy_players " +
+                "ORDER BY uuid LIMIT ?";
+
+        long sequence = 0L;
+        UUID cursor = after;
+
+        while (failure.get() == null) {
+            List<Row> rows = new ArrayList<>(batchSize);
+
+            try (PreparedStatement statement = sqlite.prepareStatement(cursor == null ? first : select)) {
+                int index = 1;
+                if (cursor != null) {
+                    if (binarySource) {
+                        statement.setBytes(index++, UuidBytes.toBytes(cursor));
+                    } else {
+                        statement.setString(index++, cursor.toString());
+                    }
+                }
+                statement.setInt(index, batchSize);
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        rows.add(new Row(UuidBytes.fromValue(resultSet.getObject(1)), resultSet.getString(2),
+                                resultSet.getDouble(3), resultSet.getDouble(4),
+                                readNullableLong(resultSet, 5), readNullableLong(resultSet, 6),
+                                resultSet.getLong(7)));
+                    }
+                }
+            }
+
+            if (rows.isEmpty()) {
+                return;
+            }
+
+            cursor = rows.get(rows.size() - 1).uuid();
+            if (!enqueue(queue, new Chunk(sequence++, rows, cursor), writing) || rows.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private boolean enqueue(BlockingQueue<Chunk> queue, Chunk chunk, CompletableFuture<Void> writing) throws InterruptedException {
+        while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+            if (writing.isDone()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeLoop(BlockingQueue<Chunk> queue, Connection checkpointConnection) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO economy_players (uuid, name, coins, bank_balance, coins_minor, bank_balance_minor, last_seen) " +
+                             "VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE name = VALUES(name), coins = VALUES(coins), " +
+                             "bank_balance = VALUES(bank_balance), coins_minor = VALUES(coins_minor), " +
+                             "bank_balance_minor = VALUES(bank_balance_minor), last_seen = VALUES(last_seen)")) {
+
+            connection.setAutoCommit(false);
+
+            while (true) {
+                Chunk chunk = queue.take();
+                if (chunk == END) {
+                    return;
+                }
+
+                if (failure.get() != null) {
+                    continue;
+                }
+
+                try {
+                    for (Row row : chunk.rows()) {
+                        database.setUuid(insert, 1, row.uuid());
+                        insert.setString(2, row.name());
+                        insert.setDouble(3, row.coins());
+                        insert.setDouble(4, row.bankBalance());
+                        setNullableLong(insert, 5, row.coinsMinor());
+                        setNullableLong(insert, 6, row.bankMinor());
+                        insert.setLong(7, row.lastSeen());
+                        insert.addBatch();
+                    }
+
+                    insert.executeBatch();
+                    connection.commit();
+                    complete(chunk, checkpointConnection);
+                } catch (SQLException e) {
+                    insert.clearBatch();
+                    connection.rollback();
+                    plugin.getLogger().severe("Migration writer failed: " + e.getMessage());
+                    failure.compareAndSet(null, e);
+                }
+            }
+
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Migration writer failed: " + e.getMessage());
+            failure.compareAndSet(null, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    private synchronized void complete(Chunk chunk, Connection checkpointConnection) throws SQLException {
+        pendingCheckpoints.add(chunk);
+        completedAhead.add(chunk.sequence());
+
+        Chunk newest = null;
+        while (completedAhead.remove(committedSequence)) {
+            for (Chunk pending : pendingCheckpoints) {
+                if (pending.sequence() == committedSequence) {
+                    newest = pending;
+                    committedRows += pending.rows().size();
+                    pendingCheckpoints.remove(pending);
+                    break;
+                }
+            }
+            committedSequence++;
+        }
+
+        if (newest == null) {
+            return;
+        }
+
+        writeCheckpoint(checkpointConnection, newest.lastKey(), committedRows, false, false);
+
+        long now = System.nanoTime();
+        if (now - lastProgressNanos >= PROGRESS_INTERVAL) {
+            lastProgressNanos = now;
+            double seconds = Math.max(0.001, (now - startNanos) / 1_000_000_000.0);
+            plugin.getLogger().info(String.format("Migrated %d/%d players (%.0f rows/s)...",
+                    committedRows, totalRows, committedRows / seconds));
+        }
+    }
+
+    private void verifyChecksums(Connection sqlite, Connection mysql, ExecutorService pool) throws SQLException {
+        long start = System.nanoTime();
+
+        CompletableFuture<long[]> source = CompletableFuture.supplyAsync(() -> {
+            try {
+                return checksum(sqlite, false);
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }, pool);
+        long[] target = checksum(mysql, true);
+        long[] expected = source.join();
+
+        if (expected[0] != target[0] || expected[1] != target[1]) {
+            synchronized (this) {
+                writeCheckpoint(mysql, null, 0L, false, false);
+            }
+            throw new SQLException(String.format("Checksum mismatch: SQLite has %d rows (%016x), MySQL has %d rows (%016x); " +
+                    "the next start copies all rows again", expected[0], expected[1], target[0], target[1]));
+        }
+
+        plugin.getLogger().info(String.format("Checksum verified: %d rows (%016x) in %dms", target[0], target[1],
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+    }
+
+    private long[] checksum(Connection connection, boolean mysql) throws SQLException {
+        long count = 0L;
+        long sum = 0L;
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT uuid, name, coins, bank_balance, last_seen FROM economy_players")) {
+
+            boolean streaming = mysql && "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+            statement.setFetchSize(streaming ? Integer.MIN_VALUE : 1000);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    UUID uuid = UuidBytes.fromValue(resultSet.getObject(1));
+                    long hash = mix(uuid.getMostSignificantBits());
+                    hash = mix(hash ^ uuid.getLeastSignificantBits());
+                    hash = mix(hash ^ resultSet.getString(2).hashCode());
+                    hash = mix(hash ^ Money.toMinor(resultSet.getDouble(3)));
+                    hash = mix(hash ^ Money.toMinor(resultSet.getDouble(4)));
+                    hash = mix(hash ^ resultSet.getLong(5));
+                    sum += hash;
+                    count++;
+                }
+            }
+        }
+
+        return new long[]{count, sum};
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private Connection openSource() throws SQLException {
+        return DriverManager.getConnection("jdbc:sqlite:" + sqliteFile);
+    }
+
+    private long countSource(Connection sqlite) throws SQLException {
+        try (PreparedStatement statement = sqlite.prepareStatement("SELECT COUNT(*) FROM economy_players");
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private boolean isBinarySource(Connection sqlite) throws SQLException {
+        try (PreparedStatement statement = sqlite.prepareStatement("SELECT typeof(uuid) FROM economy_players LIMIT 1");
+             ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() && "blob".equalsIgnoreCase(resultSet.getString(1));
+        }
+    }
+
+    private boolean hasColumn(Connection sqlite, String column) throws SQLException {
+        try (PreparedStatement statement = sqlite.prepareStatement("PRAGMA table_info(economy_players)");
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                if (column.equalsIgnoreCase(resultSet.getString("name"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void createCheckpointTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS economy_migration (" +
+                    "source VARCHAR(64) PRIMARY KEY," +
+                    "last_key VARCHAR(36) NULL," +
+                    "migrated BIGINT NOT NULL DEFAULT 0," +
+                    "completed BOOLEAN NOT NULL DEFAULT FALSE," +
+                    "updated_at BIGINT NOT NULL" +
+                    ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4");
+        }
+    }
+
+    private Checkpoint readCheckpoint(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT last_key, migrated, completed FROM economy_migration WHERE source = ?")) {
+            statement.setString(1, SOURCE);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+
+                String lastKey = resultSet.getString(1);
+                return new Checkpoint(lastKey != null ? UUID.fromString(lastKey) : null,
+                        resultSet.getLong(2), resultSet.getBoolean(3));
+            }
+        }
+    }
+
+    private void writeCheckpoint(Connection connection, UUID lastKey, long migrated, boolean completed, boolean create) throws SQLException {
+        String sql = create
+                ? "INSERT INTO economy_migration (last_key, migrated, completed, updated_at, source) VALUES (?, ?, ?, ?, ?)"
+                : "UPDATE economy_migration SET last_key = ?, migrated = ?, completed = ?, updated_at = ? WHERE source = ?";
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, lastKey != null ? lastKey.toString() : null);
+            statement.setLong(2, migrated);
+            statement.setBoolean(3, completed);
+            statement.setLong(4, System.currentTimeMillis());
+            statement.setString(5, SOURCE);
+            statement.executeUpdate();
+        }
+    }
+
+    private static Long readNullableLong(ResultSet resultSet, int index) throws SQLException {
+        long value = resultSet.getLong(index);
+        if (resultSet.wasNull()) {
+            return null;
+        }
+        return value;
+    }
+
+    private static void setNullableLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.BIGINT);
+        } else {
+            statement.setLong(index, value);
+        }
+    }
+
+    private record Row(UUID uuid, String name, double coins, double bankBalance, Long coinsMinor, Long bankMinor, long lastSeen) {
+    }
+
+    private record Chunk(long sequence, List<Row> rows, UUID lastKey) {
+    }
+
+    private record Checkpoint(UUID lastKey, long migrated, boolean completed) {
+    }
+}
@@ -0,0 +1,283 @@
+package de.syscall.database;
+
+import de.syscall.SlownEconomy;
+import de.syscall.data.LedgerEntry;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLNonTransientException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class TransactionLedger {
+
+    private final SlownEconomy plugin;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final int maxRetries;
+
+    private final LedgerEntry[] buffer;
+    private final int mask;
+    private final ReentrantLock bufferLock;
+    private final ReentrantLock flushLock;
+    private long head;
+    private long tail;
+    private List<LedgerEntry> retryBatch;
+    private int retryAttempts;
+    private long lastFlushNanos;
+    private BukkitTask flushTask;
+
+    private final LongAdder recorded;
+    private final LongAdder written;
+    private final LongAdder dropped;
+    private final LongAdder failedBatches;
+    private final LongAdder discarded;
+    private final LongAdder totalWriteNanos;
+
+    public TransactionLedger(SlownEconomy plugin) {
+        this.plugin = plugin;
+        this.enabled = plugin.getConfig().getBoolean("ledger.enabled", true);
+        this.batchSize = Math.max(1, plugin.getConfig().getInt("ledger.batch-size", 1000));
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, plugin.getConfig().getLong("ledger.flush-interval", 1000)));
+        this.maxRetries = Math.max(1, plugin.getConfig().getInt("ledger.max-retries", 10));
+
+        int capacity = Integer.highestOneBit(Math.max(1024, plugin.getConfig().getInt("ledger.buffer-size", 65536)) - 1) << 1;
+        this.buffer = new LedgerEntry[capacity];
+        this.mask = capacity - 1;
+        this.bufferLock = new ReentrantLock();
+        this.flushLock = new ReentrantLock();
+        this.lastFlushNanos = System.nanoTime();
+
+        this.recorded = new LongAdder();
+        this.written = new LongAdder();
+        this.dropped = new LongAdder();
+        this.failedBatches = new LongAdder();
+        this.discarded = new LongAdder();
+        this.totalWriteNanos = new LongAdder();
+
+        if (enabled) {
+            flushTask = new BukkitRunnable() {
+                @Override
+                public void run() {
+                    tick();
+                }
+            }.runTaskTimerAsynchronously(plugin, 1L, 1L);
+        }
+    }
+
+    public boolean record(LedgerEntry entry) {
+        if (!enabled) {
+            return false;
+        }
+
+        bufferLock.lock();
+        try {
+            if (head - tail == buffer.length) {
+                dropped.increment();
+                return false;
+            }
+
+            buffer[(int) (head & mask)] = entry;
+            head++;
+        } finally {
+            bufferLock.unlock();
+        }
+
+        recorded.increment();
+        return true;
+    }
+
+    private void tick() {
+        if (getPendingCount() >= batchSize || System.nanoTime() - lastFlushNanos >= flushIntervalNanos) {
+            flush(false);
+        }
+    }
+
+    private void flush(boolean wait) {
+        if (wait) {
+            flushLock.lock();
+        } else if (!flushLock.tryLock()) {
+            return;
+        }
+
+        try {
+            lastFlushNanos = System.nanoTime();
+
+            if (retryBatch != null) {
+                List<LedgerEntry> remaining = deliver(retryBatch);
+                if (!remaining.isEmpty()) {
+                    retryBatch = remaining;
+                    return;
+                }
+                retryBatch = null;
+            }
+
+            List<LedgerEntry> batch;
+            while (!(batch = drain(batchSize)).isEmpty()) {
+                List<LedgerEntry> remaining = deliver(batch);
+                if (!remaining.isEmpty()) {
+                    retryBatch = remaining;
+                    return;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private List<LedgerEntry> drain(int max) {
+        bufferLock.lock();
+        try {
+            int count = (int) Math.min(head - tail, max);
+            List<LedgerEntry> batch = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int index = (int) (tail & mask);
+                batch.add(buffer[index]);
+                buffer[index] = null;
+                tail++;
+            }
+            return batch;
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+    private List<LedgerEntry> deliver(List<LedgerEntry> batch) {
+        SQLException error = writeBatch(batch);
+        if (error == null) {
+            retryAttempts = 0;
+            return List.of();
+        }
+
+        if (isPermanent(error)) {
+            retryAttempts = 0;
+            plugin.getLogger().severe("Failed to write " + batch.size() + " ledger entries: " + error.getMessage() +
+                    " (SQLState " + error.getSQLState() + "), isolating the rejected entries");
+            return isolate(batch);
+        }
+
+        if (++retryAttempts < maxRetries) {
+            plugin.getLogger().severe("Failed to write " + batch.size() + " ledger entries (attempt " + retryAttempts +
+                    "/" + maxRetries + "): " + error.getMessage());
+            return batch;
+        }
+
+        retryAttempts = 0;
+        discarded.add(batch.size());
+        plugin.getLogger().severe("Discarding " + batch.size() + " ledger entries after " + maxRetries +
+                " failed attempts: " + error.getMessage());
+        return List.of();
+    }
+
+    private List<LedgerEntry> isolate(List<LedgerEntry> batch) {
+        if (batch.size() == 1) {
+            discarded.increment();
+            plugin.getLogger().severe("Discarding ledger entry " + batch.get(0) + " rejected by the database");
+            return List.of();
+        }
+
+        int middle = batch.size() / 2;
+        List<LedgerEntry> first = batch.subList(0, middle);
+        List<LedgerEntry> second = batch.subList(middle, batch.size());
+
+        List<LedgerEntry> remaining = retryHalf(first);
+        if (!remaining.isEmpty()) {
+            List<LedgerEntry> unwritten = new ArrayList<>(remaining);
+            unwritten.addAll(second);
+            return unwritten;
+        }
+
+        return new ArrayList<>(retryHalf(second));
+    }
+
+    private List<LedgerEntry> retryHalf(List<LedgerEntry> half) {
+        SQLException error = writeBatch(half);
+        if (error == null) {
+            return List.of();
+        }
+
+        return isPermanent(error) ? isolate(half) : half;
+    }
+
+    private SQLException writeBatch(List<LedgerEntry> batch) {
+        long start = System.nanoTime();
+
+        try {
+            plugin.getDatabaseManager().insertTransactions(batch).join();
+            written.add(batch.size());
+            totalWriteNanos.add(System.nanoTime() - start);
+            return null;
+
+        } catch (CompletionException e) {
+            failedBatches.increment();
+            if (e.getCause() instanceof SQLException error) {
+                return error;
+            }
+            return new SQLTransientException(e.getCause() != null ? e.getCause().getMessage() : e.getMessage(), e.getCause());
+        }
+    }
+
+    private static boolean isPermanent(SQLException e) {
+        if (e instanceof SQLNonTransientConnectionException) {
+            return false;
+        }
+
+        if (e instanceof SQLNonTransientException) {
+            return true;
+        }
+
+        String state = e.getSQLState();
+        if (state == null) {
+            int code = e.getErrorCode();
+            return code == 18 || code == 19 || code == 20;
+        }
+
+        return state.startsWith("22") || state.startsWith("23") || state.startsWith("42");
+    }
+
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+        }
+
+        if (!enabled) {
+            return;
+        }
+
+        flush(true);
+
+        long remaining = getPendingCount() + (retryBatch != null ? retryBatch.size() : 0);
+        if (remaining > 0) {
+            plugin.getLogger().severe(remaining + " ledger entries could not be written during shutdown");
+        }
+    }
+
+    public int getPendingCount() {
+        bufferLock.lock();
+        try {
+            return (int) (head - tail);
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+    public String getStatistics() {
+        if (!enabled) {
+            return "disabled";
+        }
+
+        long nanos = totalWriteNanos.sum();
+        double rowsPerSecond = nanos == 0 ? 0.0 : written.sum() / (nanos / 1_000_000_000.0);
+        return String.format("recorded=%d, written=%d, pending=%d/%d, dropped=%d, failed-batches=%d, discarded=%d, %.0f rows/s",
+                recorded.sum(), written.sum(), getPendingCount(), buffer.length, dropped.sum(),
+                failedBatches.sum(), discarded.sum(), rowsPerSecond);
+    }
+}
@@ -0,0 +1,197 @@
+package de.syscall.database;
+
+import de.syscall.SlownEconomy;
+import de.syscall.data.EconomyPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+
+public class WriteBehindFlusher {
+
+    private final SlownEconomy plugin;
+    private final int batchSize;
+    private final long flushDeadlineNanos;
+
+    private final Queue<EconomyPlayer> queue;
+    private final Set<UUID> queued;
+    private final ReentrantLock flushLock;
+    private final AtomicLong oldestPendingNanos;
+    private volatile CompletableFuture<Void> nextFlush;
+
+    private final LongAdder flushedRows;
+    private final LongAdder flushCount;
+    private final LongAdder failedRows;
+    private final LongAdder totalFlushNanos;
+    private volatile long lastFlushNanos;
+    private volatile long maxFlushNanos;
+
+    public WriteBehindFlusher(SlownEconomy plugin) {
+        this.plugin = plugin;
+        this.batchSize = Math.max(1, plugin.getConfig().getInt("cache.batch-size", 500));
+        this.flushDeadlineNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, plugin.getConfig().getLong("cache.flush-deadline", 2000)));
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.queued = ConcurrentHashMap.newKeySet();
+        this.flushLock = new ReentrantLock();
+        this.oldestPendingNanos = new AtomicLong(0L);
+        this.nextFlush = new CompletableFuture<>();
+        this.flushedRows = new LongAdder();
+        this.flushCount = new LongAdder();
+        this.failedRows = new LongAdder();
+        this.totalFlushNanos = new LongAdder();
+    }
+
+    public CompletableFuture<Void> enqueue(EconomyPlayer player) {
+        if (queued.add(player.getUuid())) {
+            queue.add(player);
+            oldestPendingNanos.compareAndSet(0L, System.nanoTime());
+        }
+        return nextFlush;
+    }
+
+    public void tick() {
+        long oldest = oldestPendingNanos.get();
+        if (oldest == 0L) {
+            return;
+        }
+
+        if (queued.size() >= batchSize || System.nanoTime() - oldest >= flushDeadlineNanos) {
+            flush(false);
+        }
+    }
+
+    public void flushAll() {
+        flush(true);
+    }
+
+    private void flush(boolean wait) {
+        if (wait) {
+            flushLock.lock();
+        } else if (!flushLock.tryLock()) {
+            return;
+        }
+
+        CompletableFuture<Void> completed = nextFlush;
+        try {
+            nextFlush = new CompletableFuture<>();
+            oldestPendingNanos.set(0L);
+
+            List<EconomyPlayer> batch = new ArrayList<>(batchSize);
+            EconomyPlayer player;
+            while ((player = queue.poll()) != null) {
+                queued.remove(player.getUuid());
+                if (!player.isModified()) {
+                    continue;
+                }
+
+                batch.add(player);
+
+                if (batch.size() >= batchSize) {
+                    writeBatch(batch);
+                    batch.clear();
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+            }
+        } finally {
+            flushLock.unlock();
+            completed.complete(null);
+        }
+    }
+
+    private void writeBatch(List<EconomyPlayer> batch) {
+        long[] versions = new long[batch.size()];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = batch.get(i).getVersion();
+        }
+
+        long start = System.nanoTime();
+
+        try {
+            List<EconomyPlayer> deferred = plugin.getDatabaseManager().savePlayers(batch).join();
+
+            for (int i = 0; i < versions.length; i++) {
+                EconomyPlayer player = batch.get(i);
+                if (!deferred.contains(player)) {
+                    player.markSaved(versions[i]);
+                    plugin.getInvalidationBus().publish(player);
+                }
+            }
+
+            for (EconomyPlayer player : deferred) {
+                player.requeueDirty();
+            }
+            failedRows.add(deferred.size());
+
+            long elapsed = System.nanoTime() - start;
+            flushedRows.add(batch.size() - deferred.size());
+            flushCount.increment();
+            totalFlushNanos.add(elapsed);
+            lastFlushNanos = elapsed;
+            if (elapsed > maxFlushNanos) {
+                maxFlushNanos = elapsed;
+            }
+
+        } catch (CompletionException e) {
+            for (EconomyPlayer player : batch) {
+                player.requeueDirty();
+            }
+            failedRows.add(batch.size());
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            plugin.getLogger().log(Level.SEVERE, "Failed to flush batch of " + batch.size() + " players: " + cause.getMessage(), cause);
+        }
+    }
+
+    public int getPendingCount() {
+        return queued.size();
+    }
+
+    public long getFlushedRows() {
+        return flushedRows.sum();
+    }
+
+    public long getFailedRows() {
+        return failedRows.sum();
+    }
+
+    public long getFlushCount() {
+        return flushCount.sum();
+    }
+
+    public double getRowsPerSecond() {
+        long nanos = totalFlushNanos.sum();
+        return nanos == 0 ? 0.0 : flushedRows.sum() / (nanos / 1_000_000_000.0);
+    }
+
+    public double getAverageFlushMillis() {
+        long count = flushCount.sum();
+        return count == 0 ? 0.0 : totalFlushNanos.sum() / (count * 1_000_000.0);
+    }
+
+    public double getLastFlushMillis() {
+        return lastFlushNanos / 1_000_000.0;
+    }
+
+    public double getMaxFlushMillis() {
+        return maxFlushNanos / 1_000_000.0;
+    }
+
+    public String getStatistics() {
+        return String.format("rows=%d, batches=%d, failed=%d, pending=%d, %.0f rows/s, avg=%.2fms, last=%.2fms, max=%.2fms",
+                getFlushedRows(), getFlushCount(), getFailedRows(), getPendingCount(),
+                getRowsPerSecond(), getAverageFlushMillis(), getLastFlushMillis(), getMaxFlushMillis());
+    }
+}
@@ -3,6 +3,7 @@ package de.syscall.gui;
 import de.syscall.SlownEconomy;
 import de.syscall.data.EconomyPlayer;
 import de.syscall.util.ColorUtil;
+import de.syscall.util.Money;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.ClickType;
@@ -112,7 +113,7 @@ public class BankGUI {
                     .setDisplayName("§2Bankguthaben")
                     .setLegacyLore(List.of(
                             "§7Aktueller Betrag:",
-                            "§6" + String.format("%.2f", bankBalance) + " Coins",
+                            "§6" + Money.format(bankBalance) + " Coins",
                             "",
                             "§7Dein Geld ist hier",
                             "§7sicher verwahrt"
@@ -134,7 +135,7 @@ public class BankGUI {
                     .setDisplayName("§6Verfügbare Coins")
                     .setLegacyLore(List.of(
                             "§7Aktueller Betrag:",
-                            "§6" + String.format("%.2f", coins) + " Coins",
+                            "§6" + Money.format(coins) + " Coins",
                             "",
                             "§7Diese Coins kannst du",
                             "§7einzahlen oder ausgeben"
@@ -158,7 +159,7 @@ public class BankGUI {
                             "§7Zahle alle deine Coins",
                             "§7auf die Bank ein",
                             "",
-                            "§7Betrag: §6" + String.format("%.2f", coins) + " Coins",
+                            "§7Betrag: §6" + Money.format(coins) + " Coins",
                             "",
                             coins > 0 ? "§eKlicken zum Einzahlen" : "§cKeine Coins verfügbar"
                     ));
@@ -176,7 +177,7 @@ public class BankGUI {
             plugin.getEconomyManager().depositToBank(player.getUniqueId(), amount).thenAccept(success -> {
                 plugin.getServer().getScheduler().runTask(plugin, () -> {
                     if (success) {
-                        player.sendMessage(ColorUtil.component("§6" + String.format("%.2f", amount) +
+                        player.sendMessage(ColorUtil.component("§6" + Money.format(amount) +
                                 " Coins §7wurden eingezahlt!"));
                         updateGUI();
                     } else {
@@ -200,7 +201,7 @@ public class BankGUI {
                             "§7Zahle 100 Coins",
                             "§7auf die Bank ein",
                             "",
-                            "§7Verfügbar: §6" + String.format("%.2f", coins) + " Coins",
+                            "§7Verfügbar: §6" + Money.format(coins) + " Coins",
                             "",
                             canDeposit ? "§eKlicken zum Einzahlen" : "§cNicht genug Coins"
                     ));
@@ -234,7 +235,7 @@ public class BankGUI {
                             "§7Zahle 1000 Coins",
                             "§7auf die Bank ein",
                             "",
-                            "§7Verfügbar: §6" + String.format("%.2f", coins) + " Coins",
+                            "§7Verfügbar: §6" + Money.format(coins) + " Coins",
                             "",
                             canDeposit ? "§eKlicken zum Einzahlen" : "§cNicht genug Coins"
                     ));
@@ -267,7 +268,7 @@ public class BankGUI {
                             "§7Hebe dein gesamtes",
                             "§7Bankguthaben ab",
                             "",
-                            "§7Betrag: §6" + String.format("%.2f", bankBalance) + " Coins",
+                            "§7Betrag: §6" + Money.format(bankBalance) + " Coins",
                             "",
                             bankBalance > 0 ? "§eKlicken zum Abheben" : "§cKein Bankguthaben"
                     ));
@@ -285,7 +286,7 @@ public class BankGUI {
             plugin.getEconomyManager().withdrawFromBank(player.getUniqueId(), amount).thenAccept(success -> {
                 plugin.getServer().getScheduler().runTask(plugin, () -> {
                     if (success) {
-                        player.sendMessage(ColorUtil.component("§6" + String.format("%.2f", amount) +
+                        player.sendMessage(ColorUtil.component("§6" + Money.format(amount) +
                                 " Coins §7wurden abgehoben!"));
                         updateGUI();
                     } else {
@@ -309,7 +310,7 @@ public class BankGUI {
                             "§7Hebe 100 Coins",
                             "§7von der Bank ab",
                             "",
-                            "§7Bankguthaben: §6" + String.format("%.2f", bankBalance) + " Coins",
+                            "§7Bankguthaben: §6" + Money.format(bankBalance) + " Coins",
                             "",
                             canWithdraw ? "§eKlicken zum Abheben" : "§cNicht genug Bankguthaben"
                     ));
@@ -343,7 +344,7 @@ public class BankGUI {
                             "§7Hebe 1000 Coins",
                             "§7von der Bank ab",
                             "",
-                            "§7Bankguthaben: §6" + String.format("%.2f", bankBalance) + " Coins",
+                            "§7Bankguthaben: §6" + Money.format(bankBalance) + " Coins",
                             "",
                             canWithdraw ? "§eKlicken zum Abheben" : "§cNicht genug Bankguthaben"
                     ));
@@ -3,6 +3,7 @@ package de.syscall.gui;
 import de.syscall.SlownEconomy;
 import de.syscall.data.EconomyPlayer;
 import de.syscall.util.ColorUtil;
+import de.syscall.util.Money;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.ClickType;
@@ -94,7 +95,7 @@ public class CoinsGUI {
                     .setDisplayName("§6Deine Coins")
                     .setLegacyLore(List.of(
                             "§7Aktueller Betrag:",
-                            "§6" + String.format("%.2f", coins) + " Coins",
+                            "§6" + Money.format(coins) + " Coins",
                             "",
                             "§7Coins kannst du für",
                             "§7Käufe und Transfers",
@@ -110,7 +111,7 @@ public class CoinsGUI {
             double coins = economyPlayer != null ? economyPlayer.getCoins() : 0.0;
 
             player.sendMessage(ColorUtil.component("§6═══ Coins Information ═══"));
-            player.sendMessage(ColorUtil.component("§7Aktuelle Coins: §6" + String.format("%.2f", coins)));
+            player.sendMessage(ColorUtil.component("§7Aktuelle Coins: §6" + Money.format(coins)));
             player.sendMessage(ColorUtil.component("§7Verwende §6/coins <spieler> §7um andere Coins anzuzeigen"));
         }
     }
@@ -125,7 +126,7 @@ public class CoinsGUI {
                     .setDisplayName("§2Bankguthaben")
                     .setLegacyLore(List.of(
                             "§7Aktueller Betrag:",
-                            "§6" + String.format("%.2f", bankBalance) + " Coins",
+                            "§6" + Money.format(bankBalance) + " Coins",
                             "",
                             "§7Deine Coins sind in der",
                             "§7Bank sicher verwahrt",
@@ -150,7 +151,7 @@ public class CoinsGUI {
                     .setDisplayName("§bGesamtvermögen")
                     .setLegacyLore(List.of(
                             "§7Coins + Bankguthaben:",
-                            "§6" + String.format("%.2f", totalWealth) + " Coins",
+                            "§6" + Money.format(totalWealth) + " Coins",
                             "",
                             "§7Dein komplettes",
                             "§7Vermögen im System"
@@ -176,8 +177,8 @@ public class CoinsGUI {
             lore.add("");
 
             if (transferEnabled) {
-                lore.add("§7Minimum: §6" + String.format("%.2f", minAmount));
-                lore.add("§7Maximum: §6" + String.format("%.2f", maxAmount));
+                lore.add("§7Minimum: §6" + Money.format(minAmount));
+                lore.add("§7Maximum: §6" + Money.format(maxAmount));
                 if (feePercentage > 0) {
                     lore.add("§7Gebühr: §6" + String.format("%.1f", feePercentage) + "%");
                 }
@@ -208,9 +209,9 @@ public class CoinsGUI {
             player.sendMessage(ColorUtil.component("§7Verwende §6/transfer <spieler> <betrag> §7um Coins zu senden"));
             player.sendMessage(ColorUtil.component("§7Beispiel: §6/transfer Steve 100"));
             player.sendMessage(ColorUtil.component("§7Minimum: §6" +
-                    String.format("%.2f", plugin.getEconomyValidator().getMinTransferAmount())));
+                    Money.format(plugin.getEconomyValidator().getMinTransferAmount())));
             player.sendMessage(ColorUtil.component("§7Maximum: §6" +
-                    String.format("%.2f", plugin.getEconomyValidator().getMaxTransferAmount())));
+                    Money.format(plugin.getEconomyValidator().getMaxTransferAmount())));
 
             double feePercentage = plugin.getEconomyValidator().getTransferFeePercentage();
             if (feePercentage > 0) {
@@ -3,10 +3,15 @@ package de.syscall.listener;
 import de.syscall.SlownEconomy;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
+import java.util.UUID;
+
 public class PlayerJoinListener implements Listener {
 
     private final SlownEconomy plugin;
@@ -15,28 +20,58 @@ public class PlayerJoinListener implements Listener {
         this.plugin = plugin;
     }
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+
+        plugin.getCacheManager().cancelPlayerRemoval(event.getUniqueId());
+        plugin.getCacheManager().pinPlayer(event.getUniqueId());
+        plugin.getCacheManager().preloadPlayer(event.getUniqueId(), event.getName());
+
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            releasePlayer(event.getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLogin(PlayerLoginEvent event) {
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            releasePlayer(event.getPlayer().getUniqueId());
+        }
+    }
+
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
 
         plugin.getCacheManager().cancelPlayerRemoval(player.getUniqueId());
+        plugin.getCacheManager().pinPlayer(player.getUniqueId());
 
         plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
             plugin.getCacheManager().loadPlayer(player.getUniqueId(), player.getName());
         });
     }
 
+    private void releasePlayer(UUID uuid) {
+        if (plugin.getServer().getPlayer(uuid) != null) {
+            return;
+        }
+
+        plugin.getCacheManager().unpinPlayer(uuid);
+        plugin.getCacheManager().schedulePlayerRemoval(uuid);
+    }
+
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
-        Player player = event.getPlayer();
+        UUID uuid = event.getPlayer().getUniqueId();
 
         plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            plugin.getCacheManager().savePlayer(player.getUniqueId()).thenRun(() -> {
-                plugin.getCacheManager().schedulePlayerRemoval(player.getUniqueId());
-
-                plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-                    plugin.getCacheManager().removePlayer(player.getUniqueId());
-                }, 1200L);
+            plugin.getCacheManager().savePlayer(uuid).thenRun(() -> {
+                if (plugin.isEnabled()) {
+                    plugin.getServer().getScheduler().runTask(plugin, () -> releasePlayer(uuid));
+                }
             });
         });
     }
@@ -1,189 +1,777 @@
 package de.syscall.manager;
 
 import de.syscall.SlownEconomy;
+import de.syscall.data.BalanceNotice;
+import de.syscall.data.BalanceState;
 import de.syscall.data.EconomyPlayer;
+import de.syscall.database.BalanceJournal;
+import de.syscall.database.WriteBehindFlusher;
+import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 public class CacheManager {
 
+    private static final int NAME_COMPLETIONS = 50;
+
     private final SlownEconomy plugin;
     private final Map<UUID, EconomyPlayer> playerCache;
     private final Map<String, UUID> nameToUuidCache;
-    private final Set<UUID> pendingRemovals;
+    private final Map<UUID, CompletableFuture<EconomyPlayer>> inFlightLoads;
+    private final Map<UUID, CompletableFuture<Void>> pendingDeltas;
+    private final ExpiryWheel expiryWheel;
+    private final Queue<EconomyPlayer> dirtyPlayers;
+    private final Consumer<EconomyPlayer> dirtyListener;
+    private final Consumer<EconomyPlayer> changeListener;
+    private final Consumer<EconomyPlayer> evictedListener;
+    private final WriteBehindFlusher flusher;
+    private final TinyLfuPolicy evictionPolicy;
+    private final int maxEntries;
+    private final OfflineSnapshotStore offlineTier;
+    private final NameIndex nameIndex;
+    private final NegativeLookupCache negativeLookups;
+    private final boolean trustNameIndex;
+    private final Map<String, CompletableFuture<EconomyPlayer>> inFlightNames;
+    private final CacheWarmer warmer;
     private BukkitTask saveTask;
-    private BukkitTask cleanupTask;
+    private BukkitTask expiryTask;
+    private BukkitTask flushTask;
+
+    private final LongAdder loadHits = new LongAdder();
+    private final LongAdder loadMisses = new LongAdder();
+    private final LongAdder loadCoalesced = new LongAdder();
+    private final LongAdder preloadCount = new LongAdder();
+    private final LongAdder preloadTimeouts = new LongAdder();
+    private final LongAdder preloadWaitNanos = new LongAdder();
+    private volatile long maxPreloadWaitNanos;
+    private final LongAdder lookupHits = new LongAdder();
+    private final LongAdder lookupMisses = new LongAdder();
+    private final LongAdder readmitted = new LongAdder();
+    private final LongAdder merged = new LongAdder();
 
     public CacheManager(SlownEconomy plugin) {
         this.plugin = plugin;
         this.playerCache = new ConcurrentHashMap<>();
         this.nameToUuidCache = new ConcurrentHashMap<>();
-        this.pendingRemovals = ConcurrentHashMap.newKeySet();
+        this.inFlightLoads = new ConcurrentHashMap<>();
+        this.pendingDeltas = new ConcurrentHashMap<>();
+        this.expiryWheel = new ExpiryWheel(1000L);
+        this.dirtyPlayers = new ConcurrentLinkedQueue<>();
+        this.dirtyListener = dirtyPlayers::add;
+        BalanceJournal journal = plugin.getDatabaseManager().getJournal();
+        LeaderboardManager leaderboards = plugin.getLeaderboardManager();
+        this.changeListener = player -> {
+            journal.append(player);
+            leaderboards.update(player);
+        };
+        this.evictedListener = this::readmit;
+        this.flusher = new WriteBehindFlusher(plugin);
+        this.maxEntries = plugin.getConfig().getInt("cache.max-entries", 10000);
+        this.evictionPolicy = maxEntries > 0 ? new TinyLfuPolicy(maxEntries) : null;
+        this.offlineTier = createOfflineTier();
+        this.nameIndex = new NameIndex();
+        this.negativeLookups = createNegativeLookups();
+        this.trustNameIndex = plugin.getConfig().getBoolean("cache.negative.trust-name-index", false);
+        this.inFlightNames = new ConcurrentHashMap<>();
+        this.warmer = new CacheWarmer(plugin, this);
         startTasks();
     }
 
+    private OfflineSnapshotStore createOfflineTier() {
+        if (!plugin.getConfig().getBoolean("cache.offline-tier.enabled", false)) {
+            return null;
+        }
+
+        int capacity = plugin.getConfig().getInt("cache.offline-tier.capacity", 2000000);
+        String storage = plugin.getConfig().getString("cache.offline-tier.storage", "direct");
+
+        try {
+            OfflineSnapshotStore store;
+            if ("mapped".equalsIgnoreCase(storage)) {
+                plugin.getDataFolder().mkdirs();
+                store = OfflineSnapshotStore.map(new File(plugin.getDataFolder(), "offline-tier.dat"), capacity);
+            } else {
+                store = OfflineSnapshotStore.allocate(capacity);
+            }
+
+            plugin.getLogger().info("Offline snapshot tier enabled (" + store.getStatistics() + ")");
+            return store;
+        } catch (IOException | IllegalArgumentException | OutOfMemoryError e) {
+            plugin.getLogger().severe("Failed to allocate offline snapshot tier: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private NegativeLookupCache createNegativeLookups() {
+        if (!plugin.getConfig().getBoolean("cache.negative.enabled", true)) {
+            return null;
+        }
+
+        Pattern validName = null;
+        String pattern = plugin.getConfig().getString("cache.negative.name-pattern", "[A-Za-z0-9_.]{1,16}");
+        if (pattern != null && !pattern.isEmpty()) {
+            try {
+                validName = Pattern.compile(pattern);
+            } catch (PatternSyntaxException e) {
+                plugin.getLogger().warning("Invalid cache.negative.name-pattern, name syntax is not checked: " + e.getMessage());
+            }
+        }
+
+        return new NegativeLookupCache(plugin.getConfig().getInt("cache.negative.max-entries", 10000),
+                plugin.getConfig().getLong("cache.negative.ttl", 60) * 1000L, validName);
+    }
+
+    public void loadNameIndex() {
+        long start = System.nanoTime();
+        NameIndex.Builder builder = nameIndex.builder();
+
+        plugin.getDatabaseManager().forEachName(builder::add).whenComplete((count, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Failed to load name index: " + error.getMessage());
+                return;
+            }
+
+            builder.publish();
+            plugin.getLogger().info("Indexed " + nameIndex.size() + " player names in " +
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+        });
+    }
+
+    public void warmUp() {
+        warmer.start();
+    }
+
+    boolean warmPlayer(EconomyPlayer player) {
+        UUID uuid = player.getUuid();
+        if (playerCache.containsKey(uuid) || inFlightLoads.containsKey(uuid) || pendingDeltas.containsKey(uuid)) {
+            return false;
+        }
+
+        EconomyPlayer canonical = cachePlayer(player);
+        if (canonical != player) {
+            return false;
+        }
+
+        nameToUuidCache.put(player.getName().toLowerCase(), uuid);
+        return true;
+    }
+
+    boolean hasWarmCapacity() {
+        return evictionPolicy == null || playerCache.size() < maxEntries;
+    }
+
+    boolean hasOfflineTier() {
+        return offlineTier != null;
+    }
+
     private void startTasks() {
         long saveInterval = plugin.getConfig().getLong("cache.save-interval", 300) * 20L;
-        long cleanupInterval = plugin.getConfig().getLong("cache.cleanup-interval", 600) * 20L;
 
         saveTask = new BukkitRunnable() {
             @Override
             public void run() {
-                saveModifiedPlayers();
+                checkpoint();
             }
         }.runTaskTimerAsynchronously(plugin, saveInterval, saveInterval);
 
-        cleanupTask = new BukkitRunnable() {
+        expiryTask = new BukkitRunnable() {
             @Override
             public void run() {
-                cleanupCache();
+                processExpirations();
             }
-        }.runTaskTimerAsynchronously(plugin, cleanupInterval, cleanupInterval);
+        }.runTaskTimerAsynchronously(plugin, 20L, 20L);
+
+        flushTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                flusher.tick();
+            }
+        }.runTaskTimerAsynchronously(plugin, 1L, 1L);
     }
 
     public CompletableFuture<EconomyPlayer> loadPlayer(UUID uuid, String name) {
-        pendingRemovals.remove(uuid);
-
         EconomyPlayer cached = playerCache.get(uuid);
         if (cached != null) {
+            loadHits.increment();
+            recordAccess(uuid);
             cached.updateLastSeen();
             nameToUuidCache.put(name.toLowerCase(), uuid);
             return CompletableFuture.completedFuture(cached);
         }
 
-        return plugin.getDatabaseManager().loadPlayer(uuid, name).thenApply(player -> {
-            player.updateLastSeen();
-            playerCache.put(uuid, player);
-            nameToUuidCache.put(name.toLowerCase(), uuid);
-            return player;
+        CompletableFuture<EconomyPlayer> load = new CompletableFuture<>();
+        CompletableFuture<EconomyPlayer> inFlight = inFlightLoads.putIfAbsent(uuid, load);
+        if (inFlight != null) {
+            loadCoalesced.increment();
+            return inFlight;
+        }
+
+        cached = playerCache.get(uuid);
+        if (cached != null) {
+            inFlightLoads.remove(uuid, load);
+            loadHits.increment();
+            load.complete(cached);
+            return load;
+        }
+
+        loadMisses.increment();
+        long start = System.nanoTime();
+        CompletableFuture<Void> pending = pendingDeltas.get(uuid);
+        CompletableFuture<Void> ready = pending != null ? pending : CompletableFuture.completedFuture(null);
+
+        ready.thenCompose(ignored -> loadFromTier(uuid, name)).whenComplete((player, error) -> {
+            if (error != null) {
+                inFlightLoads.remove(uuid, load);
+                load.completeExceptionally(error);
+                return;
+            }
+
+            EconomyPlayer canonical = admitLoaded(uuid, name, player, start);
+            inFlightLoads.remove(uuid, load);
+            load.complete(canonical);
         });
+
+        return load;
+    }
+
+    public EconomyPlayer loadPlayerBlocking(UUID uuid, String name) {
+        EconomyPlayer cached = playerCache.get(uuid);
+        if (cached != null) {
+            loadHits.increment();
+            recordAccess(uuid);
+            cached.updateLastSeen();
+            nameToUuidCache.put(name.toLowerCase(), uuid);
+            return cached;
+        }
+
+        CompletableFuture<EconomyPlayer> load = new CompletableFuture<>();
+        CompletableFuture<EconomyPlayer> inFlight = inFlightLoads.putIfAbsent(uuid, load);
+        if (inFlight != null) {
+            loadCoalesced.increment();
+            return inFlight.join();
+        }
+
+        try {
+            cached = playerCache.get(uuid);
+            if (cached != null) {
+                loadHits.increment();
+                load.complete(cached);
+                return cached;
+            }
+
+            loadMisses.increment();
+            long start = System.nanoTime();
+            CompletableFuture<Void> pending = pendingDeltas.get(uuid);
+            if (pending != null) {
+                pending.join();
+            }
+
+            OfflineSnapshotStore.Snapshot snapshot = offlineTier != null ? offlineTier.promote(uuid) : null;
+            EconomyPlayer player = snapshot != null ? snapshot.toPlayer()
+                    : plugin.getDatabaseManager().loadPlayerBlocking(uuid, name);
+
+            EconomyPlayer canonical = admitLoaded(uuid, name, player, start);
+            load.complete(canonical);
+            return canonical;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(uuid, load);
+        }
+    }
+
+    private EconomyPlayer admitLoaded(UUID uuid, String name, EconomyPlayer player, long start) {
+        EconomyPlayer canonical = cachePlayer(player);
+        canonical.updateLastSeen();
+        nameToUuidCache.put(name.toLowerCase(), uuid);
+        warmer.recordColdLoad(System.nanoTime() - start);
+        return canonical;
+    }
+
+    private CompletableFuture<EconomyPlayer> loadFromTier(UUID uuid, String name) {
+        OfflineSnapshotStore.Snapshot snapshot = offlineTier != null ? offlineTier.promote(uuid) : null;
+        if (snapshot != null) {
+            return CompletableFuture.completedFuture(snapshot.toPlayer());
+        }
+        return plugin.getDatabaseManager().loadPlayer(uuid, name);
+    }
+
+    public boolean preloadPlayer(UUID uuid, String name) {
+        indexName(uuid, name);
+        if (offlineTier != null) {
+            offlineTier.remove(uuid);
+        }
+
+        long timeout = plugin.getConfig().getLong("cache.preload-timeout", 3000);
+        long start = System.nanoTime();
+        boolean loaded = false;
+
+        try {
+            loadPlayer(uuid, name).get(timeout, TimeUnit.MILLISECONDS);
+            loaded = true;
+        } catch (TimeoutException e) {
+            preloadTimeouts.increment();
+            plugin.getLogger().warning("Preloading economy data for " + name + " timed out after " + timeout + "ms");
+        } catch (ExecutionException e) {
+            plugin.getLogger().severe("Failed to preload economy data for " + name + ": " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        preloadCount.increment();
+        preloadWaitNanos.add(elapsed);
+        if (elapsed > maxPreloadWaitNanos) {
+            maxPreloadWaitNanos = elapsed;
+        }
+
+        return loaded;
     }
 
     public EconomyPlayer getPlayer(UUID uuid) {
+        EconomyPlayer player = playerCache.get(uuid);
+        if (player != null) {
+            lookupHits.increment();
+            recordAccess(uuid);
+        } else {
+            lookupMisses.increment();
+        }
+        return player;
+    }
+
+    public EconomyPlayer peekPlayer(UUID uuid) {
         return playerCache.get(uuid);
     }
 
+    public OfflineSnapshotStore.Snapshot getOfflineSnapshot(UUID uuid) {
+        if (offlineTier == null || playerCache.containsKey(uuid)) {
+            return null;
+        }
+        return offlineTier.get(uuid);
+    }
+
+    public void storeSnapshot(EconomyPlayer player) {
+        if (offlineTier != null && player.isStored() && !playerCache.containsKey(player.getUuid())) {
+            offlineTier.put(player);
+        }
+    }
+
+    public void storeSnapshot(BalanceNotice notice) {
+        if (offlineTier != null && !playerCache.containsKey(notice.uuid())) {
+            offlineTier.put(notice.uuid(), notice.name(), notice.balance(), notice.version(), 0L);
+        }
+    }
+
+    public boolean invalidatePlayer(UUID uuid) {
+        EconomyPlayer player = playerCache.get(uuid);
+        if (player == null || player.isModified() || plugin.getServer().getPlayer(uuid) != null) {
+            return false;
+        }
+
+        expiryWheel.cancel(uuid);
+        evictPlayer(uuid);
+        return !playerCache.containsKey(uuid);
+    }
+
     public CompletableFuture<EconomyPlayer> getPlayerByName(String name) {
         UUID uuid = nameToUuidCache.get(name.toLowerCase());
         if (uuid != null) {
             EconomyPlayer player = playerCache.get(uuid);
             if (player != null) {
+                lookupHits.increment();
+                recordAccess(uuid);
                 return CompletableFuture.completedFuture(player);
             }
+
+            CompletableFuture<EconomyPlayer> inFlight = inFlightLoads.get(uuid);
+            if (inFlight != null) {
+                loadCoalesced.increment();
+                return inFlight;
+            }
         }
 
-        return plugin.getDatabaseManager().findPlayerByName(name).thenApply(player -> {
-            if (player != null) {
-                playerCache.put(player.getUuid(), player);
-                nameToUuidCache.put(name.toLowerCase(), player.getUuid());
+        lookupMisses.increment();
+        UUID indexed = nameIndex.resolve(name);
+        if (indexed != null) {
+            String indexedName = nameIndex.getName(name);
+            return loadPlayer(indexed, indexedName != null ? indexedName : name);
+        }
+
+        if (negativeLookups != null) {
+            if (negativeLookups.isKnownMissing(name)) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            if (trustNameIndex && nameIndex.isLoaded()) {
+                negativeLookups.recordIndexRejection(name);
+                return CompletableFuture.completedFuture(null);
+            }
+        }
+
+        String key = name.toLowerCase();
+        CompletableFuture<EconomyPlayer> lookup = new CompletableFuture<>();
+        CompletableFuture<EconomyPlayer> inFlight = inFlightNames.putIfAbsent(key, lookup);
+        if (inFlight != null) {
+            loadCoalesced.increment();
+            return inFlight;
+        }
+
+        plugin.getDatabaseManager().findPlayerByName(name).thenCompose(player -> {
+            if (player == null) {
+                if (negativeLookups != null) {
+                    negativeLookups.record(name);
+                }
+                return CompletableFuture.completedFuture(null);
+            }
+
+            indexName(player.getUuid(), player.getName());
+
+            if (plugin.getConfig().getBoolean("economy.offline-delta", true)) {
+                return loadPlayer(player.getUuid(), player.getName());
+            }
+
+            EconomyPlayer canonical = cachePlayer(player);
+            nameToUuidCache.put(key, canonical.getUuid());
+            return CompletableFuture.completedFuture(canonical);
+        }).whenComplete((player, error) -> {
+            inFlightNames.remove(key, lookup);
+            if (error != null) {
+                lookup.completeExceptionally(error);
+            } else {
+                lookup.complete(player);
             }
-            return player;
         });
+
+        return lookup;
+    }
+
+    public void indexName(UUID uuid, String name) {
+        nameIndex.put(uuid, name);
+        if (negativeLookups != null) {
+            negativeLookups.invalidate(name);
+        }
+    }
+
+    public List<String> completeNames(String prefix) {
+        if (prefix.isEmpty() || !nameIndex.isLoaded()) {
+            List<String> names = new ArrayList<>();
+            for (Player player : plugin.getServer().getOnlinePlayers()) {
+                if (names.size() < NAME_COMPLETIONS && player.getName().toLowerCase().startsWith(prefix.toLowerCase())) {
+                    names.add(player.getName());
+                }
+            }
+            return names;
+        }
+
+        return nameIndex.complete(prefix, NAME_COMPLETIONS);
+    }
+
+    public NameIndex getNameIndex() {
+        return nameIndex;
+    }
+
+    public <T> CompletableFuture<T> applyOffline(UUID uuid, Supplier<CompletableFuture<T>> operation) {
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        CompletableFuture<Void> combined = pendingDeltas.compute(uuid,
+                (key, previous) -> previous == null ? gate : CompletableFuture.allOf(previous, gate));
+        combined.whenComplete((ignored, error) -> pendingDeltas.remove(uuid, combined));
+
+        if (playerCache.containsKey(uuid) || inFlightLoads.containsKey(uuid) || plugin.getServer().getPlayer(uuid) != null) {
+            gate.complete(null);
+            return null;
+        }
+
+        CompletableFuture<T> result;
+        try {
+            result = operation.get();
+        } catch (RuntimeException e) {
+            gate.complete(null);
+            throw e;
+        }
+
+        result.whenComplete((value, error) -> gate.complete(null));
+        return result;
     }
 
     public void updatePlayer(EconomyPlayer player) {
-        player.setModified(true);
-        player.updateLastSeen();
-        playerCache.put(player.getUuid(), player);
+        EconomyPlayer canonical = cachePlayer(player);
+        canonical.updateLastSeen();
         nameToUuidCache.put(player.getName().toLowerCase(), player.getUuid());
     }
 
+    private EconomyPlayer cachePlayer(EconomyPlayer player) {
+        EconomyPlayer existing = playerCache.putIfAbsent(player.getUuid(), player);
+        if (existing == null) {
+            expiryWheel.scheduleIfAbsent(player.getUuid(), getMaxAgeMillis(), ExpiryWheel.Expiry.MAX_AGE);
+            plugin.getLeaderboardManager().update(player);
+        }
+
+        EconomyPlayer canonical = existing != null ? existing : player;
+        canonical.setDirtyListener(dirtyListener);
+        canonical.setChangeListener(changeListener);
+
+        if (existing == null && evictionPolicy != null) {
+            evictAll(evictionPolicy.recordInsert(player.getUuid()));
+        }
+        return canonical;
+    }
+
+    private void recordAccess(UUID uuid) {
+        warmer.recordHit(uuid);
+        if (evictionPolicy != null) {
+            evictionPolicy.recordAccess(uuid);
+        }
+    }
+
+    private void evictAll(List<UUID> victims) {
+        for (UUID victim : victims) {
+            expiryWheel.cancel(victim);
+            evictPlayer(victim);
+        }
+    }
+
+    public void pinPlayer(UUID uuid) {
+        if (evictionPolicy != null) {
+            evictionPolicy.pin(uuid);
+        }
+    }
+
+    public void unpinPlayer(UUID uuid) {
+        if (evictionPolicy == null) {
+            return;
+        }
+
+        if (playerCache.containsKey(uuid)) {
+            evictAll(evictionPolicy.unpin(uuid));
+        } else {
+            evictionPolicy.unpin(uuid);
+            evictionPolicy.remove(uuid);
+        }
+    }
+
     public CompletableFuture<Void> savePlayer(UUID uuid) {
         EconomyPlayer player = playerCache.get(uuid);
         if (player != null && player.isModified()) {
-            return plugin.getDatabaseManager().savePlayer(player).thenRun(() -> {
-                player.setModified(false);
-            });
+            return flusher.enqueue(player);
         }
         return CompletableFuture.completedFuture(null);
     }
 
     public void schedulePlayerRemoval(UUID uuid) {
-        pendingRemovals.add(uuid);
+        long gracePeriod = plugin.getConfig().getLong("cache.quit-grace", 60) * 1000L;
+        expiryWheel.schedule(uuid, gracePeriod, ExpiryWheel.Expiry.REMOVAL);
     }
 
     public void cancelPlayerRemoval(UUID uuid) {
-        pendingRemovals.remove(uuid);
+        expiryWheel.cancel(uuid);
     }
 
-    public void removePlayer(UUID uuid) {
-        if (!pendingRemovals.contains(uuid)) {
+    private void evictPlayer(UUID uuid) {
+        EconomyPlayer player = playerCache.get(uuid);
+        if (player == null) {
             return;
         }
 
-        EconomyPlayer player = playerCache.remove(uuid);
-        if (player != null) {
-            nameToUuidCache.remove(player.getName().toLowerCase());
-            pendingRemovals.remove(uuid);
+        if (player.isModified()) {
+            flusher.enqueue(player).thenRun(() -> {
+                if (evictionPolicy == null || !evictionPolicy.isPinned(uuid)) {
+                    evictPlayer(uuid);
+                }
+            });
+            return;
+        }
 
-            if (player.isModified()) {
-                plugin.getDatabaseManager().savePlayer(player);
+        if (playerCache.remove(uuid, player)) {
+            if (evictionPolicy != null) {
+                evictionPolicy.remove(uuid);
+            }
+            player.setChangeListener(null);
+            player.setDirtyListener(evictedListener);
+            nameToUuidCache.remove(player.getName().toLowerCase(), uuid);
+            warmer.forget(uuid);
+            storeSnapshot(player);
+        }
+    }
+
+    private void readmit(EconomyPlayer player) {
+        EconomyPlayer canonical = cachePlayer(player);
+        if (canonical == player) {
+            if (offlineTier != null) {
+                offlineTier.remove(player.getUuid());
+            }
+            readmitted.increment();
+            dirtyPlayers.add(player);
+            return;
+        }
+
+        synchronized (player) {
+            player.clearDirtyQueued();
+
+            BalanceState current = player.getBalance();
+            BalanceState base = player.getPersisted();
+            long coins = current.coins() - base.coins();
+            long bankBalance = current.bankBalance() - base.bankBalance();
+
+            player.markPersisted(player.getRowVersion(), current);
+            player.markSaved(player.getVersion());
+
+            if (coins != 0 || bankBalance != 0) {
+                canonical.update(state -> new BalanceState(state.coins() + coins, state.bankBalance() + bankBalance));
+                merged.increment();
             }
         }
     }
 
     public void saveModifiedPlayers() {
-        playerCache.values().parallelStream()
-                .filter(EconomyPlayer::isModified)
-                .forEach(player -> {
-                    plugin.getDatabaseManager().savePlayer(player).thenRun(() -> {
-                        player.setModified(false);
-                    });
-                });
+        EconomyPlayer player;
+        while ((player = dirtyPlayers.poll()) != null) {
+            player.clearDirtyQueued();
+            if (player.isModified()) {
+                flusher.enqueue(player);
+            }
+        }
     }
 
     public void saveAll() {
+        warmer.abort("shutdown");
+
         if (saveTask != null) {
             saveTask.cancel();
         }
 
-        if (cleanupTask != null) {
-            cleanupTask.cancel();
+        if (expiryTask != null) {
+            expiryTask.cancel();
         }
 
-        for (EconomyPlayer player : playerCache.values()) {
-            if (player.isModified()) {
-                plugin.getDatabaseManager().savePlayer(player).join();
-                player.setModified(false);
-            }
+        if (flushTask != null) {
+            flushTask.cancel();
         }
 
-        plugin.getLogger().info("All cached data saved");
+        checkpoint();
+
+        plugin.getLogger().info("All cached data saved (" + flusher.getStatistics() + ")");
     }
 
-    private void cleanupCache() {
-        long maxAge = plugin.getConfig().getLong("cache.max-age", 1800) * 1000L;
-        long currentTime = System.currentTimeMillis();
+    private void checkpoint() {
+        BalanceJournal journal = plugin.getDatabaseManager().getJournal();
+        long failedBefore = flusher.getFailedRows();
+        long sealedSegment = journal.rotate();
 
-        playerCache.entrySet().removeIf(entry -> {
-            EconomyPlayer player = entry.getValue();
-            UUID uuid = entry.getKey();
+        saveModifiedPlayers();
+        flusher.flushAll();
 
-            if (plugin.getServer().getPlayer(uuid) != null) {
-                return false;
-            }
+        if (flusher.getFailedRows() == failedBefore) {
+            journal.discardUpTo(sealedSegment);
+        }
+    }
 
-            boolean shouldRemove = (currentTime - player.getLastSeen()) > maxAge;
+    private void processExpirations() {
+        for (ExpiryWheel.Expired expired : expiryWheel.advance()) {
+            UUID uuid = expired.uuid();
 
-            if (shouldRemove) {
-                nameToUuidCache.remove(player.getName().toLowerCase());
-                pendingRemovals.remove(uuid);
+            if (plugin.getServer().getPlayer(uuid) != null) {
+                continue;
+            }
 
-                if (player.isModified()) {
-                    plugin.getDatabaseManager().savePlayer(player);
+            if (expired.expiry() == ExpiryWheel.Expiry.MAX_AGE) {
+                EconomyPlayer player = playerCache.get(uuid);
+                if (player == null) {
+                    continue;
                 }
 
-                return true;
+                long remaining = getMaxAgeMillis() - (System.currentTimeMillis() - player.getLastSeen());
+                if (remaining > 0) {
+                    expiryWheel.scheduleIfAbsent(uuid, remaining, ExpiryWheel.Expiry.MAX_AGE);
+                    continue;
+                }
             }
 
-            return false;
-        });
+            evictPlayer(uuid);
+        }
+    }
+
+    private long getMaxAgeMillis() {
+        return plugin.getConfig().getLong("cache.max-age", 1800) * 1000L;
+    }
+
+    public WriteBehindFlusher getFlusher() {
+        return flusher;
+    }
+
+    public long getLoadHits() {
+        return loadHits.sum();
+    }
+
+    public long getLoadMisses() {
+        return loadMisses.sum();
+    }
+
+    public long getLoadCoalesced() {
+        return loadCoalesced.sum();
+    }
+
+    public String getLoadStatistics() {
+        return String.format("hits=%d, misses=%d, coalesced=%d, in-flight=%d",
+                getLoadHits(), getLoadMisses(), getLoadCoalesced(), inFlightLoads.size());
+    }
+
+    public String getPreloadStatistics() {
+        long count = preloadCount.sum();
+        double average = count == 0 ? 0.0 : preloadWaitNanos.sum() / (count * 1_000_000.0);
+        return String.format("preloads=%d, timeouts=%d, avg=%.2fms, max=%.2fms",
+                count, preloadTimeouts.sum(), average, maxPreloadWaitNanos / 1_000_000.0);
+    }
+
+    public String getExpiryStatistics() {
+        return String.format("scheduled=%d, expired=%d", expiryWheel.size(), expiryWheel.getExpiredCount());
+    }
+
+    public String getCacheStatistics() {
+        long hits = lookupHits.sum();
+        long total = hits + lookupMisses.sum();
+        double hitRate = total == 0 ? 0.0 : hits * 100.0 / total;
+        return String.format("hit-rate=%.2f%%, readmitted=%d, merged=%d, %s", hitRate, readmitted.sum(), merged.sum(),
+                evictionPolicy != null ? evictionPolicy.getStatistics() : "unbounded");
+    }
+
+    public String getWarmUpStatistics() {
+        return warmer.getStatistics();
+    }
+
+    public String getNegativeLookupStatistics() {
+        return negativeLookups != null ? negativeLookups.getStatistics() : "disabled";
+    }
+
+    public String getOfflineTierStatistics() {
+        return offlineTier != null ? offlineTier.getStatistics() : "disabled";
+    }
+
+    public void forEachCachedPlayer(Consumer<EconomyPlayer> consumer) {
+        playerCache.values().forEach(consumer);
+    }
+
+    public int getDirtyCount() {
+        return dirtyPlayers.size();
     }
 
     public int getCacheSize() {
@@ -194,6 +782,12 @@ public class CacheManager {
         saveModifiedPlayers();
         playerCache.clear();
         nameToUuidCache.clear();
-        pendingRemovals.clear();
+        expiryWheel.clear();
+        if (evictionPolicy != null) {
+            evictionPolicy.clear();
+        }
+        if (offlineTier != null) {
+            offlineTier.clear();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package de.syscall.manager;
+
+import de.syscall.SlownEconomy;
+import de.syscall.data.EconomyPlayer;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class CacheWarmer {
+
+    private static final int ABORT_CHECK_INTERVAL = 256;
+
+    private final SlownEconomy plugin;
+    private final CacheManager cacheManager;
+    private final Set<UUID> warmed;
+
+    private volatile String state;
+    private volatile String abortReason;
+    private volatile long startNanos;
+    private volatile long durationNanos;
+    private long streamed;
+
+    private final LongAdder cachedRows;
+    private final LongAdder tierRows;
+    private final LongAdder warmHits;
+    private final LongAdder coldLoads;
+    private final LongAdder coldLoadNanos;
+
+    public CacheWarmer(SlownEconomy plugin, CacheManager cacheManager) {
+        this.plugin = plugin;
+        this.cacheManager = cacheManager;
+        this.warmed = ConcurrentHashMap.newKeySet();
+        this.state = "disabled";
+        this.cachedRows = new LongAdder();
+        this.tierRows = new LongAdder();
+        this.warmHits = new LongAdder();
+        this.coldLoads = new LongAdder();
+        this.coldLoadNanos = new LongAdder();
+    }
+
+    public void start() {
+        if (!plugin.getConfig().getBoolean("cache.warm-up.enabled", false)) {
+            return;
+        }
+
+        int accounts = plugin.getConfig().getInt("cache.warm-up.accounts", 5000);
+        int abortOnline = plugin.getConfig().getInt("cache.warm-up.abort-online", 20);
+        if (accounts <= 0) {
+            return;
+        }
+
+        state = "running";
+        startNanos = System.nanoTime();
+
+        plugin.getDatabaseManager().forEachRecentPlayer(accounts, player -> admit(player, abortOnline)).whenComplete((count, error) -> {
+            durationNanos = System.nanoTime() - startNanos;
+
+            if (error != null) {
+                state = "failed";
+                plugin.getLogger().severe("Cache warm-up failed: " + error.getMessage());
+                return;
+            }
+
+            if (abortReason != null) {
+                state = "aborted";
+                plugin.getLogger().info("Cache warm-up aborted (" + abortReason + ") after " + getSummary());
+                return;
+            }
+
+            state = "done";
+            plugin.getLogger().info("Cache warm-up finished: " + getSummary());
+        });
+    }
+
+    private boolean admit(EconomyPlayer player, int abortOnline) {
+        if (abortReason != null) {
+            return false;
+        }
+
+        if (++streamed % ABORT_CHECK_INTERVAL == 0 && abortOnline > 0
+                && plugin.getServer().getOnlinePlayers().size() >= abortOnline) {
+            abort(abortOnline + " players online");
+            return false;
+        }
+
+        if (cacheManager.hasWarmCapacity()) {
+            if (cacheManager.warmPlayer(player)) {
+                warmed.add(player.getUuid());
+                cachedRows.increment();
+            }
+            return true;
+        }
+
+        if (!cacheManager.hasOfflineTier()) {
+            return false;
+        }
+
+        cacheManager.storeSnapshot(player);
+        tierRows.increment();
+        return true;
+    }
+
+    public void abort(String reason) {
+        if ("running".equals(state) && abortReason == null) {
+            abortReason = reason;
+        }
+    }
+
+    public void recordHit(UUID uuid) {
+        if (!warmed.isEmpty() && warmed.remove(uuid)) {
+            warmHits.increment();
+        }
+    }
+
+    public void recordColdLoad(long nanos) {
+        coldLoads.increment();
+        coldLoadNanos.add(nanos);
+    }
+
+    public void forget(UUID uuid) {
+        warmed.remove(uuid);
+    }
+
+    private String getSummary() {
+        long rows = cachedRows.sum() + tierRows.sum();
+        long millis = TimeUnit.NANOSECONDS.toMillis("running".equals(state) ? System.nanoTime() - startNanos : durationNanos);
+        return String.format("cached=%d, tier=%d, time=%dms, rate=%.0f rows/s", cachedRows.sum(), tierRows.sum(),
+                millis, millis == 0 ? 0.0 : rows * 1000.0 / millis);
+    }
+
+    public String getStatistics() {
+        long loads = coldLoads.sum();
+        String firstHits = String.format("warm-hits=%d, unused=%d, cold-loads=%d, cold-avg=%.2fms", warmHits.sum(),
+                warmed.size(), loads, loads == 0 ? 0.0 : coldLoadNanos.sum() / (loads * 1_000_000.0));
+        if ("disabled".equals(state)) {
+            return state + ", " + firstHits;
+        }
+        return state + ", " + getSummary() + ", " + firstHits;
+    }
+}
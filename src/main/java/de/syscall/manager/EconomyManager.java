@@ -1,20 +1,60 @@
 package de.syscall.manager;
 
 import de.syscall.SlownEconomy;
+import de.syscall.data.BalanceChange;
+import de.syscall.data.BalanceState;
 import de.syscall.data.EconomyPlayer;
+import de.syscall.database.DatabaseManager;
+import de.syscall.data.LedgerEntry;
 import de.syscall.event.*;
+import de.syscall.util.Money;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.event.Event;
 
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public class EconomyManager {
 
     private final SlownEconomy plugin;
+    private final TransferEngine transferEngine;
+    private final ExecutorService operationExecutor;
+    private final Queue<Runnable> mainThreadTasks;
+    private final AtomicInteger inFlight;
+    private volatile boolean accepting;
+    private final boolean offlineDelta;
+    private final LongAdder offlineApplied;
+    private final LongAdder offlineRejected;
+    private final LongAdder offlineFallbacks;
 
     public EconomyManager(SlownEconomy plugin) {
         this.plugin = plugin;
+        this.transferEngine = new TransferEngine(plugin.getLogger());
+        this.operationExecutor = plugin.getConfig().getBoolean("economy.virtual-threads", false)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : null;
+        this.mainThreadTasks = new ConcurrentLinkedQueue<>();
+        this.inFlight = new AtomicInteger();
+        this.accepting = true;
+        this.offlineDelta = plugin.getConfig().getBoolean("economy.offline-delta", true);
+        this.offlineApplied = new LongAdder();
+        this.offlineRejected = new LongAdder();
+        this.offlineFallbacks = new LongAdder();
     }
 
     public CompletableFuture<EconomyPlayer> getEconomyPlayer(UUID uuid) {
@@ -23,14 +63,194 @@ public class EconomyManager {
             return CompletableFuture.completedFuture(cached);
         }
 
+        return plugin.getCacheManager().loadPlayer(uuid, getName(uuid));
+    }
+
+    private EconomyPlayer loadEconomyPlayer(UUID uuid) {
+        EconomyPlayer cached = plugin.getCacheManager().getPlayer(uuid);
+        if (cached != null) {
+            return cached;
+        }
+
+        return plugin.getCacheManager().loadPlayerBlocking(uuid, getName(uuid));
+    }
+
+    private String getName(UUID uuid) {
         OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(uuid);
-        String name = offlinePlayer.getName() != null ? offlinePlayer.getName() : "Unknown";
+        return offlinePlayer.getName() != null ? offlinePlayer.getName() : "Unknown";
+    }
+
+    private <T> CompletableFuture<T> withPlayer(UUID uuid, Function<EconomyPlayer, T> operation) {
+        if (operationExecutor == null) {
+            return getEconomyPlayer(uuid).thenApply(operation);
+        }
+
+        return track(() -> CompletableFuture.supplyAsync(() -> operation.apply(loadEconomyPlayer(uuid)), operationExecutor));
+    }
+
+    private CompletableFuture<Boolean> withPlayers(UUID fromUuid, UUID toUuid, Predicate<EconomyPlayer> precondition,
+                                                   BiPredicate<EconomyPlayer, EconomyPlayer> approval,
+                                                   BiFunction<EconomyPlayer, EconomyPlayer, Boolean> operation) {
+        if (operationExecutor == null) {
+            return getEconomyPlayer(fromUuid).thenCompose(fromPlayer -> {
+                if (!precondition.test(fromPlayer)) {
+                    return CompletableFuture.completedFuture(false);
+                }
+
+                return getEconomyPlayer(toUuid).thenApply(toPlayer ->
+                        approval.test(fromPlayer, toPlayer) && operation.apply(fromPlayer, toPlayer));
+            });
+        }
+
+        EconomyPlayer cachedFrom = plugin.getCacheManager().getPlayer(fromUuid);
+        EconomyPlayer cachedTo = plugin.getCacheManager().getPlayer(toUuid);
+        if (Bukkit.isPrimaryThread() && cachedFrom != null && cachedTo != null) {
+            if (!precondition.test(cachedFrom) || !approval.test(cachedFrom, cachedTo)) {
+                return CompletableFuture.completedFuture(false);
+            }
+
+            return track(() -> CompletableFuture.supplyAsync(() -> operation.apply(cachedFrom, cachedTo), operationExecutor));
+        }
+
+        return track(() -> CompletableFuture.supplyAsync(() -> {
+            EconomyPlayer fromPlayer = loadEconomyPlayer(fromUuid);
+            if (!precondition.test(fromPlayer)) {
+                return null;
+            }
+
+            return new Participants(fromPlayer, loadEconomyPlayer(toUuid));
+        }, operationExecutor).thenCompose(participants -> {
+            if (participants == null) {
+                return CompletableFuture.completedFuture(false);
+            }
+
+            return onMainThread(() -> approval.test(participants.from(), participants.to()))
+                    .thenApplyAsync(approved -> approved && operation.apply(participants.from(), participants.to()),
+                            operationExecutor);
+        }));
+    }
+
+    private <T> CompletableFuture<T> track(Supplier<CompletableFuture<T>> operation) {
+        inFlight.incrementAndGet();
+        if (!accepting) {
+            inFlight.decrementAndGet();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Economy operations are shutting down"));
+        }
+
+        CompletableFuture<T> result;
+        try {
+            result = operation.get();
+        } catch (RuntimeException e) {
+            inFlight.decrementAndGet();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        result.whenComplete((value, error) -> inFlight.decrementAndGet());
+        return result;
+    }
+
+    private CompletableFuture<Boolean> onMainThread(Supplier<Boolean> task) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        runOnMainThread(() -> {
+            try {
+                result.complete(task.get());
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private void runOnMainThread(Runnable task) {
+        mainThreadTasks.add(task);
+        if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, this::runMainThreadTasks);
+        }
+    }
+
+    private void runMainThreadTasks() {
+        Runnable task;
+        while ((task = mainThreadTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private CompletableFuture<Boolean> withOfflineDelta(UUID uuid, boolean bank, double delta, String cause,
+                                                        Supplier<CompletableFuture<Boolean>> cached) {
+        if (!offlineDelta) {
+            return cached.get();
+        }
+
+        double max = bank ? plugin.getEconomyValidator().getMaxBankBalance() : plugin.getEconomyValidator().getMaxCoins();
+        CompletableFuture<DatabaseManager.DeltaResult> offline = plugin.getCacheManager().applyOffline(uuid,
+                () -> plugin.getDatabaseManager().applyBalanceDelta(uuid, bank, delta, max));
+        if (offline == null) {
+            return cached.get();
+        }
+
+        return offline.thenCompose(result -> switch (result.status()) {
+            case APPLIED -> {
+                offlineApplied.increment();
+                onOfflineDelta(result.snapshot(), bank, delta, cause);
+                yield CompletableFuture.completedFuture(true);
+            }
+            case REJECTED -> {
+                offlineRejected.increment();
+                yield CompletableFuture.completedFuture(false);
+            }
+            case MISSING -> {
+                offlineFallbacks.increment();
+                yield cached.get();
+            }
+        });
+    }
+
+    private void onOfflineDelta(EconomyPlayer snapshot, boolean bank, double delta, String cause) {
+        BalanceState after = snapshot.getBalance();
+        long minor = Money.toMinor(delta);
+        BalanceChange change = new BalanceChange(bank
+                ? after.withBankBalance(after.bankBalance() - minor)
+                : after.withCoins(after.coins() - minor), after);
+
+        plugin.getLeaderboardManager().update(snapshot);
+        plugin.getCacheManager().storeSnapshot(snapshot);
+        plugin.getInvalidationBus().publish(snapshot);
+
+        if (bank) {
+            plugin.getTransactionLedger().record(LedgerEntry.bank(snapshot.getUuid(), change, cause));
+            fireEvent(new BankChangeEvent(snapshot, change.oldBankBalance(), change.newBankBalance(), BankChangeEvent.Cause.valueOf(cause)));
+        } else {
+            plugin.getTransactionLedger().record(LedgerEntry.coins(snapshot.getUuid(), change, cause));
+            fireEvent(new CoinsChangeEvent(snapshot, change.oldCoins(), change.newCoins(), CoinsChangeEvent.Cause.valueOf(cause)));
+        }
+    }
+
+    private void fireEvent(Event event) {
+        if (operationExecutor == null || Bukkit.isPrimaryThread()) {
+            Bukkit.getPluginManager().callEvent(event);
+            return;
+        }
+
+        runOnMainThread(() -> Bukkit.getPluginManager().callEvent(event));
+    }
 
-        return plugin.getCacheManager().loadPlayer(uuid, name);
+    private boolean approveTransfer(EconomyPlayer fromPlayer, EconomyPlayer toPlayer, double amount, boolean bank) {
+        if (bank ? toPlayer.wouldExceedBankLimit(amount) : toPlayer.wouldExceedCoinsLimit(amount)) {
+            return false;
+        }
+
+        CoinsTransferEvent event = new CoinsTransferEvent(fromPlayer, toPlayer, amount);
+        Bukkit.getPluginManager().callEvent(event);
+        return !event.isCancelled();
     }
 
     public CompletableFuture<Double> getCoins(UUID uuid) {
-        return getEconomyPlayer(uuid).thenApply(EconomyPlayer::getCoins);
+        OfflineSnapshotStore.Snapshot snapshot = plugin.getCacheManager().getOfflineSnapshot(uuid);
+        if (snapshot != null) {
+            return CompletableFuture.completedFuture(Money.toMajor(snapshot.coins()));
+        }
+
+        return withPlayer(uuid, EconomyPlayer::getCoins);
     }
 
     public CompletableFuture<Boolean> setCoins(UUID uuid, double amount) {
@@ -38,57 +258,65 @@ public class EconomyManager {
             return CompletableFuture.completedFuture(false);
         }
 
-        return getEconomyPlayer(uuid).thenApply(player -> {
-            double oldAmount = player.getCoins();
-            player.setCoins(amount);
+        return withPlayer(uuid, player -> {
+            BalanceChange change = player.exchangeCoins(amount);
             plugin.getCacheManager().updatePlayer(player);
 
-            CoinsChangeEvent event = new CoinsChangeEvent(player, oldAmount, amount, CoinsChangeEvent.Cause.SET);
-            Bukkit.getPluginManager().callEvent(event);
+            plugin.getTransactionLedger().record(LedgerEntry.coins(player.getUuid(), change, "SET"));
+
+            CoinsChangeEvent event = new CoinsChangeEvent(player, change.oldCoins(), change.newCoins(), CoinsChangeEvent.Cause.SET);
+            fireEvent(event);
 
             return true;
         });
     }
 
     public CompletableFuture<Boolean> addCoins(UUID uuid, double amount) {
-        if (amount <= 0) return CompletableFuture.completedFuture(false);
+        if (!Money.isPositive(amount)) return CompletableFuture.completedFuture(false);
 
-        return getEconomyPlayer(uuid).thenApply(player -> {
-            if (player.wouldExceedCoinsLimit(amount)) {
+        return withOfflineDelta(uuid, false, amount, "ADD", () -> withPlayer(uuid, player -> {
+            BalanceChange change = player.tryAddCoins(amount);
+            if (change == null) {
                 return false;
             }
 
-            double oldAmount = player.getCoins();
-            player.addCoins(amount);
             plugin.getCacheManager().updatePlayer(player);
 
-            CoinsChangeEvent event = new CoinsChangeEvent(player, oldAmount, player.getCoins(), CoinsChangeEvent.Cause.ADD);
-            Bukkit.getPluginManager().callEvent(event);
+            plugin.getTransactionLedger().record(LedgerEntry.coins(player.getUuid(), change, "ADD"));
+
+            CoinsChangeEvent event = new CoinsChangeEvent(player, change.oldCoins(), change.newCoins(), CoinsChangeEvent.Cause.ADD);
+            fireEvent(event);
 
             return true;
-        });
+        }));
     }
 
     public CompletableFuture<Boolean> removeCoins(UUID uuid, double amount) {
-        if (amount <= 0) return CompletableFuture.completedFuture(false);
+        if (!Money.isPositive(amount)) return CompletableFuture.completedFuture(false);
 
-        return getEconomyPlayer(uuid).thenApply(player -> {
-            double oldAmount = player.getCoins();
-            boolean success = player.removeCoins(amount);
+        return withOfflineDelta(uuid, false, -amount, "REMOVE", () -> withPlayer(uuid, player -> {
+            BalanceChange change = player.tryRemoveCoins(amount);
 
-            if (success) {
+            if (change != null) {
                 plugin.getCacheManager().updatePlayer(player);
 
-                CoinsChangeEvent event = new CoinsChangeEvent(player, oldAmount, player.getCoins(), CoinsChangeEvent.Cause.REMOVE);
-                Bukkit.getPluginManager().callEvent(event);
+                plugin.getTransactionLedger().record(LedgerEntry.coins(player.getUuid(), change, "REMOVE"));
+
+                CoinsChangeEvent event = new CoinsChangeEvent(player, change.oldCoins(), change.newCoins(), CoinsChangeEvent.Cause.REMOVE);
+                fireEvent(event);
             }
 
-            return success;
-        });
+            return change != null;
+        }));
     }
 
     public CompletableFuture<Double> getBankBalance(UUID uuid) {
-        return getEconomyPlayer(uuid).thenApply(EconomyPlayer::getBankBalance);
+        OfflineSnapshotStore.Snapshot snapshot = plugin.getCacheManager().getOfflineSnapshot(uuid);
+        if (snapshot != null) {
+            return CompletableFuture.completedFuture(Money.toMajor(snapshot.bankBalance()));
+        }
+
+        return withPlayer(uuid, EconomyPlayer::getBankBalance);
     }
 
     public CompletableFuture<Boolean> setBankBalance(UUID uuid, double amount) {
@@ -96,187 +324,202 @@ public class EconomyManager {
             return CompletableFuture.completedFuture(false);
         }
 
-        return getEconomyPlayer(uuid).thenApply(player -> {
-            double oldAmount = player.getBankBalance();
-            player.setBankBalance(amount);
+        return withPlayer(uuid, player -> {
+            BalanceChange change = player.exchangeBankBalance(amount);
             plugin.getCacheManager().updatePlayer(player);
 
-            BankChangeEvent event = new BankChangeEvent(player, oldAmount, amount, BankChangeEvent.Cause.SET);
-            Bukkit.getPluginManager().callEvent(event);
+            plugin.getTransactionLedger().record(LedgerEntry.bank(player.getUuid(), change, "SET"));
+
+            BankChangeEvent event = new BankChangeEvent(player, change.oldBankBalance(), change.newBankBalance(), BankChangeEvent.Cause.SET);
+            fireEvent(event);
 
             return true;
         });
     }
 
     public CompletableFuture<Boolean> addBankBalance(UUID uuid, double amount) {
-        if (amount <= 0) return CompletableFuture.completedFuture(false);
+        if (!Money.isPositive(amount)) return CompletableFuture.completedFuture(false);
 
-        return getEconomyPlayer(uuid).thenApply(player -> {
-            if (player.wouldExceedBankLimit(amount)) {
+        return withOfflineDelta(uuid, true, amount, "ADD", () -> withPlayer(uuid, player -> {
+            BalanceChange change = player.tryAddBankBalance(amount);
+            if (change == null) {
                 return false;
             }
 
-            double oldAmount = player.getBankBalance();
-            player.addBankBalance(amount);
             plugin.getCacheManager().updatePlayer(player);
 
-            BankChangeEvent event = new BankChangeEvent(player, oldAmount, player.getBankBalance(), BankChangeEvent.Cause.ADD);
-            Bukkit.getPluginManager().callEvent(event);
+            plugin.getTransactionLedger().record(LedgerEntry.bank(player.getUuid(), change, "ADD"));
+
+            BankChangeEvent event = new BankChangeEvent(player, change.oldBankBalance(), change.newBankBalance(), BankChangeEvent.Cause.ADD);
+            fireEvent(event);
 
             return true;
-        });
+        }));
     }
 
     public CompletableFuture<Boolean> removeBankBalance(UUID uuid, double amount) {
-        if (amount <= 0) return CompletableFuture.completedFuture(false);
+        if (!Money.isPositive(amount)) return CompletableFuture.completedFuture(false);
 
-        return getEconomyPlayer(uuid).thenApply(player -> {
-            double oldAmount = player.getBankBalance();
-            boolean success = player.removeBankBalance(amount);
+        return withOfflineDelta(uuid, true, -amount, "REMOVE", () -> withPlayer(uuid, player -> {
+            BalanceChange change = player.tryRemoveBankBalance(amount);
 
-            if (success) {
+            if (change != null) {
                 plugin.getCacheManager().updatePlayer(player);
 
-                BankChangeEvent event = new BankChangeEvent(player, oldAmount, player.getBankBalance(), BankChangeEvent.Cause.REMOVE);
-                Bukkit.getPluginManager().callEvent(event);
+                plugin.getTransactionLedger().record(LedgerEntry.bank(player.getUuid(), change, "REMOVE"));
+
+                BankChangeEvent event = new BankChangeEvent(player, change.oldBankBalance(), change.newBankBalance(), BankChangeEvent.Cause.REMOVE);
+                fireEvent(event);
             }
 
-            return success;
-        });
+            return change != null;
+        }));
     }
 
     public CompletableFuture<Boolean> depositToBank(UUID uuid, double amount) {
-        if (amount <= 0) return CompletableFuture.completedFuture(false);
+        if (!Money.isPositive(amount)) return CompletableFuture.completedFuture(false);
 
-        return getEconomyPlayer(uuid).thenApply(player -> {
-            double oldCoins = player.getCoins();
-            double oldBank = player.getBankBalance();
+        return withPlayer(uuid, player -> {
+            BalanceChange change = player.tryDepositToBank(amount);
 
-            boolean success = player.depositToBank(amount);
-
-            if (success) {
+            if (change != null) {
                 plugin.getCacheManager().updatePlayer(player);
 
-                BankDepositEvent event = new BankDepositEvent(player, amount, oldCoins, player.getCoins(), oldBank, player.getBankBalance());
-                Bukkit.getPluginManager().callEvent(event);
+                LedgerEntry entry = LedgerEntry.deposit(player.getUuid(), change);
+                plugin.getTransactionLedger().record(entry);
+
+                BankDepositEvent event = new BankDepositEvent(player, entry.amount(), change.oldCoins(), change.newCoins(),
+                        change.oldBankBalance(), change.newBankBalance());
+                fireEvent(event);
             }
 
-            return success;
+            return change != null;
         });
     }
 
     public CompletableFuture<Boolean> withdrawFromBank(UUID uuid, double amount) {
-        if (amount <= 0) return CompletableFuture.completedFuture(false);
+        if (!Money.isPositive(amount)) return CompletableFuture.completedFuture(false);
 
-        return getEconomyPlayer(uuid).thenApply(player -> {
-            double oldCoins = player.getCoins();
-            double oldBank = player.getBankBalance();
+        return withPlayer(uuid, player -> {
+            BalanceChange change = player.tryWithdrawFromBank(amount);
 
-            boolean success = player.withdrawFromBank(amount);
-
-            if (success) {
+            if (change != null) {
                 plugin.getCacheManager().updatePlayer(player);
 
-                BankWithdrawEvent event = new BankWithdrawEvent(player, amount, oldCoins, player.getCoins(), oldBank, player.getBankBalance());
-                Bukkit.getPluginManager().callEvent(event);
+                LedgerEntry entry = LedgerEntry.withdraw(player.getUuid(), change);
+                plugin.getTransactionLedger().record(entry);
+
+                BankWithdrawEvent event = new BankWithdrawEvent(player, entry.amount(), change.oldCoins(), change.newCoins(),
+                        change.oldBankBalance(), change.newBankBalance());
+                fireEvent(event);
             }
 
-            return success;
+            return change != null;
         });
     }
 
     public CompletableFuture<Boolean> transferCoins(UUID fromUuid, UUID toUuid, double amount) {
-        if (amount <= 0) return CompletableFuture.completedFuture(false);
+        if (!Money.isPositive(amount)) return CompletableFuture.completedFuture(false);
         if (fromUuid.equals(toUuid)) return CompletableFuture.completedFuture(false);
 
         if (!isTransferValid(amount)) {
             return CompletableFuture.completedFuture(false);
         }
 
-        double fee = calculateTransferFee(amount);
-        double totalDeduction = amount + fee;
+        long minor = Money.toMinor(amount);
+        long fee = calculateTransferFee(minor);
+        long totalDeduction = minor + fee;
 
-        return getEconomyPlayer(fromUuid).thenCompose(fromPlayer -> {
-            if (fromPlayer.getCoins() < totalDeduction) {
-                return CompletableFuture.completedFuture(false);
+        return withPlayers(fromUuid, toUuid, fromPlayer -> fromPlayer.getBalance().coins() >= totalDeduction,
+                (fromPlayer, toPlayer) -> approveTransfer(fromPlayer, toPlayer, amount, false), (fromPlayer, toPlayer) -> {
+            TransferEngine.Result result = transferEngine.transfer(fromPlayer, toPlayer, minor, fee, TransferEngine.Account.COINS);
+            if (result == null) {
+                return false;
             }
 
-            return getEconomyPlayer(toUuid).thenApply(toPlayer -> {
-                if (toPlayer.wouldExceedCoinsLimit(amount)) {
-                    return false;
-                }
-
-                CoinsTransferEvent event = new CoinsTransferEvent(fromPlayer, toPlayer, amount);
-                Bukkit.getPluginManager().callEvent(event);
-
-                if (event.isCancelled()) {
-                    return false;
-                }
-
-                fromPlayer.removeCoins(totalDeduction);
-                toPlayer.addCoins(amount);
+            plugin.getTransactionLedger().record(LedgerEntry.transfer(LedgerEntry.Type.TRANSFER_COINS, fromUuid, toUuid,
+                    Money.toMajor(minor), Money.toMajor(fee), result.from().newCoins()));
 
-                plugin.getCacheManager().updatePlayer(fromPlayer);
-                plugin.getCacheManager().updatePlayer(toPlayer);
+            plugin.getCacheManager().updatePlayer(fromPlayer);
+            plugin.getCacheManager().updatePlayer(toPlayer);
 
-                return true;
-            });
+            return true;
         });
     }
 
     public CompletableFuture<Boolean> transferBankBalance(UUID fromUuid, UUID toUuid, double amount) {
-        if (amount <= 0) return CompletableFuture.completedFuture(false);
+        if (!Money.isPositive(amount)) return CompletableFuture.completedFuture(false);
         if (fromUuid.equals(toUuid)) return CompletableFuture.completedFuture(false);
 
         if (!isTransferValid(amount)) {
             return CompletableFuture.completedFuture(false);
         }
 
-        double fee = calculateTransferFee(amount);
-        double totalDeduction = amount + fee;
+        long minor = Money.toMinor(amount);
+        long fee = calculateTransferFee(minor);
+        long totalDeduction = minor + fee;
 
-        return getEconomyPlayer(fromUuid).thenCompose(fromPlayer -> {
-            if (fromPlayer.getBankBalance() < totalDeduction) {
-                return CompletableFuture.completedFuture(false);
+        return withPlayers(fromUuid, toUuid, fromPlayer -> fromPlayer.getBalance().bankBalance() >= totalDeduction,
+                (fromPlayer, toPlayer) -> approveTransfer(fromPlayer, toPlayer, amount, true), (fromPlayer, toPlayer) -> {
+            TransferEngine.Result result = transferEngine.transfer(fromPlayer, toPlayer, minor, fee, TransferEngine.Account.BANK);
+            if (result == null) {
+                return false;
             }
 
-            return getEconomyPlayer(toUuid).thenApply(toPlayer -> {
-                if (toPlayer.wouldExceedBankLimit(amount)) {
-                    return false;
-                }
+            plugin.getTransactionLedger().record(LedgerEntry.transfer(LedgerEntry.Type.TRANSFER_BANK, fromUuid, toUuid,
+                    Money.toMajor(minor), Money.toMajor(fee), result.from().newBankBalance()));
 
-                CoinsTransferEvent event = new CoinsTransferEvent(fromPlayer, toPlayer, amount);
-                Bukkit.getPluginManager().callEvent(event);
+            plugin.getCacheManager().updatePlayer(fromPlayer);
+            plugin.getCacheManager().updatePlayer(toPlayer);
 
-                if (event.isCancelled()) {
-                    return false;
-                }
+            return true;
+        });
+    }
 
-                fromPlayer.removeBankBalance(totalDeduction);
-                toPlayer.addBankBalance(amount);
+    private boolean isTransferValid(double amount) {
+        return !plugin.getEconomyValidator().isTransferAmountInvalid(amount);
+    }
 
-                plugin.getCacheManager().updatePlayer(fromPlayer);
-                plugin.getCacheManager().updatePlayer(toPlayer);
+    private long calculateTransferFee(long amount) {
+        return plugin.getEconomyValidator().getTransferFee(amount);
+    }
 
-                return true;
-            });
-        });
+    public TransferEngine getTransferEngine() {
+        return transferEngine;
     }
 
-    private boolean isTransferValid(double amount) {
-        if (!plugin.getConfig().getBoolean("economy.transfer.enabled", true)) {
-            return false;
+    public String getOfflineDeltaStatistics() {
+        if (!offlineDelta) {
+            return "disabled";
         }
 
-        return !plugin.getEconomyValidator().isTransferAmountInvalid(amount);
+        return String.format("applied=%d, rejected=%d, fallback=%d",
+                offlineApplied.sum(), offlineRejected.sum(), offlineFallbacks.sum());
     }
 
-    private double calculateTransferFee(double amount) {
-        double feePercentage = plugin.getConfig().getDouble("economy.transfer.fee-percentage", 0.0);
-        return amount * (feePercentage / 100.0);
+    public boolean isVirtualThreadMode() {
+        return operationExecutor != null;
     }
 
     public void shutdown() {
+        if (operationExecutor != null) {
+            accepting = false;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (inFlight.get() > 0) {
+                runMainThreadTasks();
+                if (System.nanoTime() - deadline >= 0) {
+                    plugin.getLogger().warning(inFlight.get() + " economy operations still running at shutdown");
+                    break;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            runMainThreadTasks();
+            operationExecutor.shutdown();
+        }
+
         plugin.getCacheManager().saveAll();
     }
-}
\ No newline at end of file
+
+    private record Participants(EconomyPlayer from, EconomyPlayer to) {
+    }
+}
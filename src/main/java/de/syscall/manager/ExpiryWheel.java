@@ -0,0 +1,189 @@
+package de.syscall.manager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class ExpiryWheel {
+
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final long MAX_DELAY_TICKS = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final Node[][] wheel;
+    private final Map<UUID, Node> timers;
+    private long currentTick;
+    private long expiredCount;
+
+    public ExpiryWheel(long tickMillis) {
+        this.tickMillis = tickMillis;
+        this.startMillis = System.currentTimeMillis();
+        this.wheel = new Node[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                Node head = new Node(null, null, 0L);
+                head.prev = head;
+                head.next = head;
+                wheel[level][slot] = head;
+            }
+        }
+        this.timers = new HashMap<>();
+        this.currentTick = 0L;
+    }
+
+    public synchronized void schedule(UUID uuid, long delayMillis, Expiry expiry) {
+        Node node = timers.remove(uuid);
+        if (node != null) {
+            unlink(node);
+        }
+
+        node = new Node(uuid, expiry, deadlineTick(delayMillis));
+        timers.put(uuid, node);
+        place(node);
+    }
+
+    public synchronized void scheduleIfAbsent(UUID uuid, long delayMillis, Expiry expiry) {
+        if (!timers.containsKey(uuid)) {
+            schedule(uuid, delayMillis, expiry);
+        }
+    }
+
+    public synchronized boolean cancel(UUID uuid) {
+        Node node = timers.remove(uuid);
+        if (node == null) {
+            return false;
+        }
+
+        unlink(node);
+        return true;
+    }
+
+    public List<Expired> advance() {
+        List<Expired> expired = new ArrayList<>();
+        long nowTick = (System.currentTimeMillis() - startMillis) / tickMillis;
+
+        synchronized (this) {
+            while (currentTick <= nowTick) {
+                int index = (int) (currentTick & SLOT_MASK);
+                if (index == 0) {
+                    for (int level = 1; level < LEVELS; level++) {
+                        if (cascade(level, (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK)) != 0) {
+                            break;
+                        }
+                    }
+                }
+
+                currentTick++;
+
+                Node head = wheel[0][index];
+                Node node = head.next;
+                while (node != head) {
+                    Node next = node.next;
+                    unlink(node);
+                    timers.remove(node.uuid);
+                    expired.add(new Expired(node.uuid, node.expiry));
+                    node = next;
+                }
+            }
+
+            expiredCount += expired.size();
+        }
+
+        return expired;
+    }
+
+    public synchronized void clear() {
+        for (Node node : timers.values()) {
+            unlink(node);
+        }
+        timers.clear();
+    }
+
+    public synchronized int size() {
+        return timers.size();
+    }
+
+    public synchronized long getExpiredCount() {
+        return expiredCount;
+    }
+
+    private long deadlineTick(long delayMillis) {
+        long elapsed = System.currentTimeMillis() - startMillis + Math.max(0L, delayMillis);
+        long deadline = (elapsed + tickMillis - 1) / tickMillis;
+        return Math.min(Math.max(deadline, currentTick), currentTick + MAX_DELAY_TICKS);
+    }
+
+    private int cascade(int level, int index) {
+        Node head = wheel[level][index];
+        Node node = head.next;
+        head.next = head;
+        head.prev = head;
+
+        while (node != head) {
+            Node next = node.next;
+            node.prev = null;
+            node.next = null;
+            place(node);
+            node = next;
+        }
+
+        return index;
+    }
+
+    private void place(Node node) {
+        long delta = node.deadlineTick - currentTick;
+        Node head;
+
+        if (delta < 0) {
+            head = wheel[0][(int) (currentTick & SLOT_MASK)];
+        } else {
+            int level = 0;
+            while (level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+                level++;
+            }
+            head = wheel[level][(int) ((node.deadlineTick >>> (SLOT_BITS * level)) & SLOT_MASK)];
+        }
+
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+    }
+
+    private void unlink(Node node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+        }
+    }
+
+    public enum Expiry {
+        REMOVAL,
+        MAX_AGE
+    }
+
+    public record Expired(UUID uuid, Expiry expiry) {
+    }
+
+    private static final class Node {
+        private final UUID uuid;
+        private final Expiry expiry;
+        private final long deadlineTick;
+        private Node prev;
+        private Node next;
+
+        private Node(UUID uuid, Expiry expiry, long deadlineTick) {
+            this.uuid = uuid;
+            this.expiry = expiry;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package de.syscall.manager;
+
+import java.util.UUID;
+
+public class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int size;
+
+    public FrequencySketch(int maximumSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, maximumSize) - 1) << 1;
+        this.table = new long[capacity];
+        this.tableMask = capacity - 1;
+        this.sampleSize = 10 * Math.max(16, maximumSize);
+    }
+
+    public int frequency(UUID uuid) {
+        long hash = spread(uuid);
+        int frequency = 15;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long indexHash = hash * SEEDS[i];
+            frequency = Math.min(frequency, counter(indexHash));
+        }
+        return frequency;
+    }
+
+    public void increment(UUID uuid) {
+        long hash = spread(uuid);
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            added |= incrementAt(hash * SEEDS[i]);
+        }
+
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    private int counter(long indexHash) {
+        int index = (int) (indexHash >>> 32) & tableMask;
+        int offset = (int) ((indexHash >>> 16) & 15L) << 2;
+        return (int) ((table[index] >>> offset) & 15L);
+    }
+
+    private boolean incrementAt(long indexHash) {
+        int index = (int) (indexHash >>> 32) & tableMask;
+        int offset = (int) ((indexHash >>> 16) & 15L) << 2;
+        long mask = 15L << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size >>>= 1;
+    }
+
+    private long spread(UUID uuid) {
+        long hash = uuid.getMostSignificantBits() * 31 + uuid.getLeastSignificantBits();
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,267 @@
+package de.syscall.manager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+public class Leaderboard {
+
+    private final Map<UUID, Node> nodes;
+    private final SplittableRandom random;
+    private final int capacity;
+    private Node root;
+    private long floor;
+
+    public Leaderboard(int capacity) {
+        this.nodes = new HashMap<>();
+        this.random = new SplittableRandom();
+        this.capacity = Math.max(0, capacity);
+        this.floor = Long.MIN_VALUE;
+    }
+
+    public synchronized void update(UUID uuid, String name, long score, long version) {
+        Node existing = nodes.get(uuid);
+        if (existing != null) {
+            if (version < existing.version) {
+                return;
+            }
+            if (existing.score == score) {
+                existing.name = name;
+                existing.version = version;
+                return;
+            }
+            nodes.remove(uuid);
+            root = delete(root, existing);
+        }
+
+        if (score >= floor) {
+            insert(uuid, name, score, version);
+            trim();
+        }
+    }
+
+    public synchronized boolean seed(UUID uuid, String name, long score, long version) {
+        if (nodes.containsKey(uuid) || score < floor) {
+            return false;
+        }
+
+        insert(uuid, name, score, version);
+        trim();
+        return true;
+    }
+
+    public synchronized void resetFloor() {
+        floor = Long.MIN_VALUE;
+    }
+
+    public synchronized void raiseFloor(long score) {
+        floor = Math.max(floor, score);
+    }
+
+    public synchronized boolean needsRefill() {
+        return capacity > 0 && floor != Long.MIN_VALUE && size(root) < capacity / 2;
+    }
+
+    public synchronized void remove(UUID uuid) {
+        Node existing = nodes.remove(uuid);
+        if (existing != null) {
+            root = delete(root, existing);
+        }
+    }
+
+    public synchronized int rank(UUID uuid) {
+        Node node = nodes.get(uuid);
+        if (node == null) {
+            return -1;
+        }
+
+        int rank = 1;
+        Node current = root;
+        while (current != null) {
+            int comparison = compare(node, current);
+            if (comparison < 0) {
+                current = current.left;
+            } else if (comparison > 0) {
+                rank += size(current.left) + 1;
+                current = current.right;
+            } else {
+                return rank + size(current.left);
+            }
+        }
+
+        return -1;
+    }
+
+    public synchronized Entry get(UUID uuid) {
+        Node node = nodes.get(uuid);
+        return node != null ? new Entry(node.uuid, node.name, node.score, rank(uuid)) : null;
+    }
+
+    public synchronized List<Entry> page(int offset, int limit) {
+        int end = Math.min(size(root), offset + Math.max(0, limit));
+        List<Entry> entries = new ArrayList<>(Math.max(0, end - offset));
+        for (int index = Math.max(0, offset); index < end; index++) {
+            Node node = select(index);
+            entries.add(new Entry(node.uuid, node.name, node.score, index + 1));
+        }
+        return entries;
+    }
+
+    public synchronized int size() {
+        return size(root);
+    }
+
+    private void trim() {
+        while (capacity > 0 && size(root) > capacity) {
+            Node last = select(size(root) - 1);
+            nodes.remove(last.uuid);
+            root = delete(root, last);
+            floor = Math.max(floor, last.score);
+        }
+    }
+
+    private void insert(UUID uuid, String name, long score, long version) {
+        Node node = new Node(uuid, name, score, version, random.nextInt());
+        nodes.put(uuid, node);
+        root = insert(root, node);
+    }
+
+    private Node insert(Node current, Node node) {
+        if (current == null) {
+            return node;
+        }
+
+        if (node.priority > current.priority) {
+            Node[] parts = split(current, node);
+            node.left = parts[0];
+            node.right = parts[1];
+            recalculate(node);
+            return node;
+        }
+
+        if (compare(node, current) < 0) {
+            current.left = insert(current.left, node);
+        } else {
+            current.right = insert(current.right, node);
+        }
+        recalculate(current);
+        return current;
+    }
+
+    private Node[] split(Node current, Node key) {
+        if (current == null) {
+            return new Node[2];
+        }
+
+        Node[] parts;
+        if (compare(current, key) < 0) {
+            parts = split(current.right, key);
+            current.right = parts[0];
+            parts[0] = current;
+        } else {
+            parts = split(current.left, key);
+            current.left = parts[1];
+            parts[1] = current;
+        }
+        recalculate(current);
+        return parts;
+    }
+
+    private Node delete(Node current, Node node) {
+        if (current == null) {
+            return null;
+        }
+
+        if (current == node) {
+            return merge(current.left, current.right);
+        }
+
+        if (compare(node, current) < 0) {
+            current.left = delete(current.left, node);
+        } else {
+            current.right = delete(current.right, node);
+        }
+        recalculate(current);
+        return current;
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            recalculate(left);
+            return left;
+        }
+
+        right.left = merge(left, right.left);
+        recalculate(right);
+        return right;
+    }
+
+    private Node select(int index) {
+        Node current = root;
+        while (current != null) {
+            int leftSize = size(current.left);
+            if (index < leftSize) {
+                current = current.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                current = current.right;
+            } else {
+                return current;
+            }
+        }
+        return null;
+    }
+
+    private int compare(Node a, Node b) {
+        int comparison = Long.compare(b.score, a.score);
+        if (comparison != 0) {
+            return comparison;
+        }
+
+        comparison = Long.compareUnsigned(b.uuid.getMostSignificantBits(), a.uuid.getMostSignificantBits());
+        return comparison != 0 ? comparison
+                : Long.compareUnsigned(b.uuid.getLeastSignificantBits(), a.uuid.getLeastSignificantBits());
+    }
+
+    private void recalculate(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    public record Entry(UUID uuid, String name, long score, int rank) {
+    }
+
+    private static final class Node {
+        private final UUID uuid;
+        private final long score;
+        private final int priority;
+        private String name;
+        private long version;
+        private int size;
+        private Node left;
+        private Node right;
+
+        private Node(UUID uuid, String name, long score, long version, int priority) {
+            this.uuid = uuid;
+            this.name = name;
+            this.score = score;
+            this.version = version;
+            this.priority = priority;
+            this.size = 1;
+        }
+    }
+}
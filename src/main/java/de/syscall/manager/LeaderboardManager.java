@@ -0,0 +1,281 @@
+package de.syscall.manager;
+
+import de.syscall.SlownEconomy;
+import de.syscall.data.BalanceState;
+import de.syscall.data.EconomyPlayer;
+import de.syscall.database.BalanceOrder;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LeaderboardManager {
+
+    private static final long CURSOR_TTL_MILLIS = 30000L;
+
+    private final SlownEconomy plugin;
+    private final Map<Type, Leaderboard> leaderboards;
+    private final Map<UUID, EconomyPlayer> pending;
+    private final Set<Type> refilling;
+    private final Map<Type, ConcurrentSkipListMap<Integer, PageCursor>> cursors;
+    private final boolean enabled;
+    private final int maxSize;
+    private volatile boolean loaded;
+    private BukkitTask applyTask;
+
+    private final LongAdder queuedUpdates;
+    private final LongAdder appliedUpdates;
+    private final LongAdder refills;
+    private final LongAdder queriedPages;
+    private final LongAdder scannedRows;
+
+    public LeaderboardManager(SlownEconomy plugin) {
+        this.plugin = plugin;
+        this.enabled = plugin.getConfig().getBoolean("leaderboard.enabled", true);
+        this.maxSize = Math.max(0, plugin.getConfig().getInt("leaderboard.max-size", 10000));
+        this.leaderboards = new EnumMap<>(Type.class);
+        for (Type type : Type.values()) {
+            leaderboards.put(type, new Leaderboard(maxSize));
+        }
+        this.pending = new ConcurrentHashMap<>();
+        this.refilling = ConcurrentHashMap.newKeySet();
+        this.cursors = new EnumMap<>(Type.class);
+        for (Type type : Type.values()) {
+            cursors.put(type, new ConcurrentSkipListMap<>());
+        }
+        this.queuedUpdates = new LongAdder();
+        this.appliedUpdates = new LongAdder();
+        this.refills = new LongAdder();
+        this.queriedPages = new LongAdder();
+        this.scannedRows = new LongAdder();
+    }
+
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+
+        applyTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this::applyPending, 1L, 1L);
+
+        long start = System.nanoTime();
+        CompletableFuture<Integer> seeding;
+        if (maxSize == 0) {
+            seeding = plugin.getDatabaseManager().forEachPlayer(this::seed);
+        } else {
+            CompletableFuture<?>[] boards = new CompletableFuture<?>[Type.values().length];
+            for (Type type : Type.values()) {
+                boards[type.ordinal()] = seedTop(type);
+            }
+            seeding = CompletableFuture.allOf(boards).thenApply(ignored -> getSize(Type.TOTAL));
+        }
+
+        seeding.whenComplete((count, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Failed to load leaderboards: " + error.getMessage());
+                return;
+            }
+
+            loaded = true;
+            plugin.getLogger().info("Loaded leaderboards for " + count + " players in " +
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+        });
+    }
+
+    private CompletableFuture<Void> seedTop(Type type) {
+        Leaderboard leaderboard = leaderboards.get(type);
+        return plugin.getDatabaseManager().streamLeaderboard(type.getOrder(), null, maxSize, leaderboard::seed)
+                .thenAccept(last -> {
+                    if (last != null) {
+                        leaderboard.raiseFloor(last.score());
+                    }
+                });
+    }
+
+    private void seed(EconomyPlayer player) {
+        BalanceState balance = player.getBalance();
+        long version = player.getRowVersion();
+        leaderboards.get(Type.COINS).seed(player.getUuid(), player.getName(), balance.coins(), version);
+        leaderboards.get(Type.BANK).seed(player.getUuid(), player.getName(), balance.bankBalance(), version);
+        leaderboards.get(Type.TOTAL).seed(player.getUuid(), player.getName(), balance.totalWealth(), version);
+    }
+
+    public void update(EconomyPlayer player) {
+        if (!enabled) {
+            return;
+        }
+
+        pending.merge(player.getUuid(), player, (queued, next) ->
+                next.getRowVersion() >= queued.getRowVersion() ? next : queued);
+        queuedUpdates.increment();
+    }
+
+    private void applyPending() {
+        Iterator<Map.Entry<UUID, EconomyPlayer>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            EconomyPlayer player = iterator.next().getValue();
+            iterator.remove();
+
+            BalanceState balance = player.getBalance();
+            long version = player.getRowVersion();
+            leaderboards.get(Type.COINS).update(player.getUuid(), player.getName(), balance.coins(), version);
+            leaderboards.get(Type.BANK).update(player.getUuid(), player.getName(), balance.bankBalance(), version);
+            leaderboards.get(Type.TOTAL).update(player.getUuid(), player.getName(), balance.totalWealth(), version);
+            appliedUpdates.increment();
+        }
+
+        if (!loaded) {
+            return;
+        }
+
+        for (Type type : Type.values()) {
+            if (leaderboards.get(type).needsRefill() && refilling.add(type)) {
+                refill(type);
+            }
+        }
+    }
+
+    private void refill(Type type) {
+        refills.increment();
+        leaderboards.get(type).resetFloor();
+
+        seedTop(type).whenComplete((ignored, error) -> {
+            if (error != null) {
+                plugin.getLogger().warning("Failed to refill the " + type + " leaderboard: " + error.getMessage());
+            } else {
+                plugin.getCacheManager().forEachCachedPlayer(this::update);
+            }
+            refilling.remove(type);
+        });
+    }
+
+    public void shutdown() {
+        if (applyTask != null) {
+            applyTask.cancel();
+        }
+    }
+
+    public List<Leaderboard.Entry> getPage(Type type, int offset, int limit) {
+        return leaderboards.get(type).page(offset, limit);
+    }
+
+    public boolean hasPage(Type type, int offset, int limit) {
+        return enabled && loaded && (maxSize == 0 || offset + limit <= getSize(type));
+    }
+
+    public CompletableFuture<List<Leaderboard.Entry>> queryPage(Type type, int offset, int limit) {
+        List<Leaderboard.Entry> entries = new ArrayList<>(limit);
+        int size = enabled && loaded ? getSize(type) : 0;
+        if (offset < size) {
+            entries.addAll(getPage(type, offset, limit));
+        }
+
+        int sqlOffset = offset + entries.size();
+        int sqlLimit = limit - entries.size();
+        if (sqlLimit <= 0) {
+            return CompletableFuture.completedFuture(entries);
+        }
+
+        queriedPages.increment();
+
+        int base = 0;
+        BalanceOrder.Cursor start = null;
+        List<Leaderboard.Entry> tail = size > 0 ? getPage(type, size - 1, 1) : List.of();
+        if (!tail.isEmpty()) {
+            Leaderboard.Entry last = tail.get(0);
+            base = last.rank();
+            start = new BalanceOrder.Cursor(last.score(), last.uuid());
+        }
+
+        ConcurrentSkipListMap<Integer, PageCursor> known = cursors.get(type);
+        Map.Entry<Integer, PageCursor> cached = known.floorEntry(sqlOffset);
+        if (cached != null && cached.getKey() > base && !cached.getValue().isExpired()) {
+            base = cached.getKey();
+            start = cached.getValue().cursor();
+        }
+
+        int skip = sqlOffset - base;
+        int firstRank = base;
+        int[] rows = new int[1];
+
+        return plugin.getDatabaseManager().streamLeaderboard(type.getOrder(), start, skip + sqlLimit, (uuid, name, score, version) -> {
+            if (rows[0]++ >= skip) {
+                entries.add(new Leaderboard.Entry(uuid, name, score, firstRank + rows[0]));
+            }
+        }).thenApply(last -> {
+            scannedRows.add(rows[0]);
+            if (last != null) {
+                known.put(sqlOffset + sqlLimit, new PageCursor(last, System.currentTimeMillis()));
+            }
+            known.values().removeIf(PageCursor::isExpired);
+            return entries;
+        });
+    }
+
+    public Leaderboard.Entry getEntry(Type type, UUID uuid) {
+        return leaderboards.get(type).get(uuid);
+    }
+
+    public int getRank(Type type, UUID uuid) {
+        return leaderboards.get(type).rank(uuid);
+    }
+
+    public int getSize(Type type) {
+        return leaderboards.get(type).size();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public String getStatistics() {
+        String fallback = String.format("sql-pages=%d, sql-rows=%d", queriedPages.sum(), scannedRows.sum());
+        if (!enabled) {
+            return "disabled, " + fallback;
+        }
+
+        return String.format("loaded=%s, coins=%d, bank=%d, total=%d, max=%s, pending=%d, queued=%d, applied=%d, refills=%d, %s",
+                loaded, getSize(Type.COINS), getSize(Type.BANK), getSize(Type.TOTAL), maxSize == 0 ? "all" : maxSize,
+                pending.size(), queuedUpdates.sum(), appliedUpdates.sum(), refills.sum(), fallback);
+    }
+
+    private record PageCursor(BalanceOrder.Cursor cursor, long createdAt) {
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() - createdAt > CURSOR_TTL_MILLIS;
+        }
+    }
+
+    public enum Type {
+        COINS(BalanceOrder.COINS),
+        BANK(BalanceOrder.BANK),
+        TOTAL(BalanceOrder.TOTAL);
+
+        private final BalanceOrder order;
+
+        Type(BalanceOrder order) {
+            this.order = order;
+        }
+
+        public BalanceOrder getOrder() {
+            return order;
+        }
+    }
+}
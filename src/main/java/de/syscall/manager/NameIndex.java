@@ -0,0 +1,367 @@
+package de.syscall.manager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+public class NameIndex {
+
+    private static final int MERGE_THRESHOLD = 4096;
+
+    private final ConcurrentSkipListMap<String, Entry> overlay;
+    private final AtomicBoolean merging;
+    private volatile Table table;
+    private volatile boolean loaded;
+
+    private final LongAdder resolveHits;
+    private final LongAdder resolveMisses;
+    private final LongAdder completions;
+    private final LongAdder merges;
+
+    public NameIndex() {
+        this.overlay = new ConcurrentSkipListMap<>();
+        this.merging = new AtomicBoolean();
+        this.table = Table.EMPTY;
+        this.resolveHits = new LongAdder();
+        this.resolveMisses = new LongAdder();
+        this.completions = new LongAdder();
+        this.merges = new LongAdder();
+    }
+
+    public UUID resolve(String name) {
+        String key = fold(name);
+        Entry entry = overlay.get(key);
+        if (entry != null) {
+            resolveHits.increment();
+            return entry.uuid();
+        }
+
+        Table current = table;
+        int index = current.find(key.getBytes(StandardCharsets.UTF_8));
+        if (index < 0) {
+            resolveMisses.increment();
+            return null;
+        }
+
+        resolveHits.increment();
+        return current.uuid(index);
+    }
+
+    public String getName(String name) {
+        String key = fold(name);
+        Entry entry = overlay.get(key);
+        if (entry != null) {
+            return entry.name();
+        }
+
+        Table current = table;
+        int index = current.find(key.getBytes(StandardCharsets.UTF_8));
+        return index < 0 ? null : current.name(index);
+    }
+
+    public void put(UUID uuid, String name) {
+        String key = fold(name);
+        Entry existing = overlay.get(key);
+        if (existing != null && existing.uuid().equals(uuid) && existing.name().equals(name)) {
+            return;
+        }
+
+        if (existing == null) {
+            Table current = table;
+            int index = current.find(key.getBytes(StandardCharsets.UTF_8));
+            if (index >= 0 && current.uuid(index).equals(uuid) && current.name(index).equals(name)) {
+                return;
+            }
+        }
+
+        overlay.put(key, new Entry(name, uuid));
+        if (loaded && overlay.size() >= MERGE_THRESHOLD) {
+            merge();
+        }
+    }
+
+    public List<String> complete(String prefix, int limit) {
+        completions.increment();
+
+        String key = fold(prefix);
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        Table current = table;
+        List<String> result = new ArrayList<>(Math.min(limit, 16));
+
+        int index = current.lowerBound(keyBytes);
+        Iterator<Map.Entry<String, Entry>> pending = overlay.tailMap(key, true).entrySet().iterator();
+        Map.Entry<String, Entry> next = pending.hasNext() ? pending.next() : null;
+
+        while (result.size() < limit) {
+            boolean baseMatches = index < current.size() && current.startsWith(index, keyBytes);
+            boolean overlayMatches = next != null && next.getKey().startsWith(key);
+            if (!baseMatches && !overlayMatches) {
+                break;
+            }
+
+            int order = !baseMatches ? 1 : !overlayMatches ? -1
+                    : current.compare(index, next.getKey().getBytes(StandardCharsets.UTF_8));
+            if (order < 0) {
+                result.add(current.name(index++));
+                continue;
+            }
+
+            if (order == 0) {
+                index++;
+            }
+            result.add(next.getValue().name());
+            next = pending.hasNext() ? pending.next() : null;
+        }
+
+        return result;
+    }
+
+    public Builder builder() {
+        return new Builder();
+    }
+
+    public void merge() {
+        if (!loaded || !merging.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            Table current = table;
+            List<Map.Entry<String, Entry>> snapshot = new ArrayList<>(overlay.entrySet());
+            if (snapshot.isEmpty()) {
+                return;
+            }
+
+            Builder builder = new Builder(current.size() + snapshot.size(), current.names.length + snapshot.size() * 16);
+            int index = 0;
+            int position = 0;
+            while (index < current.size() || position < snapshot.size()) {
+                int order;
+                if (index >= current.size()) {
+                    order = 1;
+                } else if (position >= snapshot.size()) {
+                    order = -1;
+                } else {
+                    order = current.compare(index, snapshot.get(position).getKey().getBytes(StandardCharsets.UTF_8));
+                }
+
+                if (order < 0) {
+                    builder.append(current.uuid(index), current.nameBytes(index));
+                    index++;
+                    continue;
+                }
+
+                if (order == 0) {
+                    index++;
+                }
+                Entry entry = snapshot.get(position++).getValue();
+                builder.append(entry.uuid(), entry.name().getBytes(StandardCharsets.UTF_8));
+            }
+
+            table = builder.toTable();
+            for (Map.Entry<String, Entry> merged : snapshot) {
+                overlay.remove(merged.getKey(), merged.getValue());
+            }
+            merges.increment();
+        } finally {
+            merging.set(false);
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return table.size() + overlay.size();
+    }
+
+    public String getStatistics() {
+        Table current = table;
+        long memory = current.names.length + current.offsets.length * 4L + current.msb.length * 16L;
+        return String.format("loaded=%s, names=%d, pending=%d, memory=%.1fMB, resolved=%d, unknown=%d, completions=%d, merges=%d",
+                loaded, current.size(), overlay.size(), memory / (1024.0 * 1024.0), resolveHits.sum(),
+                resolveMisses.sum(), completions.sum(), merges.sum());
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static int foldByte(byte value) {
+        return value >= 'A' && value <= 'Z' ? value + 32 : value & 0xFF;
+    }
+
+    private record Entry(String name, UUID uuid) {
+    }
+
+    public final class Builder {
+        private long[] msb;
+        private long[] lsb;
+        private long[] lastSeen;
+        private int[] offsets;
+        private byte[] names;
+        private int size;
+        private int length;
+
+        private Builder() {
+            this(1024, 16 * 1024);
+        }
+
+        private Builder(int entries, int bytes) {
+            this.msb = new long[Math.max(1, entries)];
+            this.lsb = new long[Math.max(1, entries)];
+            this.lastSeen = new long[Math.max(1, entries)];
+            this.offsets = new int[Math.max(1, entries) + 1];
+            this.names = new byte[Math.max(16, bytes)];
+        }
+
+        public void add(UUID uuid, String name, long seen) {
+            if (name == null || name.isEmpty()) {
+                return;
+            }
+
+            append(uuid, name.getBytes(StandardCharsets.UTF_8));
+            lastSeen[size - 1] = seen;
+        }
+
+        private void append(UUID uuid, byte[] name) {
+            if (size == msb.length) {
+                int capacity = msb.length * 2;
+                msb = Arrays.copyOf(msb, capacity);
+                lsb = Arrays.copyOf(lsb, capacity);
+                lastSeen = Arrays.copyOf(lastSeen, capacity);
+                offsets = Arrays.copyOf(offsets, capacity + 1);
+            }
+
+            if (length + name.length > names.length) {
+                names = Arrays.copyOf(names, Math.max(names.length * 2, length + name.length));
+            }
+
+            msb[size] = uuid.getMostSignificantBits();
+            lsb[size] = uuid.getLeastSignificantBits();
+            System.arraycopy(name, 0, names, length, name.length);
+            offsets[size] = length;
+            length += name.length;
+            offsets[size + 1] = length;
+            size++;
+        }
+
+        public void publish() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+
+            Arrays.sort(order, (left, right) -> {
+                int compared = compareRange(names, offsets[left], offsets[left + 1], names, offsets[right], offsets[right + 1]);
+                return compared != 0 ? compared : Long.compare(lastSeen[right], lastSeen[left]);
+            });
+
+            Builder sorted = new Builder(size, length);
+            int previous = -1;
+            for (int i : order) {
+                if (previous >= 0 && compareRange(names, offsets[previous], offsets[previous + 1], names, offsets[i], offsets[i + 1]) == 0) {
+                    continue;
+                }
+
+                sorted.append(new UUID(msb[i], lsb[i]), Arrays.copyOfRange(names, offsets[i], offsets[i + 1]));
+                previous = i;
+            }
+
+            table = sorted.toTable();
+            loaded = true;
+            if (!overlay.isEmpty()) {
+                merge();
+            }
+        }
+
+        private Table toTable() {
+            return new Table(Arrays.copyOf(names, length), Arrays.copyOf(offsets, size + 1),
+                    Arrays.copyOf(msb, size), Arrays.copyOf(lsb, size));
+        }
+    }
+
+    private static int compareRange(byte[] left, int leftFrom, int leftTo, byte[] right, int rightFrom, int rightTo) {
+        int leftLength = leftTo - leftFrom;
+        int rightLength = rightTo - rightFrom;
+        int common = Math.min(leftLength, rightLength);
+        for (int i = 0; i < common; i++) {
+            int compared = Integer.compare(foldByte(left[leftFrom + i]), foldByte(right[rightFrom + i]));
+            if (compared != 0) {
+                return compared;
+            }
+        }
+        return Integer.compare(leftLength, rightLength);
+    }
+
+    private static final class Table {
+        private static final Table EMPTY = new Table(new byte[0], new int[1], new long[0], new long[0]);
+
+        private final byte[] names;
+        private final int[] offsets;
+        private final long[] msb;
+        private final long[] lsb;
+
+        private Table(byte[] names, int[] offsets, long[] msb, long[] lsb) {
+            this.names = names;
+            this.offsets = offsets;
+            this.msb = msb;
+            this.lsb = lsb;
+        }
+
+        private int size() {
+            return msb.length;
+        }
+
+        private UUID uuid(int index) {
+            return new UUID(msb[index], lsb[index]);
+        }
+
+        private String name(int index) {
+            return new String(names, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+        }
+
+        private byte[] nameBytes(int index) {
+            return Arrays.copyOfRange(names, offsets[index], offsets[index + 1]);
+        }
+
+        private int compare(int index, byte[] key) {
+            return compareRange(names, offsets[index], offsets[index + 1], key, 0, key.length);
+        }
+
+        private boolean startsWith(int index, byte[] prefix) {
+            if (offsets[index + 1] - offsets[index] < prefix.length) {
+                return false;
+            }
+            return compareRange(names, offsets[index], offsets[index] + prefix.length, prefix, 0, prefix.length) == 0;
+        }
+
+        private int lowerBound(byte[] key) {
+            int low = 0;
+            int high = size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (compare(middle, key) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private int find(byte[] key) {
+            int index = lowerBound(key);
+            return index < size() && compare(index, key) == 0 ? index : -1;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package de.syscall.manager;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+public class NegativeLookupCache {
+
+    private final int maximumSize;
+    private final long ttlMillis;
+    private final Pattern validName;
+    private final LinkedHashMap<String, Long> entries;
+    private final ReentrantLock lock;
+
+    private final LongAdder lookups;
+    private final LongAdder hits;
+    private final LongAdder invalidNames;
+    private final LongAdder indexRejections;
+    private final LongAdder recorded;
+    private final LongAdder falsePositives;
+    private final LongAdder evictions;
+
+    public NegativeLookupCache(int maximumSize, long ttlMillis, Pattern validName) {
+        this.maximumSize = Math.max(1, maximumSize);
+        this.ttlMillis = ttlMillis;
+        this.validName = validName;
+        this.entries = new LinkedHashMap<>(16, 0.75f, false);
+        this.lock = new ReentrantLock();
+        this.lookups = new LongAdder();
+        this.hits = new LongAdder();
+        this.invalidNames = new LongAdder();
+        this.indexRejections = new LongAdder();
+        this.recorded = new LongAdder();
+        this.falsePositives = new LongAdder();
+        this.evictions = new LongAdder();
+    }
+
+    public boolean isKnownMissing(String name) {
+        lookups.increment();
+
+        if (validName != null && !validName.matcher(name).matches()) {
+            invalidNames.increment();
+            return true;
+        }
+
+        String key = name.toLowerCase(Locale.ROOT);
+        long now = System.currentTimeMillis();
+
+        lock.lock();
+        try {
+            Long expiresAt = entries.get(key);
+            if (expiresAt == null) {
+                return false;
+            }
+
+            if (expiresAt <= now) {
+                entries.remove(key);
+                return false;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        hits.increment();
+        return true;
+    }
+
+    public void recordIndexRejection(String name) {
+        indexRejections.increment();
+        record(name);
+    }
+
+    public void record(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        long now = System.currentTimeMillis();
+
+        lock.lock();
+        try {
+            entries.remove(key);
+            entries.put(key, now + ttlMillis);
+            recorded.increment();
+
+            Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, Long> eldest = iterator.next();
+                if (entries.size() <= maximumSize && eldest.getValue() > now) {
+                    break;
+                }
+
+                iterator.remove();
+                if (eldest.getValue() > now) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        long now = System.currentTimeMillis();
+
+        lock.lock();
+        try {
+            Long expiresAt = entries.remove(key);
+            if (expiresAt != null && expiresAt > now) {
+                falsePositives.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getStatistics() {
+        long total = lookups.sum();
+        long rejected = hits.sum() + invalidNames.sum();
+        long negatives = recorded.sum();
+        return String.format("entries=%d/%d, hit-rate=%.2f%%, cached=%d, invalid=%d, index=%d, recorded=%d, " +
+                        "false-positives=%d (%.2f%%), evicted=%d",
+                size(), maximumSize, total == 0 ? 0.0 : rejected * 100.0 / total, hits.sum(), invalidNames.sum(),
+                indexRejections.sum(), negatives, falsePositives.sum(),
+                negatives == 0 ? 0.0 : falsePositives.sum() * 100.0 / negatives, evictions.sum());
+    }
+}
@@ -0,0 +1,296 @@
+package de.syscall.manager;
+
+import de.syscall.data.BalanceState;
+import de.syscall.data.EconomyPlayer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+public class OfflineSnapshotStore {
+
+    private static final int SLOT_SIZE = 72;
+    private static final int MSB = 0;
+    private static final int LSB = 8;
+    private static final int COINS = 16;
+    private static final int BANK = 24;
+    private static final int VERSION = 32;
+    private static final int LAST_SEEN = 40;
+    private static final int NAME_LENGTH = 48;
+    private static final int NAME = 49;
+    private static final int NAME_CAPACITY = 16;
+    private static final double LOAD_FACTOR = 0.75;
+
+    private final ByteBuffer table;
+    private final int mask;
+    private final int maxEntries;
+    private final boolean mapped;
+    private final StampedLock lock;
+    private int size;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder stored;
+    private final LongAdder rejected;
+    private final LongAdder promoted;
+
+    private OfflineSnapshotStore(ByteBuffer table, int slots, int maxEntries, boolean mapped) {
+        this.table = table;
+        this.mask = slots - 1;
+        this.maxEntries = maxEntries;
+        this.mapped = mapped;
+        this.lock = new StampedLock();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.stored = new LongAdder();
+        this.rejected = new LongAdder();
+        this.promoted = new LongAdder();
+    }
+
+    public static OfflineSnapshotStore allocate(int capacity) {
+        int slots = slotsFor(capacity);
+        return new OfflineSnapshotStore(ByteBuffer.allocateDirect(slots * SLOT_SIZE), slots, capacity, false);
+    }
+
+    public static OfflineSnapshotStore map(File file, int capacity) throws IOException {
+        int slots = slotsFor(capacity);
+        long bytes = (long) slots * SLOT_SIZE;
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(0L);
+            raf.setLength(bytes);
+            return new OfflineSnapshotStore(raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0L, bytes), slots, capacity, true);
+        }
+    }
+
+    private static int slotsFor(int capacity) {
+        long required = (long) Math.ceil(Math.max(1, capacity) / LOAD_FACTOR);
+        long slots = Long.highestOneBit(required - 1) << 1;
+        if (slots * SLOT_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Offline tier capacity " + capacity + " exceeds a single buffer");
+        }
+        return (int) Math.max(2L, slots);
+    }
+
+    public boolean put(EconomyPlayer player) {
+        return put(player.getUuid(), player.getName(), player.getPersisted(), player.getRowVersion(), player.getLastSeen());
+    }
+
+    public boolean put(UUID uuid, String name, BalanceState balance, long version, long lastSeen) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        if (nameBytes.length > NAME_CAPACITY || (msb == 0L && lsb == 0L)) {
+            rejected.increment();
+            return false;
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            int slot = find(msb, lsb);
+            int offset = slot * SLOT_SIZE;
+
+            if (isEmpty(offset)) {
+                if (size >= maxEntries) {
+                    rejected.increment();
+                    return false;
+                }
+                table.putLong(offset + MSB, msb);
+                table.putLong(offset + LSB, lsb);
+                size++;
+            } else if (table.getLong(offset + VERSION) > version) {
+                return false;
+            }
+
+            table.putLong(offset + COINS, balance.coins());
+            table.putLong(offset + BANK, balance.bankBalance());
+            table.putLong(offset + VERSION, version);
+            table.putLong(offset + LAST_SEEN, lastSeen);
+            table.put(offset + NAME_LENGTH, (byte) nameBytes.length);
+            table.put(offset + NAME, nameBytes);
+
+            stored.increment();
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public Snapshot get(UUID uuid) {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+
+        long stamp = lock.tryOptimisticRead();
+        Snapshot snapshot = read(uuid, msb, lsb);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                snapshot = read(uuid, msb, lsb);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        if (snapshot != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return snapshot;
+    }
+
+    public Snapshot promote(UUID uuid) {
+        Snapshot snapshot = remove(uuid);
+        if (snapshot != null) {
+            promoted.increment();
+        }
+        return snapshot;
+    }
+
+    public Snapshot remove(UUID uuid) {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+
+        long stamp = lock.writeLock();
+        try {
+            int slot = find(msb, lsb);
+            int offset = slot * SLOT_SIZE;
+            if (isEmpty(offset)) {
+                return null;
+            }
+
+            Snapshot snapshot = decode(uuid, offset);
+            delete(slot);
+            size--;
+            return snapshot;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            for (int offset = 0; offset < table.capacity(); offset += 8) {
+                table.putLong(offset, 0L);
+            }
+            size = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private Snapshot read(UUID uuid, long msb, long lsb) {
+        int slot = index(msb, lsb);
+        for (int probes = 0; probes <= mask; probes++) {
+            int offset = slot * SLOT_SIZE;
+            if (isEmpty(offset)) {
+                return null;
+            }
+
+            if (table.getLong(offset + MSB) == msb && table.getLong(offset + LSB) == lsb) {
+                return decode(uuid, offset);
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    private int find(long msb, long lsb) {
+        int slot = index(msb, lsb);
+        while (true) {
+            int offset = slot * SLOT_SIZE;
+            if (isEmpty(offset) || (table.getLong(offset + MSB) == msb && table.getLong(offset + LSB) == lsb)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void delete(int slot) {
+        int hole = slot;
+        int next = (hole + 1) & mask;
+
+        while (!isEmpty(next * SLOT_SIZE)) {
+            int offset = next * SLOT_SIZE;
+            int ideal = index(table.getLong(offset + MSB), table.getLong(offset + LSB));
+            if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+                copySlot(next, hole);
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+
+        int offset = hole * SLOT_SIZE;
+        for (int i = 0; i < SLOT_SIZE; i += 8) {
+            table.putLong(offset + i, 0L);
+        }
+    }
+
+    private void copySlot(int from, int to) {
+        int source = from * SLOT_SIZE;
+        int target = to * SLOT_SIZE;
+        for (int i = 0; i < SLOT_SIZE; i += 8) {
+            table.putLong(target + i, table.getLong(source + i));
+        }
+    }
+
+    private boolean isEmpty(int offset) {
+        return table.getLong(offset + MSB) == 0L && table.getLong(offset + LSB) == 0L;
+    }
+
+    private Snapshot decode(UUID uuid, int offset) {
+        int nameLength = Math.min(NAME_CAPACITY, Math.max(0, table.get(offset + NAME_LENGTH)));
+        byte[] name = new byte[nameLength];
+        table.get(offset + NAME, name);
+
+        return new Snapshot(uuid, new String(name, StandardCharsets.UTF_8),
+                table.getLong(offset + COINS), table.getLong(offset + BANK),
+                table.getLong(offset + VERSION), table.getLong(offset + LAST_SEEN));
+    }
+
+    private int index(long msb, long lsb) {
+        long hash = msb ^ Long.rotateLeft(lsb, 32);
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) hash & mask;
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public String getStatistics() {
+        long lookups = hits.sum() + misses.sum();
+        return String.format("%s, entries=%d/%d, memory=%dMB, hit-rate=%.2f%%, stored=%d, promoted=%d, rejected=%d",
+                mapped ? "mapped" : "direct", size(), maxEntries, table.capacity() / (1024 * 1024),
+                lookups == 0 ? 0.0 : hits.sum() * 100.0 / lookups, stored.sum(), promoted.sum(), rejected.sum());
+    }
+
+    public record Snapshot(UUID uuid, String name, long coins, long bankBalance, long version, long lastSeen) {
+
+        public BalanceState balance() {
+            return new BalanceState(coins, bankBalance);
+        }
+
+        public EconomyPlayer toPlayer() {
+            EconomyPlayer player = new EconomyPlayer(uuid, name, balance(), lastSeen);
+            player.markPersisted(version, player.getBalance());
+            return player;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package de.syscall.manager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class TinyLfuPolicy {
+
+    private final int maximumSize;
+    private final int windowMaximum;
+    private final int mainMaximum;
+    private final int protectedMaximum;
+
+    private final LinkedHashMap<UUID, Boolean> window;
+    private final LinkedHashMap<UUID, Boolean> probation;
+    private final LinkedHashMap<UUID, Boolean> protectedSegment;
+    private final Set<UUID> pinned;
+    private final FrequencySketch sketch;
+    private final ReentrantLock lock;
+
+    private long evictions;
+    private long rejectedCandidates;
+
+    public TinyLfuPolicy(int maximumSize) {
+        this.maximumSize = Math.max(2, maximumSize);
+        this.windowMaximum = Math.max(1, this.maximumSize / 100);
+        this.mainMaximum = this.maximumSize - windowMaximum;
+        this.protectedMaximum = mainMaximum * 80 / 100;
+        this.window = new LinkedHashMap<>(16, 0.75f, true);
+        this.probation = new LinkedHashMap<>(16, 0.75f, true);
+        this.protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+        this.pinned = new HashSet<>();
+        this.sketch = new FrequencySketch(this.maximumSize);
+        this.lock = new ReentrantLock();
+    }
+
+    public void recordAccess(UUID uuid) {
+        if (!lock.tryLock()) {
+            return;
+        }
+
+        try {
+            sketch.increment(uuid);
+
+            if (window.get(uuid) != null || protectedSegment.get(uuid) != null) {
+                return;
+            }
+
+            if (probation.remove(uuid) != null) {
+                protectedSegment.put(uuid, Boolean.TRUE);
+                if (protectedSegment.size() > protectedMaximum) {
+                    UUID demoted = eldest(protectedSegment);
+                    protectedSegment.remove(demoted);
+                    probation.put(demoted, Boolean.TRUE);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<UUID> recordInsert(UUID uuid) {
+        lock.lock();
+        try {
+            if (pinned.contains(uuid) || isTrackedLocked(uuid)) {
+                return List.of();
+            }
+
+            sketch.increment(uuid);
+            window.put(uuid, Boolean.TRUE);
+            return evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(UUID uuid) {
+        lock.lock();
+        try {
+            removeLocked(uuid);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void pin(UUID uuid) {
+        lock.lock();
+        try {
+            removeLocked(uuid);
+            pinned.add(uuid);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<UUID> unpin(UUID uuid) {
+        lock.lock();
+        try {
+            if (!pinned.remove(uuid) || isTrackedLocked(uuid)) {
+                return List.of();
+            }
+
+            window.put(uuid, Boolean.TRUE);
+            return evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isPinned(UUID uuid) {
+        lock.lock();
+        try {
+            return pinned.contains(uuid);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            window.clear();
+            probation.clear();
+            protectedSegment.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<UUID> evict() {
+        if (window.size() <= windowMaximum) {
+            return List.of();
+        }
+
+        List<UUID> evicted = new ArrayList<>(1);
+        while (window.size() > windowMaximum) {
+            UUID candidate = eldest(window);
+            window.remove(candidate);
+
+            if (probation.size() + protectedSegment.size() < mainMaximum) {
+                probation.put(candidate, Boolean.TRUE);
+                continue;
+            }
+
+            UUID victim = probation.isEmpty() ? eldest(protectedSegment) : eldest(probation);
+            if (sketch.frequency(candidate) > sketch.frequency(victim)) {
+                probation.remove(victim);
+                protectedSegment.remove(victim);
+                probation.put(candidate, Boolean.TRUE);
+                evicted.add(victim);
+            } else {
+                rejectedCandidates++;
+                evicted.add(candidate);
+            }
+            evictions++;
+        }
+
+        return evicted;
+    }
+
+    private void removeLocked(UUID uuid) {
+        if (window.remove(uuid) == null && probation.remove(uuid) == null) {
+            protectedSegment.remove(uuid);
+        }
+    }
+
+    private boolean isTrackedLocked(UUID uuid) {
+        return window.containsKey(uuid) || probation.containsKey(uuid) || protectedSegment.containsKey(uuid);
+    }
+
+    private UUID eldest(LinkedHashMap<UUID, Boolean> segment) {
+        return segment.keySet().iterator().next();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public String getStatistics() {
+        lock.lock();
+        try {
+            return String.format("tracked=%d/%d, pinned=%d, evictions=%d, rejected=%d",
+                    window.size() + probation.size() + protectedSegment.size(), maximumSize,
+                    pinned.size(), evictions, rejectedCandidates);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
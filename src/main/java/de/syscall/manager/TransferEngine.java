@@ -0,0 +1,136 @@
+package de.syscall.manager;
+
+import de.syscall.data.BalanceChange;
+import de.syscall.data.EconomyPlayer;
+import de.syscall.util.Money;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+public class TransferEngine {
+
+    private static final int STRIPES = 1024;
+
+    private final Logger logger;
+    private final ReentrantLock[] locks;
+    private final LongAdder completed;
+    private final LongAdder rejected;
+    private final LongAdder rolledBack;
+    private final LongAdder refundOverflows;
+
+    public TransferEngine(Logger logger) {
+        this.logger = logger;
+        this.locks = new ReentrantLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.completed = new LongAdder();
+        this.rejected = new LongAdder();
+        this.rolledBack = new LongAdder();
+        this.refundOverflows = new LongAdder();
+    }
+
+    public Result transfer(EconomyPlayer from, EconomyPlayer to, long amount, long fee, Account account) {
+        int fromStripe = stripe(from.getUuid());
+        int toStripe = stripe(to.getUuid());
+
+        ReentrantLock first = locks[Math.min(fromStripe, toStripe)];
+        ReentrantLock second = locks[Math.max(fromStripe, toStripe)];
+
+        first.lock();
+        try {
+            if (second != first) {
+                second.lock();
+            }
+
+            try {
+                return apply(from, to, amount, fee, account);
+            } finally {
+                if (second != first) {
+                    second.unlock();
+                }
+            }
+        } finally {
+            first.unlock();
+        }
+    }
+
+    private Result apply(EconomyPlayer from, EconomyPlayer to, long amount, long fee, Account account) {
+        long totalDeduction = amount + fee;
+
+        BalanceChange debit = account == Account.COINS
+                ? from.tryRemoveCoinsMinor(totalDeduction)
+                : from.tryRemoveBankBalanceMinor(totalDeduction);
+
+        if (debit == null) {
+            rejected.increment();
+            return null;
+        }
+
+        BalanceChange credit = account == Account.COINS
+                ? to.tryAddCoinsMinor(amount)
+                : to.tryAddBankBalanceMinor(amount);
+
+        if (credit == null) {
+            refund(from, totalDeduction, account);
+            rolledBack.increment();
+            return null;
+        }
+
+        completed.increment();
+        return new Result(debit, credit);
+    }
+
+    private void refund(EconomyPlayer from, long amount, Account account) {
+        BalanceChange refund = account == Account.COINS
+                ? from.addCoinsMinor(amount)
+                : from.addBankBalanceMinor(amount);
+
+        long refunded = account == Account.COINS
+                ? refund.after().coins() - refund.before().coins()
+                : refund.after().bankBalance() - refund.before().bankBalance();
+
+        if (refunded < amount) {
+            refundOverflows.increment();
+            logger.warning("Transfer refund of " + Money.format(amount) + " to " + from.getUuid() + " hit the " +
+                    account.name().toLowerCase() + " limit, " + Money.format(amount - refunded) + " could not be refunded");
+        }
+    }
+
+    private int stripe(UUID uuid) {
+        long hash = uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits();
+        int h = (int) (hash ^ (hash >>> 32));
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getRolledBackCount() {
+        return rolledBack.sum();
+    }
+
+    public long getRefundOverflowCount() {
+        return refundOverflows.sum();
+    }
+
+    public String getStatistics() {
+        return String.format("completed=%d, rejected=%d, rolled-back=%d, refund-overflows=%d",
+                getCompletedCount(), getRejectedCount(), getRolledBackCount(), getRefundOverflowCount());
+    }
+
+    public enum Account {
+        COINS,
+        BANK
+    }
+
+    public record Result(BalanceChange from, BalanceChange to) {
+    }
+}
@@ -0,0 +1,300 @@
+package de.syscall.sync;
+
+import de.syscall.SlownEconomy;
+import de.syscall.data.BalanceNotice;
+import de.syscall.data.EconomyPlayer;
+import de.syscall.manager.OfflineSnapshotStore;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class InvalidationBus {
+
+    private static final byte FORMAT = 2;
+    private static final int NOTICES_PER_FRAME = 256;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 32;
+
+    private final SlownEconomy plugin;
+    private final UUID serverId;
+    private final boolean evict;
+    private final Map<UUID, BalanceNotice> pending;
+
+    private InvalidationTransport transport;
+    private SecretKeySpec key;
+    private BukkitTask tickTask;
+    private volatile boolean running;
+
+    private final LongAdder publishedNotices;
+    private final LongAdder sentFrames;
+    private final LongAdder failedFrames;
+    private final LongAdder receivedFrames;
+    private final LongAdder rejectedFrames;
+    private final LongAdder refreshed;
+    private final LongAdder evicted;
+    private final LongAdder skippedDirty;
+    private final LongAdder skippedStale;
+
+    public InvalidationBus(SlownEconomy plugin) {
+        this.plugin = plugin;
+        this.serverId = UUID.randomUUID();
+        this.evict = "evict".equalsIgnoreCase(plugin.getConfig().getString("sync.on-change", "refresh"));
+        this.pending = new ConcurrentHashMap<>();
+        this.publishedNotices = new LongAdder();
+        this.sentFrames = new LongAdder();
+        this.failedFrames = new LongAdder();
+        this.receivedFrames = new LongAdder();
+        this.rejectedFrames = new LongAdder();
+        this.refreshed = new LongAdder();
+        this.evicted = new LongAdder();
+        this.skippedDirty = new LongAdder();
+        this.skippedStale = new LongAdder();
+    }
+
+    public void start() {
+        if (!plugin.getConfig().getBoolean("sync.enabled", false)) {
+            return;
+        }
+
+        String secret = plugin.getConfig().getString("sync.secret", "");
+        if (secret == null || secret.isEmpty()) {
+            plugin.getLogger().warning("Cross-server sync is enabled but sync.secret is empty, sync stays disabled");
+            return;
+        }
+
+        key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM);
+        transport = createTransport(plugin.getConfig().getString("sync.transport", "plugin-message"));
+
+        try {
+            transport.start(this::receive);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to start " + transport.getName() + " sync transport: " + e.getMessage());
+            transport = null;
+            return;
+        }
+
+        running = true;
+        tickTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                tick();
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+
+        plugin.getLogger().info("Cross-server sync started using " + transport.getName() + " transport");
+    }
+
+    private InvalidationTransport createTransport(String name) {
+        return switch (name.toLowerCase()) {
+            case "socket", "tcp" -> new SocketTransport(plugin);
+            case "local" -> new LocalTransport();
+            default -> new PluginMessageTransport(plugin);
+        };
+    }
+
+    public void publish(EconomyPlayer player) {
+        if (running && player.isStored()) {
+            publish(BalanceNotice.of(player));
+        }
+    }
+
+    public void publish(BalanceNotice notice) {
+        if (!running) {
+            return;
+        }
+
+        pending.merge(notice.uuid(), notice, (current, next) -> next.isNewerThan(current) ? next : current);
+        publishedNotices.increment();
+    }
+
+    public void tick() {
+        if (pending.isEmpty() || transport == null) {
+            return;
+        }
+
+        List<BalanceNotice> batch = new ArrayList<>(Math.min(pending.size(), NOTICES_PER_FRAME));
+        Iterator<Map.Entry<UUID, BalanceNotice>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, BalanceNotice> entry = iterator.next();
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(entry.getValue());
+            }
+
+            if (batch.size() >= NOTICES_PER_FRAME) {
+                send(batch);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    private void send(List<BalanceNotice> batch) {
+        try {
+            if (transport.publish(encode(batch))) {
+                sentFrames.increment();
+                return;
+            }
+        } catch (IOException | GeneralSecurityException e) {
+            plugin.getLogger().warning("Failed to encode sync frame: " + e.getMessage());
+        }
+
+        failedFrames.increment();
+        for (BalanceNotice notice : batch) {
+            pending.merge(notice.uuid(), notice, (current, next) -> next.isNewerThan(current) ? next : current);
+        }
+    }
+
+    private void receive(byte[] frame) {
+        receivedFrames.increment();
+
+        if (frame.length <= MAC_LENGTH) {
+            rejectedFrames.increment();
+            return;
+        }
+
+        byte[] payload = Arrays.copyOf(frame, frame.length - MAC_LENGTH);
+        byte[] signature = Arrays.copyOfRange(frame, frame.length - MAC_LENGTH, frame.length);
+
+        try {
+            if (!MessageDigest.isEqual(signature, sign(payload))) {
+                rejectedFrames.increment();
+                return;
+            }
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            if (in.readByte() != FORMAT) {
+                rejectedFrames.increment();
+                return;
+            }
+
+            if (serverId.equals(new UUID(in.readLong(), in.readLong()))) {
+                return;
+            }
+
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                apply(new BalanceNotice(new UUID(in.readLong(), in.readLong()), in.readUTF(),
+                        in.readLong(), in.readLong(), in.readLong()));
+            }
+        } catch (IOException | GeneralSecurityException e) {
+            rejectedFrames.increment();
+            plugin.getLogger().warning("Received malformed sync frame: " + e.getMessage());
+        }
+    }
+
+    private void apply(BalanceNotice notice) {
+        plugin.getCacheManager().indexName(notice.uuid(), notice.name());
+
+        EconomyPlayer cached = plugin.getCacheManager().peekPlayer(notice.uuid());
+        if (cached == null) {
+            OfflineSnapshotStore.Snapshot snapshot = plugin.getCacheManager().getOfflineSnapshot(notice.uuid());
+            if (snapshot != null && notice.version() <= snapshot.version()) {
+                skippedStale.increment();
+                return;
+            }
+
+            plugin.getLeaderboardManager().update(notice.toPlayer());
+            plugin.getCacheManager().storeSnapshot(notice);
+            return;
+        }
+
+        if (notice.version() <= cached.getRowVersion()) {
+            skippedStale.increment();
+            return;
+        }
+
+        if (cached.isModified()) {
+            skippedDirty.increment();
+            return;
+        }
+
+        if (evict && plugin.getCacheManager().invalidatePlayer(notice.uuid())) {
+            plugin.getLeaderboardManager().update(notice.toPlayer());
+            evicted.increment();
+            return;
+        }
+
+        if (cached.refresh(notice.balance(), notice.version()) != null) {
+            refreshed.increment();
+        }
+    }
+
+    private byte[] encode(List<BalanceNotice> batch) throws IOException, GeneralSecurityException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + batch.size() * 64);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeByte(FORMAT);
+        out.writeLong(serverId.getMostSignificantBits());
+        out.writeLong(serverId.getLeastSignificantBits());
+        out.writeInt(batch.size());
+        for (BalanceNotice notice : batch) {
+            out.writeLong(notice.uuid().getMostSignificantBits());
+            out.writeLong(notice.uuid().getLeastSignificantBits());
+            out.writeUTF(notice.name());
+            out.writeLong(notice.version());
+            out.writeLong(notice.coins());
+            out.writeLong(notice.bankBalance());
+        }
+
+        byte[] payload = bytes.toByteArray();
+        out.write(sign(payload));
+        return bytes.toByteArray();
+    }
+
+    private byte[] sign(byte[] payload) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(MAC_ALGORITHM);
+        mac.init(key);
+        return mac.doFinal(payload);
+    }
+
+    public void close() {
+        if (!running) {
+            return;
+        }
+
+        if (tickTask != null) {
+            tickTask.cancel();
+        }
+
+        tick();
+        running = false;
+        transport.close();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public String getStatistics() {
+        if (!running) {
+            return "disabled";
+        }
+
+        return String.format("%s, published=%d, frames=%d, failed=%d, pending=%d, received=%d, rejected=%d, " +
+                        "refreshed=%d, evicted=%d, dirty=%d, stale=%d",
+                transport.getName(), publishedNotices.sum(), sentFrames.sum(), failedFrames.sum(), pending.size(),
+                receivedFrames.sum(), rejectedFrames.sum(), refreshed.sum(), evicted.sum(),
+                skippedDirty.sum(), skippedStale.sum());
+    }
+}
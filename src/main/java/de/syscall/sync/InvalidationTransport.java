@@ -0,0 +1,15 @@
+package de.syscall.sync;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+public interface InvalidationTransport {
+
+    void start(Consumer<byte[]> receiver) throws IOException;
+
+    boolean publish(byte[] frame);
+
+    void close();
+
+    String getName();
+}
@@ -0,0 +1,40 @@
+package de.syscall.sync;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+public class LocalTransport implements InvalidationTransport {
+
+    private static final List<LocalTransport> MEMBERS = new CopyOnWriteArrayList<>();
+
+    private volatile Consumer<byte[]> receiver;
+
+    @Override
+    public void start(Consumer<byte[]> receiver) {
+        this.receiver = receiver;
+        MEMBERS.add(this);
+    }
+
+    @Override
+    public boolean publish(byte[] frame) {
+        for (LocalTransport member : MEMBERS) {
+            Consumer<byte[]> target = member.receiver;
+            if (member != this && target != null) {
+                target.accept(frame.clone());
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        MEMBERS.remove(this);
+        receiver = null;
+    }
+
+    @Override
+    public String getName() {
+        return "local";
+    }
+}
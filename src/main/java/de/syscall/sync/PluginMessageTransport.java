@@ -0,0 +1,96 @@
+package de.syscall.sync;
+
+import de.syscall.SlownEconomy;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.messaging.PluginMessageListener;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+public class PluginMessageTransport implements InvalidationTransport, PluginMessageListener {
+
+    private static final String CHANNEL = "BungeeCord";
+    private static final String SUBCHANNEL = "SlownEconomy";
+    private static final int MAX_FRAME = Short.MAX_VALUE;
+
+    private final SlownEconomy plugin;
+    private volatile Consumer<byte[]> receiver;
+
+    public PluginMessageTransport(SlownEconomy plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void start(Consumer<byte[]> receiver) {
+        this.receiver = receiver;
+        plugin.getServer().getMessenger().registerOutgoingPluginChannel(plugin, CHANNEL);
+        plugin.getServer().getMessenger().registerIncomingPluginChannel(plugin, CHANNEL, this);
+    }
+
+    @Override
+    public boolean publish(byte[] frame) {
+        if (frame.length > MAX_FRAME) {
+            plugin.getLogger().warning("Sync frame of " + frame.length + " bytes exceeds the plugin message limit");
+            return false;
+        }
+
+        Iterator<? extends Player> players = plugin.getServer().getOnlinePlayers().iterator();
+        if (!players.hasNext()) {
+            return false;
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(frame.length + 32);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF("Forward");
+            out.writeUTF("ALL");
+            out.writeUTF(SUBCHANNEL);
+            out.writeShort(frame.length);
+            out.write(frame);
+
+            players.next().sendPluginMessage(plugin, CHANNEL, bytes.toByteArray());
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to encode sync plugin message: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void onPluginMessageReceived(String channel, Player player, byte[] message) {
+        Consumer<byte[]> target = receiver;
+        if (!CHANNEL.equals(channel) || target == null) {
+            return;
+        }
+
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(message));
+            if (!SUBCHANNEL.equals(in.readUTF())) {
+                return;
+            }
+
+            byte[] frame = new byte[in.readUnsignedShort()];
+            in.readFully(frame);
+            target.accept(frame);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Received malformed sync plugin message: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        receiver = null;
+        plugin.getServer().getMessenger().unregisterIncomingPluginChannel(plugin, CHANNEL);
+        plugin.getServer().getMessenger().unregisterOutgoingPluginChannel(plugin, CHANNEL);
+    }
+
+    @Override
+    public String getName() {
+        return "plugin-message";
+    }
+}
@@ -0,0 +1,250 @@
+package de.syscall.sync;
+
+import de.syscall.SlownEconomy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class SocketTransport implements InvalidationTransport {
+
+    private static final int MAX_FRAME = 1024 * 1024;
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final long RECONNECT_DELAY = TimeUnit.SECONDS.toMillis(5);
+    private static final int CONNECT_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(3);
+
+    private final SlownEconomy plugin;
+    private final String bindAddress;
+    private final int port;
+    private final List<Peer> peers;
+    private final Set<Socket> inbound;
+
+    private volatile boolean running;
+    private volatile Consumer<byte[]> receiver;
+    private ServerSocket serverSocket;
+
+    public SocketTransport(SlownEconomy plugin) {
+        this.plugin = plugin;
+        this.bindAddress = plugin.getConfig().getString("sync.socket.bind", "127.0.0.1");
+        this.port = plugin.getConfig().getInt("sync.socket.port", 25590);
+        this.peers = new ArrayList<>();
+        this.inbound = ConcurrentHashMap.newKeySet();
+
+        for (String peer : plugin.getConfig().getStringList("sync.socket.peers")) {
+            int separator = peer.lastIndexOf(':');
+            if (separator <= 0) {
+                plugin.getLogger().warning("Ignoring sync peer without port: " + peer);
+                continue;
+            }
+
+            try {
+                peers.add(new Peer(peer.substring(0, separator), Integer.parseInt(peer.substring(separator + 1))));
+            } catch (NumberFormatException e) {
+                plugin.getLogger().warning("Ignoring sync peer with invalid port: " + peer);
+            }
+        }
+    }
+
+    @Override
+    public void start(Consumer<byte[]> receiver) throws IOException {
+        this.receiver = receiver;
+        this.running = true;
+
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(bindAddress, port));
+
+        startThread("SlownEconomy-Sync-Accept", this::acceptLoop);
+        for (Peer peer : peers) {
+            startThread("SlownEconomy-Sync-" + peer.host + ":" + peer.port, peer::writeLoop);
+        }
+
+        plugin.getLogger().info("Sync socket listening on " + bindAddress + ":" + port + " with " + peers.size() + " peers");
+    }
+
+    @Override
+    public boolean publish(byte[] frame) {
+        boolean delivered = true;
+        for (Peer peer : peers) {
+            if (!peer.queue.offer(frame)) {
+                delivered = false;
+            }
+        }
+        return delivered;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        receiver = null;
+
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Error closing sync socket: " + e.getMessage());
+        }
+
+        for (Socket socket : inbound) {
+            closeQuietly(socket);
+        }
+
+        for (Peer peer : peers) {
+            peer.close();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "socket";
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                inbound.add(socket);
+                startThread("SlownEconomy-Sync-Reader", () -> readLoop(socket));
+            } catch (IOException e) {
+                if (running) {
+                    plugin.getLogger().warning("Sync socket accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void readLoop(Socket socket) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            while (running) {
+                int length = in.readInt();
+                if (length <= 0 || length > MAX_FRAME) {
+                    plugin.getLogger().warning("Closing sync connection from " + socket.getRemoteSocketAddress() +
+                            " after invalid frame length " + length);
+                    return;
+                }
+
+                byte[] frame = new byte[length];
+                in.readFully(frame);
+
+                Consumer<byte[]> target = receiver;
+                if (target != null) {
+                    target.accept(frame);
+                }
+            }
+        } catch (EOFException ignored) {
+        } catch (IOException e) {
+            if (running) {
+                plugin.getLogger().warning("Sync connection from " + socket.getRemoteSocketAddress() + " failed: " + e.getMessage());
+            }
+        } finally {
+            inbound.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    private void startThread(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private final class Peer {
+        private final String host;
+        private final int port;
+        private final BlockingQueue<byte[]> queue;
+        private volatile Socket socket;
+        private DataOutputStream out;
+
+        private Peer(String host, int port) {
+            this.host = host;
+            this.port = port;
+            this.queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+        }
+
+        private void writeLoop() {
+            while (running) {
+                byte[] frame;
+                try {
+                    frame = queue.poll(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                if (frame == null) {
+                    continue;
+                }
+
+                try {
+                    connect();
+                    out.writeInt(frame.length);
+                    out.write(frame);
+                    if (queue.isEmpty()) {
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    disconnect();
+                    queue.offer(frame);
+                    plugin.getLogger().warning("Sync peer " + host + ":" + port + " unreachable: " + e.getMessage());
+                    sleep();
+                }
+            }
+        }
+
+        private void connect() throws IOException {
+            if (socket != null) {
+                return;
+            }
+
+            Socket connection = new Socket();
+            connection.setTcpNoDelay(true);
+            connection.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT);
+            out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+            socket = connection;
+        }
+
+        private void disconnect() {
+            Socket current = socket;
+            socket = null;
+            out = null;
+            if (current != null) {
+                closeQuietly(current);
+            }
+        }
+
+        private void sleep() {
+            try {
+                Thread.sleep(RECONNECT_DELAY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void close() {
+            disconnect();
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package de.syscall.util;
+
+import org.bukkit.configuration.file.FileConfiguration;
+
+public record EconomySettings(double maxCoins,
+                              double maxBankBalance,
+                              double startingCoins,
+                              double startingBankBalance,
+                              boolean transferEnabled,
+                              double minTransferAmount,
+                              double maxTransferAmount,
+                              double transferFeePercentage) {
+
+    public static EconomySettings load(FileConfiguration config) {
+        return new EconomySettings(
+                config.getDouble("economy.max-coins", 999999999.0),
+                config.getDouble("economy.max-bank-balance", 999999999.0),
+                config.getDouble("economy.starting-coins", 100.0),
+                config.getDouble("economy.starting-bank-balance", 0.0),
+                config.getBoolean("economy.transfer.enabled", true),
+                config.getDouble("economy.transfer.min-amount", 1.0),
+                config.getDouble("economy.transfer.max-amount", 100000.0),
+                config.getDouble("economy.transfer.fee-percentage", 0.0)
+        );
+    }
+
+    public long maxCoinsMinor() {
+        return Money.toMinor(maxCoins);
+    }
+
+    public long maxBankBalanceMinor() {
+        return Money.toMinor(maxBankBalance);
+    }
+}
@@ -5,9 +5,23 @@ import de.syscall.SlownEconomy;
 public class EconomyValidator {
 
     private final SlownEconomy plugin;
+    private volatile EconomySettings settings;
 
     public EconomyValidator(SlownEconomy plugin) {
         this.plugin = plugin;
+        reload();
+    }
+
+    public void reload() {
+        apply(EconomySettings.load(plugin.getConfig()));
+    }
+
+    public void apply(EconomySettings settings) {
+        this.settings = settings;
+    }
+
+    public EconomySettings getSettings() {
+        return settings;
     }
 
     public boolean isCoinsAmountTooHigh(double amount) {
@@ -23,54 +37,56 @@ public class EconomyValidator {
     }
 
     public boolean isTransferEnabled() {
-        return plugin.getConfig().getBoolean("economy.transfer.enabled", true);
+        return settings.transferEnabled();
     }
 
     public boolean isTransferAmountInvalid(double amount) {
-        if (!isTransferEnabled()) return true;
-        if (amount <= 0) return true;
-
-        double minAmount = getMinTransferAmount();
-        double maxAmount = getMaxTransferAmount();
+        EconomySettings current = settings;
+        if (!current.transferEnabled()) return true;
+        if (!Money.isPositive(amount)) return true;
 
-        return amount < minAmount || amount > maxAmount;
+        return amount < current.minTransferAmount() || amount > current.maxTransferAmount();
     }
 
     public double getTransferFee(double amount) {
-        double feePercentage = getTransferFeePercentage();
-        return amount * (feePercentage / 100.0);
+        return Money.percentage(amount, getTransferFeePercentage());
+    }
+
+    public long getTransferFee(long amount) {
+        return Money.percentage(amount, getTransferFeePercentage());
     }
 
     public double getTotalTransferCost(double amount) {
-        return amount + getTransferFee(amount);
+        long minor = Money.toMinor(amount);
+        return Money.toMajor(minor + getTransferFee(minor));
     }
 
     public double getMaxCoins() {
-        return plugin.getConfig().getDouble("economy.max-coins", 999999999.0);
+        return settings.maxCoins();
     }
 
     public double getMaxBankBalance() {
-        return plugin.getConfig().getDouble("economy.max-bank-balance", 999999999.0);
+        return settings.maxBankBalance();
     }
 
     public double getStartingCoins() {
-        return plugin.getConfig().getDouble("economy.starting-coins", 100.0);
+        return settings.startingCoins();
     }
 
     public double getStartingBankBalance() {
-        return plugin.getConfig().getDouble("economy.starting-bank-balance", 0.0);
+        return settings.startingBankBalance();
     }
 
     public double getMinTransferAmount() {
-        return plugin.getConfig().getDouble("economy.transfer.min-amount", 1.0);
+        return settings.minTransferAmount();
     }
 
     public double getMaxTransferAmount() {
-        return plugin.getConfig().getDouble("economy.transfer.max-amount", 100000.0);
+        return settings.maxTransferAmount();
     }
 
     public double getTransferFeePercentage() {
-        return plugin.getConfig().getDouble("economy.transfer.fee-percentage", 0.0);
+        return settings.transferFeePercentage();
     }
 
     public boolean canAffordTransfer(double playerCoins, double transferAmount) {
@@ -79,31 +95,32 @@ public class EconomyValidator {
     }
 
     public boolean wouldExceedCoinsLimit(double currentCoins, double addAmount) {
-        return (currentCoins + addAmount) > getMaxCoins();
+        return Money.toMinor(currentCoins) + Money.toMinor(addAmount) > settings.maxCoinsMinor();
     }
 
     public boolean wouldExceedBankLimit(double currentBank, double addAmount) {
-        return (currentBank + addAmount) > getMaxBankBalance();
+        return Money.toMinor(currentBank) + Money.toMinor(addAmount) > settings.maxBankBalanceMinor();
     }
 
     public String getTransferValidationError(double amount) {
-        if (!isTransferEnabled()) {
+        EconomySettings current = settings;
+        if (!current.transferEnabled()) {
             return "Transfers sind deaktiviert";
         }
 
-        if (amount <= 0) {
+        if (!Money.isPositive(amount)) {
             return "Betrag muss positiv sein";
         }
 
-        double minAmount = getMinTransferAmount();
-        double maxAmount = getMaxTransferAmount();
+        double minAmount = current.minTransferAmount();
+        double maxAmount = current.maxTransferAmount();
 
         if (amount < minAmount) {
-            return "Minimum: " + String.format("%.2f", minAmount) + " Coins";
+            return "Minimum: " + Money.format(minAmount) + " Coins";
         }
 
         if (amount > maxAmount) {
-            return "Maximum: " + String.format("%.2f", maxAmount) + " Coins";
+            return "Maximum: " + Money.format(maxAmount) + " Coins";
         }
 
         return null;
@@ -116,7 +133,7 @@ public class EconomyValidator {
 
         double maxCoins = getMaxCoins();
         if (amount > maxCoins) {
-            return "Maximum: " + String.format("%.2f", maxCoins) + " Coins";
+            return "Maximum: " + Money.format(maxCoins) + " Coins";
         }
 
         return null;
@@ -129,7 +146,7 @@ public class EconomyValidator {
 
         double maxBank = getMaxBankBalance();
         if (amount > maxBank) {
-            return "Maximum: " + String.format("%.2f", maxBank) + " Coins";
+            return "Maximum: " + Money.format(maxBank) + " Coins";
         }
 
         return null;
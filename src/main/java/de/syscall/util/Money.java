@@ -0,0 +1,63 @@
+package de.syscall.util;
+
+public final class Money {
+
+    public static final long SCALE = 100L;
+
+    private static volatile boolean fixedPoint = false;
+
+    private Money() {
+    }
+
+    public static void setFixedPoint(boolean fixedPoint) {
+        Money.fixedPoint = fixedPoint;
+    }
+
+    public static boolean isFixedPoint() {
+        return fixedPoint;
+    }
+
+    public static long toMinor(double amount) {
+        return Math.round(amount * SCALE);
+    }
+
+    public static boolean isPositive(double amount) {
+        return toMinor(amount) > 0;
+    }
+
+    public static double toMajor(long minor) {
+        return (double) minor / SCALE;
+    }
+
+    public static double normalize(double amount) {
+        return toMajor(toMinor(amount));
+    }
+
+    public static double percentage(double amount, double percentage) {
+        return toMajor(percentage(toMinor(amount), percentage));
+    }
+
+    public static long percentage(long minor, double percentage) {
+        long basisPoints = Math.round(percentage * 100.0);
+        return Math.floorDiv(Math.multiplyExact(minor, basisPoints) + 5_000L, 10_000L);
+    }
+
+    public static String format(double amount) {
+        return format(toMinor(amount));
+    }
+
+    public static String format(long minor) {
+        StringBuilder builder = new StringBuilder(16);
+        if (minor < 0) {
+            builder.append('-');
+            minor = -minor;
+        }
+
+        long cents = minor % SCALE;
+        builder.append(minor / SCALE).append('.');
+        if (cents < 10) {
+            builder.append('0');
+        }
+        return builder.append(cents).toString();
+    }
+}
@@ -0,0 +1,47 @@
+package de.syscall.util;
+
+import java.util.UUID;
+
+public final class UuidBytes {
+
+    public static final int LENGTH = 16;
+
+    private UuidBytes() {
+    }
+
+    public static byte[] toBytes(UUID uuid) {
+        byte[] bytes = new byte[LENGTH];
+        writeLong(bytes, 0, uuid.getMostSignificantBits());
+        writeLong(bytes, 8, uuid.getLeastSignificantBits());
+        return bytes;
+    }
+
+    public static UUID fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != LENGTH) {
+            throw new IllegalArgumentException("Expected " + LENGTH + " uuid bytes");
+        }
+        return new UUID(readLong(bytes, 0), readLong(bytes, 8));
+    }
+
+    public static UUID fromValue(Object value) {
+        if (value instanceof byte[] bytes) {
+            return fromBytes(bytes);
+        }
+        return UUID.fromString(value.toString());
+    }
+
+    private static void writeLong(byte[] bytes, int offset, long value) {
+        for (int i = 7; i >= 0; i--) {
+            bytes[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0L;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFFL);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,65 @@
+package de.syscall;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+public final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    public static long runThreads(int threads, int operations, IntConsumer operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>(threads);
+
+        try {
+            for (int i = 0; i < threads; i++) {
+                int thread = i;
+                workers.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    for (int j = 0; j < operations; j++) {
+                        operation.accept(thread);
+                    }
+                    return null;
+                }));
+            }
+
+            ready.await();
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(10, TimeUnit.MINUTES);
+            }
+            return System.nanoTime() - begin;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    public static long totalAllocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getTotalThreadAllocatedBytes();
+    }
+
+    public static double perSecond(long count, long nanos) {
+        return nanos == 0 ? 0.0 : count * 1_000_000_000.0 / nanos;
+    }
+
+    public static void report(String name, String format, Object... args) {
+        System.out.println("[benchmark] " + name + ": " + String.format(Locale.ROOT, format, args));
+    }
+}
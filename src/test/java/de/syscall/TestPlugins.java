@@ -0,0 +1,33 @@
+package de.syscall;
+
+import org.bukkit.Server;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitScheduler;
+
+import java.io.File;
+import java.util.logging.Logger;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public final class TestPlugins {
+
+    private TestPlugins() {
+    }
+
+    public static SlownEconomy plugin(YamlConfiguration config) {
+        return plugin(config, null);
+    }
+
+    public static SlownEconomy plugin(YamlConfiguration config, File dataFolder) {
+        SlownEconomy plugin = mock(SlownEconomy.class);
+        Server server = mock(Server.class);
+        BukkitScheduler scheduler = mock(BukkitScheduler.class);
+        when(plugin.getConfig()).thenReturn(config);
+        when(plugin.getLogger()).thenReturn(Logger.getLogger("SlownEconomy"));
+        when(plugin.getServer()).thenReturn(server);
+        when(server.getScheduler()).thenReturn(scheduler);
+        when(plugin.getDataFolder()).thenReturn(dataFolder);
+        return plugin;
+    }
+}
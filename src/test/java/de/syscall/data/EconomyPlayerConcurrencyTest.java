@@ -0,0 +1,130 @@
+package de.syscall.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EconomyPlayerConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS = 20000;
+
+    @Test
+    void coinOperationsConserveMoney() throws Exception {
+        EconomyPlayer player = player(1000.0, 1000.0);
+        long initial = player.getBalance().totalWealth();
+        LongAdder added = new LongAdder();
+        LongAdder removed = new LongAdder();
+
+        run(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long amount = random.nextLong(1, 5000);
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    if (player.tryAddCoinsMinor(amount) != null) {
+                        added.add(amount);
+                    }
+                }
+                case 1 -> {
+                    if (player.tryRemoveCoinsMinor(amount) != null) {
+                        removed.add(amount);
+                    }
+                }
+                case 2 -> player.tryDepositToBank(amount / 100.0);
+                default -> player.tryWithdrawFromBank(amount / 100.0);
+            }
+        });
+
+        BalanceState balance = player.getBalance();
+        assertTrue(balance.coins() >= 0);
+        assertTrue(balance.bankBalance() >= 0);
+        assertEquals(initial + added.sum() - removed.sum(), balance.totalWealth());
+    }
+
+    @Test
+    void bankOperationsConserveMoney() throws Exception {
+        EconomyPlayer player = player(500.0, 500.0);
+        long initial = player.getBalance().totalWealth();
+        LongAdder added = new LongAdder();
+        LongAdder removed = new LongAdder();
+
+        run(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long amount = random.nextLong(1, 5000);
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    if (player.tryAddBankBalanceMinor(amount) != null) {
+                        added.add(amount);
+                    }
+                }
+                case 1 -> {
+                    if (player.tryRemoveBankBalanceMinor(amount) != null) {
+                        removed.add(amount);
+                    }
+                }
+                case 2 -> player.tryDepositToBank(amount / 100.0);
+                default -> player.tryWithdrawFromBank(amount / 100.0);
+            }
+        });
+
+        BalanceState balance = player.getBalance();
+        assertTrue(balance.coins() >= 0);
+        assertTrue(balance.bankBalance() >= 0);
+        assertEquals(initial + added.sum() - removed.sum(), balance.totalWealth());
+    }
+
+    @Test
+    void changesReportTheStateTheyReplaced() throws Exception {
+        EconomyPlayer player = player(0.0, 0.0);
+        LongAdder credited = new LongAdder();
+
+        run(() -> {
+            BalanceChange change = player.tryAddCoinsMinor(1);
+            assertEquals(change.before().coins() + 1, change.after().coins());
+            credited.increment();
+        });
+
+        assertEquals(credited.sum(), player.getBalance().coins());
+    }
+
+    private static EconomyPlayer player(double coins, double bankBalance) {
+        return new EconomyPlayer(UUID.randomUUID(), "test", coins, bankBalance, System.currentTimeMillis());
+    }
+
+    private static void run(Runnable operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < OPERATIONS; j++) {
+                        operation.run();
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
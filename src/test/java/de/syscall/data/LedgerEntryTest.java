@@ -0,0 +1,32 @@
+package de.syscall.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LedgerEntryTest {
+
+    @Test
+    void depositRecordsTheAppliedAmount() {
+        EconomyPlayer player = new EconomyPlayer(UUID.randomUUID(), "test", 10.0, 0.0, 0L);
+        BalanceChange change = player.tryDepositToBank(1.004);
+
+        LedgerEntry entry = LedgerEntry.deposit(player.getUuid(), change);
+
+        assertEquals(1.0, entry.amount());
+        assertEquals(1.0, entry.balanceAfter());
+    }
+
+    @Test
+    void withdrawRecordsTheAppliedAmount() {
+        EconomyPlayer player = new EconomyPlayer(UUID.randomUUID(), "test", 0.0, 10.0, 0L);
+        BalanceChange change = player.tryWithdrawFromBank(2.505);
+
+        LedgerEntry entry = LedgerEntry.withdraw(player.getUuid(), change);
+
+        assertEquals(2.51, entry.amount());
+        assertEquals(2.51, entry.balanceAfter());
+    }
+}
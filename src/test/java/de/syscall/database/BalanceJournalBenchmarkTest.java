@@ -0,0 +1,74 @@
+package de.syscall.database;
+
+import de.syscall.Benchmarks;
+import de.syscall.TestPlugins;
+import de.syscall.data.BalanceState;
+import de.syscall.data.EconomyPlayer;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+class BalanceJournalBenchmarkTest {
+
+    private static final int ENTRIES = 1_000_000;
+    private static final int PLAYERS = 100_000;
+
+    @TempDir
+    Path dataFolder;
+
+    @Test
+    void replayOneMillionEntries() throws IOException {
+        List<EconomyPlayer> players = new ArrayList<>(PLAYERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            players.add(new EconomyPlayer(UUID.randomUUID(), "bench" + i, new BalanceState(0L, 0L), 0L));
+        }
+
+        BalanceJournal journal = journal();
+        journal.open();
+        long start = System.nanoTime();
+        for (int i = 0; i < ENTRIES; i++) {
+            EconomyPlayer player = players.get(i % PLAYERS);
+            player.tryAddCoinsMinor(1L);
+            journal.append(player);
+        }
+        journal.close();
+        long appendNanos = System.nanoTime() - start;
+
+        File segments = dataFolder.resolve("journal").toFile();
+        long bytes = 0;
+        for (File segment : segments.listFiles()) {
+            bytes += segment.length();
+        }
+
+        start = System.nanoTime();
+        List<EconomyPlayer> replayed = journal().replay();
+        long replayNanos = System.nanoTime() - start;
+
+        assertEquals(PLAYERS, replayed.size());
+        for (EconomyPlayer player : replayed) {
+            assertEquals(ENTRIES / PLAYERS, player.getBalance().coins());
+        }
+
+        Benchmarks.report("journal append", "%,d entries: %,.0f entries/s", ENTRIES, Benchmarks.perSecond(ENTRIES, appendNanos));
+        Benchmarks.report("journal replay", "%,d entries (%,d KiB, %,d players): %,d ms, %,.0f entries/s",
+                ENTRIES, bytes / 1024, PLAYERS, replayNanos / 1_000_000, Benchmarks.perSecond(ENTRIES, replayNanos));
+    }
+
+    private BalanceJournal journal() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("journal.enabled", true);
+        config.set("journal.commit-interval", 5);
+        return new BalanceJournal(TestPlugins.plugin(config, dataFolder.toFile()));
+    }
+}
@@ -0,0 +1,148 @@
+package de.syscall.database;
+
+import de.syscall.TestPlugins;
+import de.syscall.data.BalanceState;
+import de.syscall.data.EconomyPlayer;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BalanceJournalTest {
+
+    @TempDir
+    Path dataFolder;
+
+    @Test
+    void replayReturnsTheLatestStatePerPlayer() throws IOException {
+        EconomyPlayer first = player("first", 100L);
+        first.markPersisted(3L, new BalanceState(100L, 0L));
+        EconomyPlayer second = player("second", 250L);
+
+        BalanceJournal journal = journal();
+        journal.open();
+        journal.append(first);
+        first.tryAddCoinsMinor(50L);
+        journal.append(first);
+        journal.append(second);
+        journal.close();
+
+        Map<UUID, EconomyPlayer> replayed = byUuid(journal().replay());
+        assertEquals(2, replayed.size());
+
+        EconomyPlayer restored = replayed.get(first.getUuid());
+        assertEquals("first", restored.getName());
+        assertEquals(150L, restored.getBalance().coins());
+        assertEquals(3L, restored.getRowVersion());
+        assertEquals(100L, restored.getPersisted().coins());
+        assertEquals(250L, replayed.get(second.getUuid()).getBalance().coins());
+    }
+
+    @Test
+    void replayKeepsTheIntactPrefixOfATornSegment() throws IOException {
+        List<EconomyPlayer> players = List.of(player("a", 1L), player("b", 2L), player("c", 3L));
+        writeAndClose(players);
+
+        try (RandomAccessFile segment = new RandomAccessFile(segment(1L), "rw")) {
+            segment.setLength(segment.length() - 5);
+        }
+
+        Map<UUID, EconomyPlayer> replayed = byUuid(journal().replay());
+        assertEquals(2, replayed.size());
+        assertTrue(replayed.containsKey(players.get(0).getUuid()));
+        assertTrue(replayed.containsKey(players.get(1).getUuid()));
+    }
+
+    @Test
+    void replayStopsAtACorruptRecord() throws IOException {
+        List<EconomyPlayer> players = List.of(player("a", 1L), player("b", 2L), player("c", 3L));
+        writeAndClose(players);
+
+        try (RandomAccessFile segment = new RandomAccessFile(segment(1L), "rw")) {
+            long offset = segment.length() - 10;
+            segment.seek(offset);
+            int value = segment.read();
+            segment.seek(offset);
+            segment.write(value ^ 0xFF);
+        }
+
+        Map<UUID, EconomyPlayer> replayed = byUuid(journal().replay());
+        assertEquals(2, replayed.size());
+        assertTrue(replayed.containsKey(players.get(0).getUuid()));
+        assertTrue(replayed.containsKey(players.get(1).getUuid()));
+    }
+
+    @Test
+    void discardedSegmentsAreNotReplayed() throws IOException {
+        EconomyPlayer flushed = player("flushed", 10L);
+        EconomyPlayer unflushed = player("unflushed", 20L);
+
+        BalanceJournal journal = journal();
+        journal.open();
+        journal.append(flushed);
+        long sealed = journal.rotate();
+        journal.append(unflushed);
+        journal.discardUpTo(sealed);
+        journal.close();
+
+        Map<UUID, EconomyPlayer> replayed = byUuid(journal().replay());
+        assertEquals(1, replayed.size());
+        assertTrue(replayed.containsKey(unflushed.getUuid()));
+
+        journal().discardAll();
+        assertTrue(journal().replay().isEmpty());
+    }
+
+    @Test
+    void reopenedJournalAppendsToANewSegment() throws IOException {
+        EconomyPlayer player = player("player", 5L);
+        writeAndClose(List.of(player));
+
+        player.tryAddCoinsMinor(5L);
+        writeAndClose(List.of(player));
+
+        assertTrue(segment(1L).exists());
+        assertTrue(segment(2L).exists());
+        assertEquals(10L, journal().replay().get(0).getBalance().coins());
+    }
+
+    private void writeAndClose(List<EconomyPlayer> players) throws IOException {
+        BalanceJournal journal = journal();
+        journal.open();
+        for (EconomyPlayer player : players) {
+            journal.append(player);
+        }
+        journal.close();
+    }
+
+    private File segment(long id) {
+        return dataFolder.resolve("journal").resolve("journal-" + id + ".log").toFile();
+    }
+
+    private BalanceJournal journal() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("journal.enabled", true);
+        config.set("journal.commit-interval", 1);
+        return new BalanceJournal(TestPlugins.plugin(config, dataFolder.toFile()));
+    }
+
+    private static Map<UUID, EconomyPlayer> byUuid(List<EconomyPlayer> players) {
+        return players.stream().collect(Collectors.toMap(EconomyPlayer::getUuid, Function.identity()));
+    }
+
+    private static EconomyPlayer player(String name, long coins) {
+        return new EconomyPlayer(UUID.randomUUID(), name, new BalanceState(coins, 0L), 0L);
+    }
+}
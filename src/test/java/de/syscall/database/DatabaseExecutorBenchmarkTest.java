@@ -0,0 +1,50 @@
+package de.syscall.database;
+
+import de.syscall.Benchmarks;
+import de.syscall.TestPlugins;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+class DatabaseExecutorBenchmarkTest {
+
+    private static final int WORKERS = 4;
+    private static final int[] CLIENTS = {4, 16, 64};
+    private static final int OPERATIONS = 500;
+    private static final long QUERY_NANOS = 1_000_000L;
+
+    @Test
+    void saturation() throws Exception {
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            for (int clients : CLIENTS) {
+                DatabaseExecutor executor = executor(virtualThreads);
+                try {
+                    long nanos = Benchmarks.runThreads(clients, OPERATIONS, thread ->
+                            executor.supply(() -> {
+                                LockSupport.parkNanos(QUERY_NANOS);
+                                return null;
+                            }).join());
+
+                    assertEquals(0L, executor.getRejectedCount());
+                    Benchmarks.report("database executor " + (virtualThreads ? "virtual" : "platform"),
+                            "%2d clients: %,.0f queries/s, %s", clients,
+                            Benchmarks.perSecond((long) OPERATIONS * clients, nanos), executor.getStatistics());
+                } finally {
+                    executor.shutdown();
+                }
+            }
+        }
+    }
+
+    private static DatabaseExecutor executor(boolean virtualThreads) {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("database.executor.queue-size", 1024);
+        config.set("database.executor.virtual-threads", virtualThreads);
+        return new DatabaseExecutor(TestPlugins.plugin(config), WORKERS);
+    }
+}
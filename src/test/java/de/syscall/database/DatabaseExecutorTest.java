@@ -0,0 +1,58 @@
+package de.syscall.database;
+
+import de.syscall.TestPlugins;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DatabaseExecutorTest {
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void callHoldsACapacityPermit(boolean virtualThreads) {
+        DatabaseExecutor executor = executor(virtualThreads);
+        try {
+            CompletableFuture<Integer> nested = executor.call(() -> {
+                assertEquals(1, executor.getPendingCount());
+                return executor.supply(() -> 1);
+            });
+
+            CompletionException error = assertThrows(CompletionException.class, nested::join);
+            assertInstanceOf(RejectedExecutionException.class, error.getCause());
+            assertEquals(0, executor.getPendingCount());
+            assertEquals(1L, executor.getRejectedCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void callIsRejectedWhenSaturated(boolean virtualThreads) {
+        DatabaseExecutor executor = executor(virtualThreads);
+        try {
+            executor.call(() -> assertThrows(RejectedExecutionException.class, () -> executor.call(() -> 1)));
+
+            assertEquals(2, executor.call(() -> 2));
+            assertEquals(0, executor.getPendingCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static DatabaseExecutor executor(boolean virtualThreads) {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("database.executor.queue-size", 0);
+        config.set("database.executor.submit-timeout", 0);
+        config.set("database.executor.virtual-threads", virtualThreads);
+        return new DatabaseExecutor(TestPlugins.plugin(config), 1);
+    }
+}
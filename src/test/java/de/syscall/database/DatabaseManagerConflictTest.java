@@ -0,0 +1,126 @@
+package de.syscall.database;
+
+import de.syscall.SlownEconomy;
+import de.syscall.TestPlugins;
+import de.syscall.data.BalanceState;
+import de.syscall.data.EconomyPlayer;
+import de.syscall.data.LedgerEntry;
+import de.syscall.util.EconomySettings;
+import de.syscall.util.EconomyValidator;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DatabaseManagerConflictTest {
+
+    private static final EconomySettings SETTINGS = new EconomySettings(1000.0, 1000.0, 0.0, 0.0, true, 1.0, 1000.0, 0.0);
+
+    @TempDir
+    Path dataFolder;
+
+    private DatabaseManager database;
+    private EconomyValidator validator;
+    private TransactionLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("journal.enabled", false);
+        SlownEconomy plugin = TestPlugins.plugin(config, dataFolder.toFile());
+
+        database = new DatabaseManager(plugin);
+        validator = mock(EconomyValidator.class);
+        ledger = mock(TransactionLedger.class);
+        when(plugin.getDatabaseManager()).thenReturn(database);
+        when(plugin.getEconomyValidator()).thenReturn(validator);
+        when(plugin.getTransactionLedger()).thenReturn(ledger);
+        when(validator.getSettings()).thenReturn(SETTINGS);
+        database.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    void rebaseKeepsBothChanges() {
+        EconomyPlayer local = stored(100.0);
+        EconomyPlayer remote = database.loadPlayer(local.getUuid(), "player").join();
+
+        assertTrue(remote.tryRemoveCoinsMinor(2000L) != null);
+        assertTrue(database.savePlayers(List.of(remote)).join().isEmpty());
+
+        assertTrue(local.tryAddCoinsMinor(500L) != null);
+        assertTrue(save(local));
+
+        assertEquals(8500L, local.getBalance().coins());
+        assertEquals(8500L, database.loadPlayer(local.getUuid(), "player").join().getBalance().coins());
+        verify(ledger, never()).record(any());
+    }
+
+    @Test
+    void clampedRebaseKeepsLaterWritesAndRecordsTheCompensation() {
+        EconomyPlayer local = stored(100.0);
+        EconomyPlayer remote = database.loadPlayer(local.getUuid(), "player").join();
+
+        assertTrue(remote.tryRemoveCoinsMinor(8000L) != null);
+        assertTrue(database.savePlayers(List.of(remote)).join().isEmpty());
+
+        assertTrue(local.tryRemoveCoinsMinor(5000L) != null);
+        when(validator.getSettings()).thenAnswer(invocation -> {
+            local.tryAddCoinsMinor(700L);
+            return SETTINGS;
+        });
+
+        long snapshot = local.getVersion();
+        assertTrue(database.savePlayers(List.of(local)).join().isEmpty());
+        local.markSaved(snapshot);
+
+        assertEquals(0L, database.loadPlayer(local.getUuid(), "player").join().getBalance().coins());
+        assertEquals(700L, local.getBalance().coins());
+        assertEquals(0L, local.getPersisted().coins());
+        assertTrue(local.isModified());
+
+        ArgumentCaptor<LedgerEntry> entry = ArgumentCaptor.forClass(LedgerEntry.class);
+        verify(ledger).record(entry.capture());
+        assertEquals(LedgerEntry.Type.COINS, entry.getValue().type());
+        assertEquals(30.0, entry.getValue().amount());
+        assertEquals("CONFLICT", entry.getValue().cause());
+
+        doReturn(SETTINGS).when(validator).getSettings();
+        assertTrue(save(local));
+        assertEquals(700L, database.loadPlayer(local.getUuid(), "player").join().getBalance().coins());
+    }
+
+    private EconomyPlayer stored(double coins) {
+        EconomyPlayer player = new EconomyPlayer(UUID.randomUUID(), "player", BalanceState.of(coins, 0.0), 0L);
+        assertTrue(save(player));
+        return player;
+    }
+
+    private boolean save(EconomyPlayer player) {
+        long version = player.getVersion();
+        boolean saved = database.savePlayers(List.of(player)).join().isEmpty();
+        if (saved) {
+            player.markSaved(version);
+        }
+        return saved;
+    }
+}
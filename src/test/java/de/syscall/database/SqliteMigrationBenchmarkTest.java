@@ -0,0 +1,104 @@
+package de.syscall.database;
+
+import de.syscall.Benchmarks;
+import de.syscall.SlownEconomy;
+import de.syscall.TestPlugins;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Tag("benchmark")
+class SqliteMigrationBenchmarkTest {
+
+    private static final int ROWS = 200_000;
+    private static final int[] WRITERS = {1, 2, 4};
+
+    @TempDir
+    Path dataFolder;
+
+    @Test
+    void migrationThroughput() throws SQLException {
+        String sqliteFile = dataFolder.resolve("economy.db").toString();
+        createSource(sqliteFile);
+
+        for (int writers : WRITERS) {
+            String targetUrl = "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+            try (Connection keepAlive = DriverManager.getConnection(targetUrl)) {
+                try (Statement statement = keepAlive.createStatement()) {
+                    statement.execute("CREATE TABLE economy_players (uuid VARCHAR(36) PRIMARY KEY, name VARCHAR(16) NOT NULL, " +
+                            "coins DOUBLE DEFAULT 0.0, bank_balance DOUBLE DEFAULT 0.0, coins_minor BIGINT NULL, " +
+                            "bank_balance_minor BIGINT NULL, last_seen BIGINT DEFAULT 0)");
+                }
+
+                YamlConfiguration config = new YamlConfiguration();
+                config.set("database.migration.writers", writers);
+                config.set("database.migration.batch-size", 1000);
+                SlownEconomy plugin = TestPlugins.plugin(config, dataFolder.toFile());
+
+                DatabaseManager database = mock(DatabaseManager.class);
+                when(database.getConnection()).thenAnswer(invocation -> DriverManager.getConnection(targetUrl));
+                doAnswer(invocation -> {
+                    invocation.<PreparedStatement>getArgument(0).setString(invocation.getArgument(1), invocation.<UUID>getArgument(2).toString());
+                    return null;
+                }).when(database).setUuid(any(), anyInt(), any());
+
+                SqliteMigration migration = new SqliteMigration(plugin, database, sqliteFile, writers + 1);
+                assertTrue(migration.isPending());
+                long start = System.nanoTime();
+                migration.run();
+                long nanos = System.nanoTime() - start;
+
+                try (Statement statement = keepAlive.createStatement();
+                     ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM economy_players")) {
+                    assertTrue(resultSet.next());
+                    assertEquals(ROWS, resultSet.getLong(1));
+                }
+
+                Benchmarks.report("sqlite migration", "%d writers: %,d rows in %,d ms (%,.0f rows/s, including checksum)",
+                        writers, ROWS, nanos / 1_000_000, Benchmarks.perSecond(ROWS, nanos));
+            }
+        }
+    }
+
+    private static void createSource(String sqliteFile) throws SQLException {
+        try (Connection sqlite = DriverManager.getConnection("jdbc:sqlite:" + sqliteFile);
+             Statement statement = sqlite.createStatement()) {
+            statement.execute("CREATE TABLE economy_players (uuid TEXT PRIMARY KEY, name TEXT NOT NULL, coins REAL, " +
+                    "bank_balance REAL, coins_minor INTEGER, bank_balance_minor INTEGER, last_seen INTEGER)");
+
+            sqlite.setAutoCommit(false);
+            try (PreparedStatement insert = sqlite.prepareStatement("INSERT INTO economy_players VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < ROWS; i++) {
+                    insert.setString(1, UUID.randomUUID().toString());
+                    insert.setString(2, "player" + i);
+                    insert.setDouble(3, i + 0.25);
+                    insert.setDouble(4, i * 2.5);
+                    insert.setLong(5, i * 100L + 25L);
+                    insert.setLong(6, i * 250L);
+                    insert.setLong(7, i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            sqlite.commit();
+        }
+    }
+}
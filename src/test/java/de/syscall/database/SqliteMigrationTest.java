@@ -0,0 +1,163 @@
+package de.syscall.database;
+
+import de.syscall.SlownEconomy;
+import de.syscall.TestPlugins;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SqliteMigrationTest {
+
+    private static final int ROWS = 2500;
+
+    @TempDir
+    Path dataFolder;
+
+    private String sqliteFile;
+    private String targetUrl;
+    private Connection keepAlive;
+    private SlownEconomy plugin;
+    private DatabaseManager database;
+    private List<UUID> uuids;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        sqliteFile = dataFolder.resolve("economy.db").toString();
+        targetUrl = "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+        keepAlive = DriverManager.getConnection(targetUrl);
+
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("CREATE TABLE economy_players (uuid VARCHAR(36) PRIMARY KEY, name VARCHAR(16) NOT NULL, " +
+                    "coins DOUBLE DEFAULT 0.0, bank_balance DOUBLE DEFAULT 0.0, coins_minor BIGINT NULL, " +
+                    "bank_balance_minor BIGINT NULL, last_seen BIGINT DEFAULT 0)");
+        }
+
+        uuids = new ArrayList<>();
+        try (Connection sqlite = DriverManager.getConnection("jdbc:sqlite:" + sqliteFile);
+             Statement statement = sqlite.createStatement()) {
+            statement.execute("CREATE TABLE economy_players (uuid TEXT PRIMARY KEY, name TEXT NOT NULL, coins REAL, " +
+                    "bank_balance REAL, coins_minor INTEGER, bank_balance_minor INTEGER, last_seen INTEGER)");
+
+            sqlite.setAutoCommit(false);
+            try (PreparedStatement insert = sqlite.prepareStatement("INSERT INTO economy_players VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < ROWS; i++) {
+                    UUID uuid = UUID.randomUUID();
+                    uuids.add(uuid);
+                    insert.setString(1, uuid.toString());
+                    insert.setString(2, "player" + i);
+                    insert.setDouble(3, i + 0.25);
+                    insert.setDouble(4, i * 2.5);
+                    insert.setLong(5, i * 100L + 25L);
+                    insert.setLong(6, i * 250L);
+                    insert.setLong(7, i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            sqlite.commit();
+        }
+        uuids.sort((a, b) -> a.toString().compareTo(b.toString()));
+
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("database.migration.writers", 2);
+        config.set("database.migration.batch-size", 100);
+        plugin = TestPlugins.plugin(config, dataFolder.toFile());
+
+        database = mock(DatabaseManager.class);
+        when(database.getConnection()).thenAnswer(invocation -> DriverManager.getConnection(targetUrl));
+        doAnswer(invocation -> {
+            invocation.<PreparedStatement>getArgument(0).setString(invocation.getArgument(1), invocation.<UUID>getArgument(2).toString());
+            return null;
+        }).when(database).setUuid(any(), anyInt(), any());
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        keepAlive.close();
+    }
+
+    @Test
+    void copiesAndVerifiesAllRows() throws SQLException {
+        SqliteMigration migration = migration();
+        assertTrue(migration.isPending());
+        migration.run();
+
+        assertEquals(ROWS, count());
+        assertFalse(migration().isPending());
+    }
+
+    @Test
+    void resumesFromTheCheckpointAfterAFailure() throws SQLException {
+        UUID broken = uuids.get(ROWS * 3 / 5);
+        setSourceName(broken, "a-name-longer-than-sixteen");
+
+        SqliteMigration first = migration();
+        assertTrue(first.isPending());
+        assertThrows(RuntimeException.class, first::run);
+
+        long copied = count();
+        assertTrue(copied > 0 && copied < ROWS);
+        assertTrue(checkpointRows() <= copied);
+
+        setSourceName(broken, "fixed");
+        SqliteMigration second = migration();
+        assertTrue(second.isPending());
+        second.run();
+
+        assertEquals(ROWS, count());
+        assertEquals(ROWS, checkpointRows());
+        assertFalse(migration().isPending());
+    }
+
+    private SqliteMigration migration() {
+        return new SqliteMigration(plugin, database, sqliteFile, 3);
+    }
+
+    private void setSourceName(UUID uuid, String name) throws SQLException {
+        try (Connection sqlite = DriverManager.getConnection("jdbc:sqlite:" + sqliteFile);
+             PreparedStatement update = sqlite.prepareStatement("UPDATE economy_players SET name = ? WHERE uuid = ?")) {
+            update.setString(1, name);
+            update.setString(2, uuid.toString());
+            assertEquals(1, update.executeUpdate());
+        }
+    }
+
+    private long count() throws SQLException {
+        return queryLong("SELECT COUNT(*) FROM economy_players");
+    }
+
+    private long checkpointRows() throws SQLException {
+        return queryLong("SELECT migrated FROM economy_migration");
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (Statement statement = keepAlive.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            assertTrue(resultSet.next());
+            return resultSet.getLong(1);
+        }
+    }
+}
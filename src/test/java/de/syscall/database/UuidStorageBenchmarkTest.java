@@ -0,0 +1,92 @@
+package de.syscall.database;
+
+import de.syscall.Benchmarks;
+import de.syscall.SlownEconomy;
+import de.syscall.TestPlugins;
+import de.syscall.data.BalanceState;
+import de.syscall.data.EconomyPlayer;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@Tag("benchmark")
+class UuidStorageBenchmarkTest {
+
+    private static final int PLAYERS = 100_000;
+    private static final int BATCH_SIZE = 1000;
+    private static final int LOOKUPS = 100_000;
+
+    @TempDir
+    Path dataFolder;
+
+    @Test
+    void textAgainstBinaryKeys() {
+        List<UUID> uuids = new ArrayList<>(PLAYERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            uuids.add(UUID.randomUUID());
+        }
+
+        for (boolean binaryUuid : new boolean[]{false, true}) {
+            List<EconomyPlayer> players = new ArrayList<>(PLAYERS);
+            for (int i = 0; i < PLAYERS; i++) {
+                players.add(new EconomyPlayer(uuids.get(i), "bench" + i, new BalanceState(i, 0L), 0L));
+            }
+
+            File folder = dataFolder.resolve(binaryUuid ? "binary" : "text").toFile();
+            YamlConfiguration config = new YamlConfiguration();
+            config.set("journal.enabled", false);
+            config.set("database.binary-uuid", binaryUuid);
+            SlownEconomy plugin = TestPlugins.plugin(config, folder);
+
+            DatabaseManager database = new DatabaseManager(plugin);
+            when(plugin.getDatabaseManager()).thenReturn(database);
+            database.initialize();
+            try {
+                assertEquals(binaryUuid, database.isBinaryUuid());
+
+                long start = System.nanoTime();
+                for (int i = 0; i < PLAYERS; i += BATCH_SIZE) {
+                    assertTrue(database.savePlayers(players.subList(i, i + BATCH_SIZE)).join().isEmpty());
+                }
+                long insertNanos = System.nanoTime() - start;
+
+                SplittableRandom random = new SplittableRandom(42L);
+                start = System.nanoTime();
+                for (int i = 0; i < LOOKUPS; i++) {
+                    EconomyPlayer expected = players.get(random.nextInt(PLAYERS));
+                    EconomyPlayer loaded = database.loadPlayerBlocking(expected.getUuid(), expected.getName());
+                    assertEquals(expected.getBalance().coins(), loaded.getBalance().coins());
+                }
+                long lookupNanos = System.nanoTime() - start;
+
+                int[] scanned = new int[1];
+                start = System.nanoTime();
+                database.forEachPlayer(player -> scanned[0]++).join();
+                long scanNanos = System.nanoTime() - start;
+                assertEquals(PLAYERS, scanned[0]);
+
+                Benchmarks.report("uuid storage " + (binaryUuid ? "binary" : "text  "),
+                        "insert %,.0f rows/s, lookup %,.0f/s, scan %,.0f rows/s",
+                        Benchmarks.perSecond(PLAYERS, insertNanos), Benchmarks.perSecond(LOOKUPS, lookupNanos),
+                        Benchmarks.perSecond(PLAYERS, scanNanos));
+            } finally {
+                database.close();
+            }
+
+            Benchmarks.report("uuid storage " + (binaryUuid ? "binary" : "text  "), "%,d players: %,d KiB on disk",
+                    PLAYERS, new File(folder, "economy.db").length() / 1024);
+        }
+    }
+}
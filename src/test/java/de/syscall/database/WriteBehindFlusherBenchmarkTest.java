@@ -0,0 +1,93 @@
+package de.syscall.database;
+
+import de.syscall.Benchmarks;
+import de.syscall.SlownEconomy;
+import de.syscall.TestPlugins;
+import de.syscall.data.BalanceState;
+import de.syscall.data.EconomyPlayer;
+import de.syscall.sync.InvalidationBus;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Tag("benchmark")
+class WriteBehindFlusherBenchmarkTest {
+
+    private static final int PLAYERS = 10_000;
+    private static final int[] BATCH_SIZES = {1, 100, 500, 2000};
+
+    @TempDir
+    Path dataFolder;
+
+    @Test
+    void singleRowSavesAgainstBatches() {
+        SlownEconomy plugin = plugin(500, dataFolder.resolve("single"));
+        DatabaseManager database = plugin.getDatabaseManager();
+        try {
+            List<EconomyPlayer> players = dirtyPlayers();
+            long start = System.nanoTime();
+            List<CompletableFuture<Boolean>> saves = new ArrayList<>(PLAYERS);
+            for (EconomyPlayer player : players) {
+                saves.add(database.savePlayer(player));
+            }
+            CompletableFuture.allOf(saves.toArray(new CompletableFuture[0])).join();
+            long nanos = System.nanoTime() - start;
+
+            Benchmarks.report("save single rows", "%,d players: %,.0f rows/s", PLAYERS, Benchmarks.perSecond(PLAYERS, nanos));
+        } finally {
+            database.close();
+        }
+
+        for (int batchSize : BATCH_SIZES) {
+            plugin = plugin(batchSize, dataFolder.resolve("batch-" + batchSize));
+            database = plugin.getDatabaseManager();
+            try {
+                WriteBehindFlusher flusher = new WriteBehindFlusher(plugin);
+                for (EconomyPlayer player : dirtyPlayers()) {
+                    flusher.enqueue(player);
+                }
+                flusher.flushAll();
+
+                assertEquals(PLAYERS, flusher.getFlushedRows());
+                Benchmarks.report("write-behind flush", "batch %4d: %s", batchSize, flusher.getStatistics());
+            } finally {
+                database.close();
+            }
+        }
+    }
+
+    private static List<EconomyPlayer> dirtyPlayers() {
+        List<EconomyPlayer> players = new ArrayList<>(PLAYERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            EconomyPlayer player = new EconomyPlayer(UUID.randomUUID(), "bench" + i, BalanceState.of(0.0, 0.0), 0L);
+            player.tryAddCoinsMinor(i + 1L);
+            players.add(player);
+        }
+        return players;
+    }
+
+    private static SlownEconomy plugin(int batchSize, Path dataFolder) {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("journal.enabled", false);
+        config.set("cache.batch-size", batchSize);
+        config.set("database.executor.queue-size", PLAYERS);
+        SlownEconomy plugin = TestPlugins.plugin(config, dataFolder.toFile());
+
+        DatabaseManager database = new DatabaseManager(plugin);
+        when(plugin.getDatabaseManager()).thenReturn(database);
+        when(plugin.getInvalidationBus()).thenReturn(mock(InvalidationBus.class));
+        database.initialize();
+        return plugin;
+    }
+}
@@ -0,0 +1,132 @@
+package de.syscall.database;
+
+import de.syscall.SlownEconomy;
+import de.syscall.TestPlugins;
+import de.syscall.data.BalanceState;
+import de.syscall.data.EconomyPlayer;
+import de.syscall.sync.InvalidationBus;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WriteBehindFlusherTest {
+
+    private static final int BATCH_SIZE = 50;
+
+    @TempDir
+    Path dataFolder;
+
+    private SlownEconomy plugin;
+    private DatabaseManager database;
+
+    @BeforeEach
+    void setUp() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("journal.enabled", false);
+        config.set("cache.batch-size", BATCH_SIZE);
+        config.set("cache.flush-deadline", 60000);
+        plugin = TestPlugins.plugin(config, dataFolder.toFile());
+
+        database = new DatabaseManager(plugin);
+        when(plugin.getDatabaseManager()).thenReturn(database);
+        when(plugin.getInvalidationBus()).thenReturn(mock(InvalidationBus.class));
+        database.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    void repeatedChangesCoalesceIntoOneRow() {
+        WriteBehindFlusher flusher = new WriteBehindFlusher(plugin);
+        EconomyPlayer player = player();
+
+        CompletableFuture<Void> flushed = null;
+        for (int i = 0; i < 100; i++) {
+            player.tryAddCoinsMinor(1L);
+            flushed = flusher.enqueue(player);
+        }
+        assertEquals(1, flusher.getPendingCount());
+
+        flusher.flushAll();
+
+        assertTrue(flushed.isDone());
+        assertEquals(1L, flusher.getFlushedRows());
+        assertEquals(1L, flusher.getFlushCount());
+        assertFalse(player.isModified());
+        assertEquals(100L, stored(player).coins());
+    }
+
+    @Test
+    void flushesFullBatchesBeforeTheDeadline() {
+        WriteBehindFlusher flusher = new WriteBehindFlusher(plugin);
+        List<EconomyPlayer> players = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE - 1; i++) {
+            EconomyPlayer player = player();
+            player.tryAddCoinsMinor(i + 1L);
+            players.add(player);
+            flusher.enqueue(player);
+        }
+
+        flusher.tick();
+        assertEquals(0L, flusher.getFlushCount());
+
+        for (int i = 0; i < BATCH_SIZE * 2 + 1; i++) {
+            EconomyPlayer player = player();
+            player.tryAddCoinsMinor(i + 1L);
+            players.add(player);
+            flusher.enqueue(player);
+        }
+
+        flusher.tick();
+        assertEquals(0, flusher.getPendingCount());
+        assertEquals(players.size(), flusher.getFlushedRows());
+        assertEquals(3L, flusher.getFlushCount());
+        for (EconomyPlayer player : players) {
+            assertFalse(player.isModified());
+            assertEquals(player.getBalance(), stored(player));
+        }
+    }
+
+    @Test
+    void changesDuringAFlushStayDirty() {
+        WriteBehindFlusher flusher = new WriteBehindFlusher(plugin);
+        EconomyPlayer player = player();
+        player.tryAddCoinsMinor(10L);
+        flusher.enqueue(player);
+
+        when(plugin.getInvalidationBus()).thenAnswer(invocation -> {
+            player.tryAddCoinsMinor(5L);
+            return mock(InvalidationBus.class);
+        });
+        flusher.flushAll();
+
+        assertTrue(player.isModified());
+        assertEquals(10L, stored(player).coins());
+        assertEquals(15L, player.getBalance().coins());
+    }
+
+    private BalanceState stored(EconomyPlayer player) {
+        return database.loadPlayer(player.getUuid(), player.getName()).join().getBalance();
+    }
+
+    private static EconomyPlayer player() {
+        return new EconomyPlayer(UUID.randomUUID(), "player", BalanceState.of(0.0, 0.0), 0L);
+    }
+}
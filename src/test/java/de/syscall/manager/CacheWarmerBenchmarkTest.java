@@ -0,0 +1,92 @@
+package de.syscall.manager;
+
+import de.syscall.Benchmarks;
+import de.syscall.SlownEconomy;
+import de.syscall.TestPlugins;
+import de.syscall.data.BalanceState;
+import de.syscall.data.EconomyPlayer;
+import de.syscall.database.DatabaseManager;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Tag("benchmark")
+class CacheWarmerBenchmarkTest {
+
+    private static final int PLAYERS = 100_000;
+    private static final int ACCOUNTS = 20_000;
+    private static final int ROUNDS = 3;
+
+    @TempDir
+    Path dataFolder;
+
+    @Test
+    void warmUpScanAgainstColdLoads() throws Exception {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("journal.enabled", false);
+        config.set("cache.warm-up.enabled", true);
+        config.set("cache.warm-up.accounts", ACCOUNTS);
+        SlownEconomy plugin = TestPlugins.plugin(config, dataFolder.toFile());
+
+        DatabaseManager database = new DatabaseManager(plugin);
+        when(plugin.getDatabaseManager()).thenReturn(database);
+        database.initialize();
+        try {
+            List<EconomyPlayer> players = new ArrayList<>(PLAYERS);
+            for (int i = 0; i < PLAYERS; i++) {
+                players.add(new EconomyPlayer(UUID.randomUUID(), "bench" + i, new BalanceState(i, 0L), i));
+            }
+            for (int i = 0; i < PLAYERS; i += 1000) {
+                assertTrue(database.savePlayers(players.subList(i, i + 1000)).join().isEmpty());
+            }
+
+            for (int round = 0; round < ROUNDS; round++) {
+                Map<UUID, EconomyPlayer> cache = new ConcurrentHashMap<>();
+                long start = System.nanoTime();
+                int streamed = database.forEachRecentPlayer(ACCOUNTS, player -> cache.putIfAbsent(player.getUuid(), player) == null).join();
+                long scanNanos = System.nanoTime() - start;
+                assertEquals(ACCOUNTS, streamed);
+
+                cache.clear();
+                start = System.nanoTime();
+                for (int i = PLAYERS - 1; i >= PLAYERS - ACCOUNTS; i--) {
+                    EconomyPlayer player = players.get(i);
+                    cache.put(player.getUuid(), database.loadPlayerBlocking(player.getUuid(), player.getName()));
+                }
+                long coldNanos = System.nanoTime() - start;
+
+                Benchmarks.report("cache warm-up", "%,d of %,d accounts: scan %,d ms (%,.0f rows/s), cold loads %,d ms (%,.0f rows/s)",
+                        ACCOUNTS, PLAYERS, TimeUnit.NANOSECONDS.toMillis(scanNanos), Benchmarks.perSecond(ACCOUNTS, scanNanos),
+                        TimeUnit.NANOSECONDS.toMillis(coldNanos), Benchmarks.perSecond(ACCOUNTS, coldNanos));
+            }
+
+            CacheManager cacheManager = mock(CacheManager.class);
+            when(cacheManager.hasWarmCapacity()).thenReturn(true);
+            when(cacheManager.warmPlayer(any())).thenReturn(true);
+            CacheWarmer warmer = new CacheWarmer(plugin, cacheManager);
+            warmer.start();
+            long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+            while (warmer.getStatistics().startsWith("running") && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(warmer.getStatistics().startsWith("done"), warmer.getStatistics());
+        } finally {
+            database.close();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package de.syscall.manager;
+
+import de.syscall.SlownEconomy;
+import de.syscall.TestPlugins;
+import de.syscall.data.BalanceState;
+import de.syscall.data.EconomyPlayer;
+import de.syscall.database.DatabaseManager;
+import org.bukkit.Server;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheWarmerTest {
+
+    @TempDir
+    Path dataFolder;
+
+    private DatabaseManager database;
+    private final List<Long> cached = new CopyOnWriteArrayList<>();
+    private final List<Long> snapshots = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    @Test
+    void warmsTheMostRecentAccountsUntilTheCacheIsFull() throws Exception {
+        SlownEconomy plugin = plugin(50, 30, 0);
+        CacheWarmer warmer = new CacheWarmer(plugin, cacheManager(10, false));
+
+        warmer.start();
+        awaitFinished(warmer);
+
+        assertTrue(warmer.getStatistics().startsWith("done"), warmer.getStatistics());
+        assertEquals(descending(49, 40), cached);
+        assertTrue(snapshots.isEmpty());
+    }
+
+    @Test
+    void overflowGoesToTheOfflineTier() throws Exception {
+        SlownEconomy plugin = plugin(50, 30, 0);
+        CacheWarmer warmer = new CacheWarmer(plugin, cacheManager(10, true));
+
+        warmer.start();
+        awaitFinished(warmer);
+
+        assertEquals(descending(49, 40), cached);
+        assertEquals(descending(39, 20), snapshots);
+    }
+
+    @Test
+    void abortsOnceEnoughPlayersAreOnline() throws Exception {
+        SlownEconomy plugin = plugin(300, 300, 1);
+        Server server = plugin.getServer();
+        doReturn(List.of(mock(Player.class))).when(server).getOnlinePlayers();
+        CacheWarmer warmer = new CacheWarmer(plugin, cacheManager(Integer.MAX_VALUE, false));
+
+        warmer.start();
+        awaitFinished(warmer);
+
+        assertTrue(warmer.getStatistics().startsWith("aborted"), warmer.getStatistics());
+        assertEquals(255, cached.size());
+    }
+
+    @Test
+    void disabledWarmUpReadsNothing() {
+        YamlConfiguration config = new YamlConfiguration();
+        SlownEconomy plugin = TestPlugins.plugin(config);
+        DatabaseManager mocked = mock(DatabaseManager.class);
+        when(plugin.getDatabaseManager()).thenReturn(mocked);
+
+        CacheWarmer warmer = new CacheWarmer(plugin, cacheManager(10, false));
+        warmer.start();
+
+        verify(mocked, never()).forEachRecentPlayer(anyInt(), any());
+        assertTrue(warmer.getStatistics().startsWith("disabled"));
+    }
+
+    private CacheManager cacheManager(int capacity, boolean offlineTier) {
+        CacheManager cacheManager = mock(CacheManager.class);
+        when(cacheManager.hasWarmCapacity()).thenAnswer(invocation -> cached.size() < capacity);
+        when(cacheManager.hasOfflineTier()).thenReturn(offlineTier);
+        when(cacheManager.warmPlayer(any())).thenAnswer(invocation -> {
+            cached.add(invocation.<EconomyPlayer>getArgument(0).getLastSeen());
+            return true;
+        });
+        doAnswer(invocation -> {
+            snapshots.add(invocation.<EconomyPlayer>getArgument(0).getLastSeen());
+            return null;
+        }).when(cacheManager).storeSnapshot(any(EconomyPlayer.class));
+        return cacheManager;
+    }
+
+    private SlownEconomy plugin(int players, int accounts, int abortOnline) {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("journal.enabled", false);
+        config.set("cache.warm-up.enabled", true);
+        config.set("cache.warm-up.accounts", accounts);
+        config.set("cache.warm-up.abort-online", abortOnline);
+        SlownEconomy plugin = TestPlugins.plugin(config, dataFolder.toFile());
+
+        database = new DatabaseManager(plugin);
+        when(plugin.getDatabaseManager()).thenReturn(database);
+        database.initialize();
+
+        List<EconomyPlayer> stored = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            stored.add(new EconomyPlayer(UUID.randomUUID(), "player" + i, new BalanceState(i, 0L), i));
+        }
+        assertTrue(database.savePlayers(stored).join().isEmpty());
+        return plugin;
+    }
+
+    private static void awaitFinished(CacheWarmer warmer) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (warmer.getStatistics().startsWith("running") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static List<Long> descending(long from, long to) {
+        List<Long> values = new ArrayList<>();
+        for (long value = from; value >= to; value--) {
+            values.add(value);
+        }
+        return values;
+    }
+}
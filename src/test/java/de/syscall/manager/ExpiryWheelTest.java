@@ -0,0 +1,87 @@
+package de.syscall.manager;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpiryWheelTest {
+
+    private static final int TIMERS = 500;
+    private static final long MAX_DELAY = 1500L;
+    private static final long TOLERANCE = 250L;
+    private static final long[] EDGES = {0L, 1L, 63L, 64L, 65L, 1023L, 1024L};
+
+    @Test
+    void timersCascadeAndFireAfterTheirDeadline() throws Exception {
+        ExpiryWheel wheel = new ExpiryWheel(1L);
+        SplittableRandom random = new SplittableRandom(7L);
+        Map<UUID, Long> deadlines = new HashMap<>();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < TIMERS; i++) {
+            UUID uuid = UUID.randomUUID();
+            long delay = i < EDGES.length ? EDGES[i] : random.nextLong(MAX_DELAY);
+            deadlines.put(uuid, delay);
+            wheel.schedule(uuid, delay, ExpiryWheel.Expiry.MAX_AGE);
+        }
+        assertEquals(TIMERS, wheel.size());
+
+        Map<UUID, Long> fired = new HashMap<>();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(MAX_DELAY + 5000L);
+        while (fired.size() < TIMERS && System.nanoTime() < deadline) {
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            for (ExpiryWheel.Expired expired : wheel.advance()) {
+                assertEquals(ExpiryWheel.Expiry.MAX_AGE, expired.expiry());
+                assertNull(fired.put(expired.uuid(), elapsed));
+            }
+            Thread.sleep(1);
+        }
+
+        assertEquals(TIMERS, fired.size());
+        assertEquals(0, wheel.size());
+        assertEquals(TIMERS, wheel.getExpiredCount());
+        for (Map.Entry<UUID, Long> entry : fired.entrySet()) {
+            long delay = deadlines.get(entry.getKey());
+            String message = "fired at " + entry.getValue() + "ms, due at " + delay + "ms";
+            assertTrue(entry.getValue() + 1 >= delay, message);
+            assertTrue(entry.getValue() <= delay + TOLERANCE, message);
+        }
+    }
+
+    @Test
+    void rescheduleAndCancelReplaceTheTimer() throws Exception {
+        ExpiryWheel wheel = new ExpiryWheel(1L);
+        UUID rescheduled = UUID.randomUUID();
+        UUID cancelled = UUID.randomUUID();
+        UUID kept = UUID.randomUUID();
+
+        wheel.schedule(rescheduled, 5L, ExpiryWheel.Expiry.REMOVAL);
+        wheel.schedule(rescheduled, 300L, ExpiryWheel.Expiry.MAX_AGE);
+        wheel.schedule(cancelled, 5L, ExpiryWheel.Expiry.REMOVAL);
+        wheel.scheduleIfAbsent(kept, 5L, ExpiryWheel.Expiry.REMOVAL);
+        wheel.scheduleIfAbsent(kept, 300L, ExpiryWheel.Expiry.MAX_AGE);
+
+        assertTrue(wheel.cancel(cancelled));
+        assertEquals(2, wheel.size());
+
+        Thread.sleep(50);
+        List<ExpiryWheel.Expired> expired = wheel.advance();
+        assertEquals(List.of(new ExpiryWheel.Expired(kept, ExpiryWheel.Expiry.REMOVAL)), expired);
+
+        Thread.sleep(300);
+        expired = wheel.advance();
+        assertEquals(List.of(new ExpiryWheel.Expired(rescheduled, ExpiryWheel.Expiry.MAX_AGE)), expired);
+        assertEquals(0, wheel.size());
+        assertFalse(wheel.cancel(cancelled));
+    }
+}
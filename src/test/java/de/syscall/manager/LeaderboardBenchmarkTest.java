@@ -0,0 +1,75 @@
+package de.syscall.manager;
+
+import de.syscall.Benchmarks;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("benchmark")
+class LeaderboardBenchmarkTest {
+
+    private static final int[] ENTRIES = {100_000, 1_000_000};
+    private static final int OPERATIONS = 1_000_000;
+    private static final int PAGE_SIZE = 10;
+
+    @Test
+    void updateRankAndPage() {
+        for (int entries : ENTRIES) {
+            Leaderboard leaderboard = new Leaderboard(0);
+            UUID[] uuids = new UUID[entries];
+            SplittableRandom random = new SplittableRandom(42L);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < entries; i++) {
+                uuids[i] = UUID.randomUUID();
+                leaderboard.update(uuids[i], "player" + i, random.nextLong(1_000_000_000L), 0L);
+            }
+            long fillNanos = System.nanoTime() - start;
+            assertEquals(entries, leaderboard.size());
+
+            start = System.nanoTime();
+            for (int i = 0; i < OPERATIONS; i++) {
+                leaderboard.update(uuids[random.nextInt(entries)], "player", random.nextLong(1_000_000_000L), i + 1L);
+            }
+            long updateNanos = System.nanoTime() - start;
+
+            long sink = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < OPERATIONS; i++) {
+                sink += leaderboard.rank(uuids[random.nextInt(entries)]);
+            }
+            long rankNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < OPERATIONS; i++) {
+                sink += leaderboard.page(random.nextInt(entries - PAGE_SIZE), PAGE_SIZE).size();
+            }
+            long pageNanos = System.nanoTime() - start;
+            assertTrue(sink > 0);
+
+            Benchmarks.report("leaderboard " + entries, "fill %,.0f/s, update %,.0f/s, rank %,.0f/s, page(%d) %,.0f/s",
+                    Benchmarks.perSecond(entries, fillNanos), Benchmarks.perSecond(OPERATIONS, updateNanos),
+                    Benchmarks.perSecond(OPERATIONS, rankNanos), PAGE_SIZE, Benchmarks.perSecond(OPERATIONS, pageNanos));
+        }
+    }
+
+    @Test
+    void boundedTopK() {
+        Leaderboard leaderboard = new Leaderboard(1000);
+        SplittableRandom random = new SplittableRandom(42L);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 1_000_000; i++) {
+            leaderboard.update(UUID.randomUUID(), "player", random.nextLong(1_000_000_000L), 0L);
+        }
+        long nanos = System.nanoTime() - start;
+
+        assertEquals(1000, leaderboard.size());
+        Benchmarks.report("leaderboard top 1000", "1,000,000 candidates: %,.0f updates/s", Benchmarks.perSecond(1_000_000, nanos));
+    }
+}
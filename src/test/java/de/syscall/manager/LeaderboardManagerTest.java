@@ -0,0 +1,99 @@
+package de.syscall.manager;
+
+import de.syscall.SlownEconomy;
+import de.syscall.TestPlugins;
+import de.syscall.data.BalanceState;
+import de.syscall.data.EconomyPlayer;
+import de.syscall.database.DatabaseManager;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class LeaderboardManagerTest {
+
+    private static final int TOP = 4;
+    private static final int TIED = 12;
+    private static final int PAGE = 3;
+
+    @TempDir
+    Path dataFolder;
+
+    private DatabaseManager database;
+    private LeaderboardManager leaderboards;
+
+    private void setUp(boolean binaryUuid) {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("leaderboard.max-size", TOP);
+        config.set("database.binary-uuid", binaryUuid);
+        config.set("journal.enabled", false);
+        SlownEconomy plugin = TestPlugins.plugin(config, dataFolder.toFile());
+
+        database = new DatabaseManager(plugin);
+        when(plugin.getDatabaseManager()).thenReturn(database);
+        database.initialize();
+
+        List<EconomyPlayer> players = new ArrayList<>();
+        players.add(player(1000.0));
+        for (int i = 0; i < TIED; i++) {
+            players.add(player(500.0));
+        }
+        players.add(player(100.0));
+        assertTrue(database.savePlayers(players).join().isEmpty());
+
+        leaderboards = new LeaderboardManager(plugin);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void pagesAcrossTheTopBoundaryFollowTheDatabaseOrder(boolean binaryUuid) throws Exception {
+        setUp(binaryUuid);
+        leaderboards.load();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!leaderboards.isLoaded() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(leaderboards.isLoaded());
+        assertEquals(TOP, leaderboards.getSize(LeaderboardManager.Type.COINS));
+
+        List<UUID> expected = new ArrayList<>();
+        database.streamLeaderboard(LeaderboardManager.Type.COINS.getOrder(), null, TIED + 2,
+                (uuid, name, score, version) -> expected.add(uuid)).join();
+
+        for (int pass = 0; pass < 2; pass++) {
+            List<UUID> paged = new ArrayList<>();
+            for (int offset = 0; offset < TIED + 2; offset += PAGE) {
+                for (Leaderboard.Entry entry : leaderboards.queryPage(LeaderboardManager.Type.COINS, offset, PAGE).join()) {
+                    assertEquals(paged.size() + 1, entry.rank());
+                    paged.add(entry.uuid());
+                }
+            }
+
+            assertEquals(TIED + 2, new HashSet<>(paged).size());
+            assertEquals(expected, paged);
+        }
+    }
+
+    private static EconomyPlayer player(double coins) {
+        return new EconomyPlayer(UUID.randomUUID(), "player", BalanceState.of(coins, 0.0), 0L);
+    }
+}
@@ -0,0 +1,132 @@
+package de.syscall.manager;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeaderboardTest {
+
+    private static final Comparator<Map.Entry<UUID, Long>> ORDER = Comparator
+            .comparing((Map.Entry<UUID, Long> entry) -> entry.getValue()).reversed()
+            .thenComparing(entry -> entry.getKey(), (a, b) -> {
+                int comparison = Long.compareUnsigned(b.getMostSignificantBits(), a.getMostSignificantBits());
+                return comparison != 0 ? comparison
+                        : Long.compareUnsigned(b.getLeastSignificantBits(), a.getLeastSignificantBits());
+            });
+
+    @Test
+    void olderVersionsDoNotOverwriteNewerScores() {
+        Leaderboard leaderboard = new Leaderboard(0);
+        UUID uuid = UUID.randomUUID();
+
+        leaderboard.update(uuid, "player", 500L, 7L);
+        leaderboard.update(uuid, "player", 100L, 6L);
+        assertEquals(500L, leaderboard.get(uuid).score());
+
+        leaderboard.update(uuid, "player", 300L, 7L);
+        assertEquals(300L, leaderboard.get(uuid).score());
+
+        leaderboard.update(uuid, "player", 900L, 8L);
+        assertEquals(900L, leaderboard.get(uuid).score());
+    }
+
+    @Test
+    void ranksAndPagesMatchASortedList() {
+        Leaderboard leaderboard = new Leaderboard(0);
+        Map<UUID, Long> scores = new HashMap<>();
+        List<UUID> uuids = new ArrayList<>();
+        Random random = new Random(42L);
+
+        for (int i = 0; i < 2000; i++) {
+            UUID uuid = UUID.randomUUID();
+            uuids.add(uuid);
+        }
+        for (int i = 0; i < 20000; i++) {
+            UUID uuid = uuids.get(random.nextInt(uuids.size()));
+            if (random.nextInt(10) == 0) {
+                leaderboard.remove(uuid);
+                scores.remove(uuid);
+            } else {
+                long score = random.nextInt(500);
+                leaderboard.update(uuid, "player", score, i);
+                scores.put(uuid, score);
+            }
+        }
+
+        List<Map.Entry<UUID, Long>> expected = new ArrayList<>(scores.entrySet());
+        expected.sort(ORDER);
+        assertEquals(expected.size(), leaderboard.size());
+
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1, leaderboard.rank(expected.get(i).getKey()));
+        }
+
+        List<Leaderboard.Entry> page = leaderboard.page(100, 50);
+        assertEquals(50, page.size());
+        for (int i = 0; i < page.size(); i++) {
+            Map.Entry<UUID, Long> entry = expected.get(100 + i);
+            assertEquals(entry.getKey(), page.get(i).uuid());
+            assertEquals(entry.getValue(), page.get(i).score());
+            assertEquals(101 + i, page.get(i).rank());
+        }
+
+        assertEquals(5, leaderboard.page(expected.size() - 5, 50).size());
+        assertTrue(leaderboard.page(expected.size(), 10).isEmpty());
+    }
+
+    @Test
+    void equalScoresAreOrderedByUuid() {
+        Leaderboard leaderboard = new Leaderboard(0);
+        UUID low = new UUID(0L, 1L);
+        UUID high = new UUID(-1L, 0L);
+
+        leaderboard.update(low, "low", 100L, 0L);
+        leaderboard.update(high, "high", 100L, 0L);
+
+        assertEquals(1, leaderboard.rank(high));
+        assertEquals(2, leaderboard.rank(low));
+    }
+
+    @Test
+    void capacityKeepsTheTopEntriesAndRaisesTheFloor() {
+        Leaderboard leaderboard = new Leaderboard(10);
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            UUID uuid = UUID.randomUUID();
+            uuids.add(uuid);
+            leaderboard.update(uuid, "player" + i, i * 10L, 0L);
+        }
+
+        assertEquals(10, leaderboard.size());
+        List<Leaderboard.Entry> top = leaderboard.page(0, 10);
+        for (int i = 0; i < top.size(); i++) {
+            assertEquals(uuids.get(19 - i), top.get(i).uuid());
+        }
+        assertNull(leaderboard.get(uuids.get(0)));
+
+        assertFalse(leaderboard.seed(UUID.randomUUID(), "late", 50L, 0L));
+        assertEquals(10, leaderboard.size());
+
+        for (int i = 19; i >= 15; i--) {
+            leaderboard.remove(uuids.get(i));
+        }
+        assertFalse(leaderboard.needsRefill());
+        leaderboard.remove(uuids.get(14));
+        assertTrue(leaderboard.needsRefill());
+
+        leaderboard.resetFloor();
+        assertTrue(leaderboard.seed(uuids.get(0), "player0", 0L, 0L));
+        assertEquals(5, leaderboard.rank(uuids.get(0)));
+    }
+}
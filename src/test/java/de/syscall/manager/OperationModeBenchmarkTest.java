@@ -0,0 +1,84 @@
+package de.syscall.manager;
+
+import de.syscall.Benchmarks;
+import de.syscall.TestPlugins;
+import de.syscall.data.BalanceState;
+import de.syscall.data.EconomyPlayer;
+import de.syscall.database.DatabaseExecutor;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+class OperationModeBenchmarkTest {
+
+    private static final int WORKERS = 8;
+    private static final int OPERATIONS = 20_000;
+    private static final long LOAD_NANOS = 100_000L;
+
+    @Test
+    void futureChainsAgainstVirtualThreads() {
+        for (int round = 0; round < 2; round++) {
+            boolean report = round == 1;
+            run("future chains", false, report, (executor, player) -> executor
+                    .supply(() -> load(player))
+                    .thenApply(loaded -> loaded.tryAddCoinsMinor(1L) != null));
+
+            try (ExecutorService operations = Executors.newVirtualThreadPerTaskExecutor()) {
+                run("virtual threads", true, report, (executor, player) -> CompletableFuture.supplyAsync(() ->
+                        executor.call(() -> load(player)).tryAddCoinsMinor(1L) != null, operations));
+            }
+        }
+    }
+
+    private static void run(String name, boolean virtualThreads, boolean report, Operation operation) {
+        DatabaseExecutor executor = executor(virtualThreads);
+        EconomyPlayer player = new EconomyPlayer(UUID.randomUUID(), "bench", BalanceState.of(0.0, 0.0), 0L);
+
+        try {
+            long allocated = Benchmarks.totalAllocatedBytes();
+            long start = System.nanoTime();
+
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[OPERATIONS];
+            for (int i = 0; i < OPERATIONS; i++) {
+                futures[i] = operation.apply(executor, player);
+            }
+            CompletableFuture.allOf(futures).join();
+
+            long nanos = System.nanoTime() - start;
+            allocated = Benchmarks.totalAllocatedBytes() - allocated;
+
+            assertEquals(OPERATIONS, player.getBalance().coins());
+            if (report) {
+                Benchmarks.report("economy operations " + name, "%,.0f ops/s, %,d bytes/op",
+                        Benchmarks.perSecond(OPERATIONS, nanos), allocated / OPERATIONS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static EconomyPlayer load(EconomyPlayer player) {
+        LockSupport.parkNanos(LOAD_NANOS);
+        return player;
+    }
+
+    private static DatabaseExecutor executor(boolean virtualThreads) {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("database.executor.queue-size", OPERATIONS);
+        config.set("database.executor.virtual-threads", virtualThreads);
+        return new DatabaseExecutor(TestPlugins.plugin(config), WORKERS);
+    }
+
+    private interface Operation {
+        CompletableFuture<Boolean> apply(DatabaseExecutor executor, EconomyPlayer player);
+    }
+}
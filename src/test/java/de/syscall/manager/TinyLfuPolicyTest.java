@@ -0,0 +1,108 @@
+package de.syscall.manager;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TinyLfuPolicyTest {
+
+    private static final int MAXIMUM = 200;
+
+    @Test
+    void neverTracksMoreThanTheMaximum() {
+        TinyLfuPolicy policy = new TinyLfuPolicy(MAXIMUM);
+        Set<UUID> tracked = new HashSet<>();
+
+        for (int i = 0; i < MAXIMUM * 20; i++) {
+            UUID uuid = UUID.randomUUID();
+            tracked.add(uuid);
+            tracked.removeAll(policy.recordInsert(uuid));
+            assertTrue(tracked.size() <= MAXIMUM);
+        }
+        assertEquals(MAXIMUM, tracked.size());
+    }
+
+    @Test
+    void aScanDoesNotEvictTheHotSet() {
+        TinyLfuPolicy policy = new TinyLfuPolicy(MAXIMUM);
+        List<UUID> hot = new ArrayList<>();
+        for (int i = 0; i < MAXIMUM / 2; i++) {
+            UUID uuid = UUID.randomUUID();
+            hot.add(uuid);
+            assertTrue(policy.recordInsert(uuid).isEmpty());
+        }
+        for (int round = 0; round < 5; round++) {
+            hot.forEach(policy::recordAccess);
+        }
+
+        Set<UUID> evicted = new HashSet<>();
+        for (int i = 0; i < MAXIMUM * 50; i++) {
+            evicted.addAll(policy.recordInsert(UUID.randomUUID()));
+            if (i % MAXIMUM == 0) {
+                hot.forEach(policy::recordAccess);
+            }
+        }
+
+        for (UUID uuid : hot) {
+            assertFalse(evicted.contains(uuid));
+        }
+        assertFalse(policy.getStatistics().endsWith("rejected=0"), policy.getStatistics());
+    }
+
+    @Test
+    void aFrequentCandidateReplacesAColdVictim() {
+        TinyLfuPolicy policy = new TinyLfuPolicy(MAXIMUM);
+        List<UUID> cold = new ArrayList<>();
+        for (int i = 0; i < MAXIMUM; i++) {
+            UUID uuid = UUID.randomUUID();
+            cold.add(uuid);
+            assertTrue(policy.recordInsert(uuid).isEmpty());
+        }
+
+        UUID frequent = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            policy.recordAccess(frequent);
+        }
+        Set<UUID> victims = new HashSet<>(policy.recordInsert(frequent));
+        for (int i = 0; i < MAXIMUM / 100 + 1; i++) {
+            victims.addAll(policy.recordInsert(UUID.randomUUID()));
+        }
+
+        assertFalse(victims.contains(frequent));
+        assertTrue(victims.stream().anyMatch(cold::contains));
+    }
+
+    @Test
+    void pinnedEntriesAreNeverEvicted() {
+        TinyLfuPolicy policy = new TinyLfuPolicy(MAXIMUM);
+        List<UUID> pinned = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            UUID uuid = UUID.randomUUID();
+            pinned.add(uuid);
+            policy.recordInsert(uuid);
+            policy.pin(uuid);
+        }
+
+        Set<UUID> evicted = new HashSet<>();
+        for (int i = 0; i < MAXIMUM * 10; i++) {
+            evicted.addAll(policy.recordInsert(UUID.randomUUID()));
+        }
+
+        for (UUID uuid : pinned) {
+            assertTrue(policy.isPinned(uuid));
+            assertFalse(evicted.contains(uuid));
+            assertTrue(policy.recordInsert(uuid).isEmpty());
+        }
+
+        policy.unpin(pinned.get(0));
+        assertFalse(policy.isPinned(pinned.get(0)));
+    }
+}
@@ -0,0 +1,87 @@
+package de.syscall.manager;
+
+import de.syscall.Benchmarks;
+import de.syscall.data.BalanceState;
+import de.syscall.data.EconomyPlayer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+class TransferEngineBenchmarkTest {
+
+    private static final int[] THREADS = {1, 4, 16};
+    private static final int OPERATIONS = 500_000;
+
+    @Test
+    void disjointPairs() throws Exception {
+        for (int threads : THREADS) {
+            TransferEngine engine = engine();
+            EconomyPlayer[] players = players(threads * 2);
+            long initial = totalWealth(players);
+
+            warmUp(engine, threads);
+            long nanos = Benchmarks.runThreads(threads, OPERATIONS, thread -> {
+                EconomyPlayer a = players[thread * 2];
+                EconomyPlayer b = players[thread * 2 + 1];
+                engine.transfer(a, b, 7L, 0L, TransferEngine.Account.COINS);
+                engine.transfer(b, a, 7L, 0L, TransferEngine.Account.COINS);
+            });
+
+            assertEquals(initial, totalWealth(players));
+            Benchmarks.report("transfer disjoint pairs", "%2d threads: %,.0f transfers/s", threads,
+                    Benchmarks.perSecond(OPERATIONS * 2L * threads, nanos));
+        }
+    }
+
+    @Test
+    void opposingTransfersOnOnePair() throws Exception {
+        for (int threads : THREADS) {
+            TransferEngine engine = engine();
+            EconomyPlayer[] players = players(2);
+            long initial = totalWealth(players);
+
+            long nanos = Benchmarks.runThreads(threads, OPERATIONS, thread -> {
+                if ((thread & 1) == 0) {
+                    engine.transfer(players[0], players[1], 7L, 0L, TransferEngine.Account.COINS);
+                } else {
+                    engine.transfer(players[1], players[0], 7L, 0L, TransferEngine.Account.COINS);
+                }
+            });
+
+            assertEquals(initial, totalWealth(players));
+            Benchmarks.report("transfer one contended pair", "%2d threads: %,.0f transfers/s", threads,
+                    Benchmarks.perSecond((long) OPERATIONS * threads, nanos));
+        }
+    }
+
+    private static void warmUp(TransferEngine engine, int threads) throws Exception {
+        EconomyPlayer[] warmUp = players(2);
+        Benchmarks.runThreads(threads, 50_000, thread ->
+                engine.transfer(warmUp[thread & 1], warmUp[(thread + 1) & 1], 1L, 0L, TransferEngine.Account.COINS));
+    }
+
+    private static TransferEngine engine() {
+        return new TransferEngine(Logger.getLogger(TransferEngineBenchmarkTest.class.getName()));
+    }
+
+    private static EconomyPlayer[] players(int count) {
+        EconomyPlayer[] players = new EconomyPlayer[count];
+        for (int i = 0; i < count; i++) {
+            players[i] = new EconomyPlayer(UUID.randomUUID(), "bench" + i, BalanceState.of(1_000_000.0, 0.0), 0L);
+        }
+        return players;
+    }
+
+    private static long totalWealth(EconomyPlayer[] players) {
+        long total = 0L;
+        for (EconomyPlayer player : players) {
+            total += player.getBalance().totalWealth();
+        }
+        return total;
+    }
+}
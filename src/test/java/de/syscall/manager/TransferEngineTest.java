@@ -0,0 +1,134 @@
+package de.syscall.manager;
+
+import de.syscall.data.BalanceChange;
+import de.syscall.data.BalanceState;
+import de.syscall.data.EconomyPlayer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransferEngineTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS = 20000;
+
+    @Test
+    void opposingCoinTransfersConserveMoney() throws Exception {
+        assertTransfersConserveMoney(TransferEngine.Account.COINS);
+    }
+
+    @Test
+    void opposingBankTransfersConserveMoney() throws Exception {
+        assertTransfersConserveMoney(TransferEngine.Account.BANK);
+    }
+
+    @Test
+    void rejectedCreditRefundsTheSender() {
+        TransferEngine engine = engine();
+        EconomyPlayer from = player(new BalanceState(1000L, 0L));
+        EconomyPlayer to = player(new BalanceState(Long.MAX_VALUE - 50L, 0L));
+
+        assertNull(engine.transfer(from, to, 100L, 5L, TransferEngine.Account.COINS));
+        assertEquals(1000L, from.getBalance().coins());
+        assertEquals(Long.MAX_VALUE - 50L, to.getBalance().coins());
+        assertEquals(1L, engine.getRolledBackCount());
+        assertEquals(0L, engine.getRefundOverflowCount());
+    }
+
+    @Test
+    void refundNeverExceedsTheLimit() {
+        TransferEngine engine = engine();
+        EconomyPlayer from = player(new BalanceState(1000L, 0L));
+        EconomyPlayer to = player(new BalanceState(Long.MAX_VALUE, 0L));
+
+        AtomicBoolean credited = new AtomicBoolean();
+        from.setChangeListener(player -> {
+            if (credited.compareAndSet(false, true)) {
+                player.tryAddCoinsMinor(Long.MAX_VALUE - player.getBalance().coins());
+            }
+        });
+
+        assertNull(engine.transfer(from, to, 100L, 0L, TransferEngine.Account.COINS));
+        assertEquals(Long.MAX_VALUE, from.getBalance().coins());
+        assertEquals(1L, engine.getRefundOverflowCount());
+    }
+
+    private void assertTransfersConserveMoney(TransferEngine.Account account) throws Exception {
+        TransferEngine engine = engine();
+        EconomyPlayer a = player(BalanceState.of(2500.0, 2500.0));
+        EconomyPlayer b = player(BalanceState.of(2500.0, 2500.0));
+        long initial = a.getBalance().totalWealth() + b.getBalance().totalWealth();
+        LongAdder fees = new LongAdder();
+
+        run(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long amount = random.nextLong(1, 10000);
+            long fee = random.nextLong(0, 3);
+
+            TransferEngine.Result result = random.nextBoolean()
+                    ? engine.transfer(a, b, amount, fee, account)
+                    : engine.transfer(b, a, amount, fee, account);
+            if (result != null) {
+                BalanceChange debit = result.from();
+                BalanceChange credit = result.to();
+                assertEquals(amount + fee, debit.before().totalWealth() - debit.after().totalWealth());
+                assertEquals(amount, credit.after().totalWealth() - credit.before().totalWealth());
+                fees.add(fee);
+            }
+        });
+
+        assertTrue(a.getBalance().coins() >= 0 && a.getBalance().bankBalance() >= 0);
+        assertTrue(b.getBalance().coins() >= 0 && b.getBalance().bankBalance() >= 0);
+        assertEquals(initial, a.getBalance().totalWealth() + b.getBalance().totalWealth() + fees.sum());
+        assertEquals((long) OPERATIONS * THREADS,
+                engine.getCompletedCount() + engine.getRejectedCount() + engine.getRolledBackCount());
+    }
+
+    private static TransferEngine engine() {
+        return new TransferEngine(Logger.getLogger(TransferEngineTest.class.getName()));
+    }
+
+    private static EconomyPlayer player(BalanceState balance) {
+        return new EconomyPlayer(UUID.randomUUID(), "test", balance, System.currentTimeMillis());
+    }
+
+    private static void run(Runnable operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < OPERATIONS; j++) {
+                        operation.run();
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package de.syscall.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoneyTest {
+
+    @Test
+    void roundsToWholeCents() {
+        assertEquals(1234L, Money.toMinor(12.34));
+        assertEquals(1235L, Money.toMinor(12.345));
+        assertEquals(10L, Money.toMinor(0.1));
+        assertEquals(0.3, Money.normalize(0.1 + 0.2));
+    }
+
+    @Test
+    void amountsBelowHalfACentAreNotPositive() {
+        assertFalse(Money.isPositive(0.001));
+        assertFalse(Money.isPositive(0.0));
+        assertFalse(Money.isPositive(-1.0));
+        assertFalse(Money.isPositive(Double.NaN));
+        assertTrue(Money.isPositive(0.005));
+        assertTrue(Money.isPositive(0.01));
+    }
+
+    @Test
+    void percentageRoundsHalfUp() {
+        assertEquals(5L, Money.percentage(100L, 5.0));
+        assertEquals(1L, Money.percentage(10L, 5.0));
+        assertEquals(0L, Money.percentage(9L, 5.0));
+    }
+
+    @Test
+    void formatsMinorUnits() {
+        assertEquals("12.05", Money.format(1205L));
+        assertEquals("-0.50", Money.format(-50L));
+        assertEquals("0.00", Money.format(0L));
+    }
+}
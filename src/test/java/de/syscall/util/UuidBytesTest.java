@@ -0,0 +1,58 @@
+package de.syscall.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UuidBytesTest {
+
+    @Test
+    void roundTripsThroughBytes() {
+        List<UUID> uuids = new ArrayList<>(List.of(new UUID(0L, 0L), new UUID(-1L, -1L),
+                new UUID(Long.MIN_VALUE, Long.MAX_VALUE), new UUID(0x00FF00FF00FF00FFL, 0x8000000000000001L)));
+        for (int i = 0; i < 1000; i++) {
+            uuids.add(UUID.randomUUID());
+        }
+
+        for (UUID uuid : uuids) {
+            assertEquals(uuid, UuidBytes.fromBytes(UuidBytes.toBytes(uuid)));
+            assertEquals(uuid, UuidBytes.fromValue(UuidBytes.toBytes(uuid)));
+            assertEquals(uuid, UuidBytes.fromValue(uuid.toString()));
+        }
+    }
+
+    @Test
+    void layoutMatchesTheHexString() {
+        UUID uuid = UUID.fromString("0123e567-89ab-4cde-8f01-23456789abcd");
+        assertArrayEquals(HexFormat.of().parseHex("0123e56789ab4cde8f0123456789abcd"), UuidBytes.toBytes(uuid));
+    }
+
+    @Test
+    void byteOrderMatchesUnsignedUuidOrder() {
+        for (int i = 0; i < 10000; i++) {
+            UUID a = UUID.randomUUID();
+            UUID b = i % 2 == 0 ? UUID.randomUUID() : new UUID(a.getMostSignificantBits(), a.getLeastSignificantBits() ^ i);
+
+            int comparison = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+            if (comparison == 0) {
+                comparison = Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+            }
+            assertEquals(Integer.signum(comparison),
+                    Integer.signum(Arrays.compareUnsigned(UuidBytes.toBytes(a), UuidBytes.toBytes(b))));
+        }
+    }
+
+    @Test
+    void rejectsWrongLengths() {
+        assertThrows(IllegalArgumentException.class, () -> UuidBytes.fromBytes(new byte[15]));
+        assertThrows(IllegalArgumentException.class, () -> UuidBytes.fromBytes(null));
+    }
+}